@@ -27,6 +27,10 @@ subprojects {
         options.encoding = "UTF-8"
     }
 
+    dependencies {
+        "testRuntimeOnly"("org.junit.platform:junit-platform-launcher")
+    }
+
     tasks.withType<Test> {
         useJUnitPlatform()
     }
@@ -17,16 +17,48 @@ dependencies {
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.12.6")
 
     implementation("org.passay:passay:1.6.5")
+    implementation("io.micrometer:micrometer-core")
+    implementation("com.github.librepdf:openpdf:1.3.43")
     implementation("jakarta.servlet:jakarta.servlet-api")
 
     compileOnly("org.projectlombok:lombok:1.18.34")
     annotationProcessor("org.projectlombok:lombok:1.18.34")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testImplementation(testFixtures(project(":data")))
+    testImplementation("com.icegreen:greenmail-junit5:2.1.2")
 }
 
 dependencyManagement {
     imports {
         mavenBom("org.springframework.boot:spring-boot-dependencies:3.3.5")
     }
-}
\ No newline at end of file
+}
+// JMH benchmarks in src/jmh/java, run with: gradle :business:jmh [-Pjmh.include=<regex>] [-Pjmh.args="-f 1 -wi 1"]
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhImplementation"(testFixtures(project(":data")))
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks"
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(providers.gradleProperty("jmh.args").getOrElse("").split(" ").filter { it.isNotBlank() })
+    args(providers.gradleProperty("jmh.include").getOrElse(".*"))
+}
+
+// Benchmarks are compiled with every build so they keep up with the code they measure
+tasks.named("check") {
+    dependsOn(tasks.named(jmh.classesTaskName))
+}
@@ -0,0 +1,149 @@
+// path: business/src/jmh/java/com/securitybusinesssuite/business/pdf/PdfRenderingBenchmark.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.securitybusinesssuite.business.dto.ClientResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceItemResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.data.entity.Invoice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// PDFs per second for invoices of a given line count: one render on the calling thread, renders
+// from many request threads through the bounded pool, and cache hits of the same document.
+// gradle :business:jmh -Pjmh.include=PdfRenderingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfRenderingBenchmark {
+
+    @Param({"5", "50", "500"})
+    int lines;
+
+    // Rendering threads; request threads beyond them queue for a slot
+    @Param({"2", "4"})
+    int poolThreads;
+
+    private InvoicePdfTemplate template;
+    private PdfRenderingExecutor executor;
+    private PdfDiskCache cache;
+    private Path cacheDirectory;
+    private InvoiceResponseDTO invoice;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        PdfResources resources = new PdfResources(new DefaultResourceLoader(), "",
+                "Security Business Suite", "101000001", "Av. Winston Churchill 1099, Santo Domingo");
+        template = new InvoicePdfTemplate(resources);
+        // Enough queue for every benchmark thread, so no request is turned away with a 429
+        executor = new PdfRenderingExecutor(new SimpleMeterRegistry(), poolThreads, 64, Duration.ofSeconds(30));
+        invoice = invoice(lines);
+
+        cacheDirectory = Files.createTempDirectory("pdf-benchmark-");
+        cache = new PdfDiskCache(new SimpleMeterRegistry(), true, cacheDirectory,
+                DataSize.ofMegabytes(64), Duration.ofDays(1));
+        cache.storing("invoice", invoice.getId(), invoice.getUpdatedAt(), out -> template.render(invoice, out))
+                .writeTo(new ByteArrayOutputStream());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        FileSystemUtils.deleteRecursively(cacheDirectory);
+    }
+
+    @Benchmark
+    public void renderOnCallingThread() throws IOException {
+        template.render(invoice, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void renderThroughPool() throws IOException {
+        executor.reserve("invoice", out -> template.render(invoice, out)).writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void cacheHit() throws IOException {
+        cache.find("invoice", invoice.getId(), invoice.getUpdatedAt()).orElseThrow()
+                .writeTo(OutputStream.nullOutputStream());
+    }
+
+    private static InvoiceResponseDTO invoice(int lines) {
+        List<InvoiceItemResponseDTO> items = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 1; i <= lines; i++) {
+            BigDecimal amount = new BigDecimal("1500.00");
+            items.add(InvoiceItemResponseDTO.builder()
+                    .serviceCode("SRV-" + i)
+                    .description("Guardia de seguridad, turno nocturno, puesto " + i)
+                    .quantity(BigDecimal.ONE)
+                    .unitPrice(amount)
+                    .discountAmount(BigDecimal.ZERO)
+                    .itbisAmount(new BigDecimal("270.00"))
+                    .lineTotal(new BigDecimal("1770.00"))
+                    .build());
+            subtotal = subtotal.add(amount);
+        }
+        BigDecimal itbis = subtotal.multiply(new BigDecimal("0.18"));
+        BigDecimal total = subtotal.add(itbis);
+
+        return InvoiceResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .invoiceNumber("FAC-2026-000001")
+                .ncf("B0100000001")
+                .issueDate(LocalDate.of(2026, 1, 15))
+                .dueDate(LocalDate.of(2026, 2, 14))
+                .client(ClientResponseDTO.builder()
+                        .businessName("Seguridad Caribe SRL")
+                        .rnc("130000001")
+                        .streetName("Calle El Conde")
+                        .streetNumber("52")
+                        .sector("Zona Colonial")
+                        .provincia("Distrito Nacional")
+                        .build())
+                .subtotal(subtotal)
+                .discountAmount(BigDecimal.ZERO)
+                .itbisAmount(itbis)
+                .totalAmount(total)
+                .paidAmount(total)
+                .balanceDue(BigDecimal.ZERO)
+                .status(Invoice.InvoiceStatus.PAID)
+                .items(items)
+                .updatedAt(LocalDateTime.of(2026, 2, 1, 9, 0))
+                .build();
+    }
+}
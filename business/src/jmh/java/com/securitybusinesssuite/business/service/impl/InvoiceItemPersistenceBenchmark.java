@@ -0,0 +1,184 @@
+// path: business/src/jmh/java/com/securitybusinesssuite/business/service/impl/InvoiceItemPersistenceBenchmark.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.data.entity.InvoiceItem;
+import com.securitybusinesssuite.data.repository.impl.InvoiceItemRepositoryImpl;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Time to write an invoice's lines as the line count grows: one batch through saveAll and replaceAll
+// against the per-row save and read-back that createInvoice and updateInvoice used before. Each
+// operation runs in its own transaction against the embedded database and is rolled back.
+// rttMicros adds that delay to every statement, commit and rollback to stand in for the network
+// between the application and its database, where the per-row path pays once per line.
+// gradle :business:jmh -Pjmh.include=InvoiceItemPersistenceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoiceItemPersistenceBenchmark {
+
+    private static final Set<String> ROUND_TRIPS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate", "executeLargeBatch",
+            "commit", "rollback");
+
+    @Param({"30", "100", "200"})
+    int lines;
+
+    @Param({"0", "500"})
+    int rttMicros;
+
+    private HikariDataSource pool;
+    private TransactionTemplate transaction;
+    private InvoiceItemRepositoryImpl repository;
+    private UUID newInvoiceId;
+    private UUID existingInvoiceId;
+    private List<InvoiceItem> newItems;
+    private List<InvoiceItem> replacementItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = TestDatabase.dataSource(1);
+        DataSource dataSource = rttMicros > 0 ? withRoundTrip(pool, TimeUnit.MICROSECONDS.toNanos(rttMicros)) : pool;
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new InvoiceItemRepositoryImpl(new JdbcTemplate(dataSource));
+
+        UUID userId = TestDatabase.insertUser();
+        UUID clientId = TestDatabase.insertClient(userId);
+        newInvoiceId = TestDatabase.insertInvoice(clientId, userId, BigDecimal.ZERO, LocalDate.now().plusDays(30));
+        existingInvoiceId = TestDatabase.insertInvoice(clientId, userId, BigDecimal.ZERO, LocalDate.now().plusDays(30));
+        new InvoiceItemRepositoryImpl(TestDatabase.jdbcTemplate()).saveAll(items(existingInvoiceId, userId));
+
+        newItems = items(newInvoiceId, userId);
+        replacementItems = items(existingInvoiceId, userId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public List<InvoiceItem> createBatched() {
+        return rolledBack(() -> repository.saveAll(newItems));
+    }
+
+    @Benchmark
+    public List<InvoiceItem> createPerRow() {
+        return rolledBack(() -> {
+            newItems.forEach(repository::save);
+            return repository.findByInvoiceId(newInvoiceId);
+        });
+    }
+
+    @Benchmark
+    public List<InvoiceItem> replaceBatched() {
+        return rolledBack(() -> repository.replaceAll(existingInvoiceId, replacementItems));
+    }
+
+    @Benchmark
+    public List<InvoiceItem> replacePerRow() {
+        return rolledBack(() -> {
+            repository.deleteByInvoiceId(existingInvoiceId);
+            replacementItems.forEach(repository::save);
+            return repository.findByInvoiceId(existingInvoiceId);
+        });
+    }
+
+    private <T> T rolledBack(Supplier<T> work) {
+        return transaction.execute(status -> {
+            status.setRollbackOnly();
+            return work.get();
+        });
+    }
+
+    private List<InvoiceItem> items(UUID invoiceId, UUID userId) {
+        List<InvoiceItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(InvoiceItem.builder()
+                    .invoiceId(invoiceId)
+                    .lineNo(i + 1)
+                    .serviceCode(String.format("SRV-%03d", i))
+                    .description("Guardia de seguridad, puesto " + i)
+                    .quantity(BigDecimal.ONE)
+                    .unitPrice(new BigDecimal("1500.00"))
+                    .itbisRate(new BigDecimal("0.18"))
+                    .itbisAmount(new BigDecimal("270.00"))
+                    .discountPercentage(BigDecimal.ZERO)
+                    .discountAmount(BigDecimal.ZERO)
+                    .lineSubtotal(new BigDecimal("1500.00"))
+                    .lineTotal(new BigDecimal("1770.00"))
+                    .createdBy(userId)
+                    .build());
+        }
+        return items;
+    }
+
+    private static DataSource withRoundTrip(DataSource dataSource, long rttNanos) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return delayed(super.getConnection(), Connection.class, rttNanos);
+            }
+        };
+    }
+
+    // Parks for rttNanos before each call that waits on the server, and wraps the statements it creates
+    @SuppressWarnings("unchecked")
+    private static <T> T delayed(T target, Class<T> type, long rttNanos) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (ROUND_TRIPS.contains(method.getName())) {
+                LockSupport.parkNanos(rttNanos);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof PreparedStatement statement) {
+                return delayed(statement, PreparedStatement.class, rttNanos);
+            }
+            if (result instanceof Statement statement) {
+                return delayed(statement, Statement.class, rttNanos);
+            }
+            return result;
+        });
+    }
+}
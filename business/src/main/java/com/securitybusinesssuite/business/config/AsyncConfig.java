@@ -0,0 +1,12 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/config/AsyncConfig.java
+package com.securitybusinesssuite.business.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods run on Boot's applicationTaskExecutor, which uses virtual threads when
+// spring.threads.virtual.enabled is set (see the virtual-threads profile)
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
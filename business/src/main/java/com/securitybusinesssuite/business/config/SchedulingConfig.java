@@ -0,0 +1,10 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/config/SchedulingConfig.java
+package com.securitybusinesssuite.business.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
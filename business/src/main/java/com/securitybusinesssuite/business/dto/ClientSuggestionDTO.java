@@ -0,0 +1,46 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/ClientSuggestionDTO.java
+package com.securitybusinesssuite.business.dto;
+
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.ClientSuggestion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSuggestionDTO {
+    private UUID id;
+    private String clientCode;
+    private String rnc;
+    private String businessName;
+    private Client.ClientType clientType;
+    private Client.ClientStatus status;
+
+    public static ClientSuggestionDTO fromSuggestion(ClientSuggestion suggestion) {
+        return ClientSuggestionDTO.builder()
+                .id(suggestion.getId())
+                .clientCode(suggestion.getClientCode())
+                .rnc(suggestion.getRnc())
+                .businessName(suggestion.getBusinessName())
+                .clientType(suggestion.getClientType())
+                .status(suggestion.getStatus())
+                .build();
+    }
+
+    public static ClientSuggestionDTO fromEntity(Client client) {
+        return ClientSuggestionDTO.builder()
+                .id(client.getId())
+                .clientCode(client.getClientCode())
+                .rnc(client.getRnc())
+                .businessName(client.getBusinessName())
+                .clientType(client.getClientType())
+                .status(client.getStatus())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/ClientSummaryDTO.java
+package com.securitybusinesssuite.business.dto;
+
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.ClientSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSummaryDTO {
+    private UUID id;
+    private String clientCode;
+    private String rnc;
+    private Client.ClientType clientType;
+    private String businessName;
+    private String contactPerson;
+    private Client.BusinessSector businessSector;
+    private String phone;
+    private String email;
+    private Client.ClientStatus status;
+    private LocalDateTime createdAt;
+
+    public static ClientSummaryDTO fromSummary(ClientSummary summary) {
+        return ClientSummaryDTO.builder()
+                .id(summary.getId())
+                .clientCode(summary.getClientCode())
+                .rnc(summary.getRnc())
+                .clientType(summary.getClientType())
+                .businessName(summary.getBusinessName())
+                .contactPerson(summary.getContactPerson())
+                .businessSector(summary.getBusinessSector())
+                .phone(summary.getPhone())
+                .email(summary.getEmail())
+                .status(summary.getStatus())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
+    public static ClientSummaryDTO fromEntity(Client client) {
+        return ClientSummaryDTO.builder()
+                .id(client.getId())
+                .clientCode(client.getClientCode())
+                .rnc(client.getRnc())
+                .clientType(client.getClientType())
+                .businessName(client.getBusinessName())
+                .contactPerson(client.getContactPerson())
+                .businessSector(client.getBusinessSector())
+                .phone(client.getPhone())
+                .email(client.getEmail())
+                .status(client.getStatus())
+                .createdAt(client.getCreatedAt())
+                .build();
+    }
+}
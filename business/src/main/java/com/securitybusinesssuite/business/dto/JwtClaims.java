@@ -0,0 +1,21 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/JwtClaims.java
+package com.securitybusinesssuite.business.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class JwtClaims {
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private UUID userId;
+    private String email;
+    private String type;
+    private Instant issuedAt;
+    private Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/dashboard/ChartComparison.java
+package com.securitybusinesssuite.business.dto.dashboard;
+
+public enum ChartComparison {
+    NONE(0),
+    PREVIOUS_MONTH(1),
+    PREVIOUS_YEAR(12);
+
+    private final int offsetMonths;
+
+    ChartComparison(int offsetMonths) {
+        this.offsetMonths = offsetMonths;
+    }
+
+    public int getOffsetMonths() {
+        return offsetMonths;
+    }
+}
@@ -19,4 +19,7 @@ public class ChartDataDTO {
     private String label;
     private BigDecimal value;
     private String color;
+    // Only set when a comparison is requested
+    private BigDecimal previousValue;
+    private BigDecimal changePercent;
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/invoiceresponse/BulkInvoiceResultDTO.java
+package com.securitybusinesssuite.business.dto.invoiceresponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvoiceResultDTO {
+    private int requested;
+    private int created;
+    private int failed;
+    private List<BulkInvoiceRowResultDTO> results; // one per request row, in request order
+}
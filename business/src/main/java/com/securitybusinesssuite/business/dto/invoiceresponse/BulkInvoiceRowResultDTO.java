@@ -0,0 +1,44 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/invoiceresponse/BulkInvoiceRowResultDTO.java
+package com.securitybusinesssuite.business.dto.invoiceresponse;
+
+import com.securitybusinesssuite.data.entity.Invoice;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvoiceRowResultDTO {
+    private int index;
+    private boolean success;
+    private UUID invoiceId;
+    private String invoiceNumber;
+    private String ncf;
+    private BigDecimal totalAmount;
+    private String error;
+
+    public static BulkInvoiceRowResultDTO created(int index, Invoice invoice) {
+        return BulkInvoiceRowResultDTO.builder()
+                .index(index)
+                .success(true)
+                .invoiceId(invoice.getId())
+                .invoiceNumber(invoice.getInvoiceNumber())
+                .ncf(invoice.getNcf())
+                .totalAmount(invoice.getTotalAmount())
+                .build();
+    }
+
+    public static BulkInvoiceRowResultDTO failure(int index, String error) {
+        return BulkInvoiceRowResultDTO.builder()
+                .index(index)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/invoiceresponse/InvoicePaymentHistoryDTO.java
+package com.securitybusinesssuite.business.dto.invoiceresponse;
+
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoicePaymentHistory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicePaymentHistoryDTO {
+    private UUID invoiceId;
+    private String invoiceNumber;
+    private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal balanceDue;
+    private Invoice.InvoiceStatus status;
+    private List<PaymentDTO> payments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PaymentDTO {
+        private UUID allocationId;
+        private UUID receiptId;
+        private String receiptNumber;
+        private LocalDate receiptDate;
+        private Client.PaymentMethod paymentMethod;
+        private String referenceNumber;
+        private BigDecimal amount;
+        private LocalDateTime allocatedAt;
+        private BigDecimal paidToDate;
+        private BigDecimal balanceAfter;
+
+        public static PaymentDTO fromEntity(InvoicePaymentHistory.Payment payment) {
+            return PaymentDTO.builder()
+                    .allocationId(payment.getAllocationId())
+                    .receiptId(payment.getReceiptId())
+                    .receiptNumber(payment.getReceiptNumber())
+                    .receiptDate(payment.getReceiptDate())
+                    .paymentMethod(payment.getPaymentMethod())
+                    .referenceNumber(payment.getReferenceNumber())
+                    .amount(payment.getAmount())
+                    .allocatedAt(payment.getAllocatedAt())
+                    .paidToDate(payment.getPaidToDate())
+                    .balanceAfter(payment.getBalanceAfter())
+                    .build();
+        }
+    }
+
+    public static InvoicePaymentHistoryDTO fromEntity(InvoicePaymentHistory history) {
+        return InvoicePaymentHistoryDTO.builder()
+                .invoiceId(history.getInvoiceId())
+                .invoiceNumber(history.getInvoiceNumber())
+                .totalAmount(history.getTotalAmount())
+                .paidAmount(history.getPaidAmount())
+                .balanceDue(history.getBalanceDue())
+                .status(history.getStatus())
+                .payments(history.getPayments().stream().map(PaymentDTO::fromEntity).toList())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/invoiceresponse/InvoiceSummaryDTO.java
+package com.securitybusinesssuite.business.dto.invoiceresponse;
+
+import com.securitybusinesssuite.business.dto.ClientSummaryDTO;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoiceSummary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An invoice row in list responses; notes and items come with the invoice detail
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSummaryDTO {
+    private UUID id;
+    private String invoiceNumber;
+    private String ncf;
+    private Invoice.NCFType ncfType;
+    private UUID clientId;
+    private ClientSummaryDTO client;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+    private Invoice.InvoiceType invoiceType;
+    private BigDecimal subtotal;
+    private BigDecimal itbisAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal totalAmount;
+    private BigDecimal netAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal balanceDue;
+    private Invoice.InvoiceStatus status;
+    private LocalDateTime createdAt;
+
+    public static InvoiceSummaryDTO fromSummary(InvoiceSummary invoice, ClientSummaryDTO client) {
+        return InvoiceSummaryDTO.builder()
+                .id(invoice.getId())
+                .invoiceNumber(invoice.getInvoiceNumber())
+                .ncf(invoice.getNcf())
+                .ncfType(invoice.getNcfType())
+                .clientId(invoice.getClientId())
+                .client(client)
+                .issueDate(invoice.getIssueDate())
+                .dueDate(invoice.getDueDate())
+                .invoiceType(invoice.getInvoiceType())
+                .subtotal(invoice.getSubtotal())
+                .itbisAmount(invoice.getItbisAmount())
+                .discountAmount(invoice.getDiscountAmount())
+                .totalAmount(invoice.getTotalAmount())
+                .netAmount(invoice.getNetAmount())
+                .paidAmount(invoice.getPaidAmount())
+                .balanceDue(invoice.getBalanceDue())
+                .status(invoice.getStatus())
+                .createdAt(invoice.getCreatedAt())
+                .build();
+    }
+}
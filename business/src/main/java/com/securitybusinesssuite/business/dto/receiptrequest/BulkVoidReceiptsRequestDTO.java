@@ -0,0 +1,17 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/receiptrequest/BulkVoidReceiptsRequestDTO.java
+package com.securitybusinesssuite.business.dto.receiptrequest;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkVoidReceiptsRequestDTO {
+    @NotEmpty(message = "At least one receipt ID is required")
+    private List<@NotNull UUID> receiptIds;
+
+    private String reason;
+}
@@ -0,0 +1,23 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/dto/receiptresponse/BulkVoidResultDTO.java
+package com.securitybusinesssuite.business.dto.receiptresponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkVoidResultDTO {
+    private int requested;
+    private int voided;
+    private int invoicesUpdated;
+    private List<UUID> voidedIds;
+    private List<UUID> skippedIds; // not found or already voided
+    private List<UUID> failedIds;
+}
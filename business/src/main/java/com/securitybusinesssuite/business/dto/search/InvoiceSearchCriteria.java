@@ -22,4 +22,7 @@ public class InvoiceSearchCriteria {
     private int size = 20;
     private String sortBy = "createdAt";
     private String sortDirection = "DESC";
+    private String cursor;
+    private boolean includeTotal = true;
+    private boolean estimateTotal;
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 // path: business/src/main/java/com/securitybusinesssuite/business/dto/searchDTO/PagedResponseDTO.java
 package com.securitybusinesssuite.business.dto.search;
 
+import com.securitybusinesssuite.business.util.SearchCursor;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -16,10 +19,41 @@ public class PagedResponseDTO<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean totalEstimated;
     private boolean first;
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
-}
\ No newline at end of file
+    private String nextCursor;
+
+    public static <T> PagedResponseDTO<T> fromSearchPage(SearchPage<?> page, List<T> content) {
+        Long total = page.getTotal();
+        return PagedResponseDTO.<T>builder()
+                .content(content)
+                .page(page.getPage())
+                .size(page.getSize())
+                .totalElements(total)
+                .totalPages(total != null && page.getSize() > 0 ? (int) Math.ceil((double) total / page.getSize()) : null)
+                .totalEstimated(page.isTotalEstimated())
+                .first(page.getPage() == 0)
+                .last(!page.isHasNext())
+                .hasNext(page.isHasNext())
+                .hasPrevious(page.getPage() > 0)
+                .build();
+    }
+
+    // Cursor pages carry no totals; counting would defeat the constant-cost seek
+    public static <T> PagedResponseDTO<T> fromWindow(Window<?> window, List<T> content, int size, boolean first) {
+        return PagedResponseDTO.<T>builder()
+                .content(content)
+                .size(size)
+                .first(first)
+                .last(window.isLast())
+                .hasNext(window.hasNext())
+                .hasPrevious(!first)
+                .nextCursor(window.hasNext() ? SearchCursor.encode(window.positionAt(window.size() - 1)) : null)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/exception/TooManyRequestsException.java
+package com.securitybusinesssuite.business.exception;
+
+public class TooManyRequestsException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
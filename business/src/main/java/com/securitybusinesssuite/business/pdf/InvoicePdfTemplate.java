@@ -0,0 +1,93 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/InvoicePdfTemplate.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceItemResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.securitybusinesssuite.business.pdf.PdfResources.formatAmount;
+import static com.securitybusinesssuite.business.pdf.PdfResources.formatDate;
+
+@Component
+public class InvoicePdfTemplate extends PdfTemplate<InvoiceResponseDTO> {
+
+    private static final float[] ITEM_COLUMNS = {1.2f, 4f, 0.8f, 1.3f, 1.1f, 1.1f, 1.4f};
+    private static final float[] TOTALS_COLUMNS = {2f, 1.2f};
+
+    // Prototypes; PdfPTable.addCell copies a cell, so they are shared safely between renders
+    private final List<PdfPCell> itemHeader;
+
+    public InvoicePdfTemplate(PdfResources resources) {
+        super(resources);
+        this.itemHeader = List.of(
+                resources.headerCell("Code", Element.ALIGN_LEFT),
+                resources.headerCell("Description", Element.ALIGN_LEFT),
+                resources.headerCell("Qty", Element.ALIGN_RIGHT),
+                resources.headerCell("Unit price", Element.ALIGN_RIGHT),
+                resources.headerCell("Discount", Element.ALIGN_RIGHT),
+                resources.headerCell("ITBIS", Element.ALIGN_RIGHT),
+                resources.headerCell("Total", Element.ALIGN_RIGHT));
+    }
+
+    @Override
+    protected void compose(Document document, InvoiceResponseDTO invoice) throws DocumentException {
+        document.add(letterhead("INVOICE",
+                invoice.getInvoiceNumber(),
+                invoice.getNcf() != null ? "NCF: " + invoice.getNcf() : null,
+                "Issued: " + formatDate(invoice.getIssueDate()),
+                "Due: " + formatDate(invoice.getDueDate()),
+                "Status: " + invoice.getStatus()));
+
+        document.add(client("Bill to", invoice.getClient()));
+        document.add(items(invoice.getItems()));
+        document.add(totals(invoice));
+
+        if (invoice.getNotes() != null && !invoice.getNotes().isBlank()) {
+            document.add(notes(invoice.getNotes()));
+        }
+    }
+
+    private PdfPTable items(List<InvoiceItemResponseDTO> items) throws DocumentException {
+        PdfPTable table = new PdfPTable(ITEM_COLUMNS);
+        table.setWidthPercentage(100);
+        // Repeat the header row when the items run onto another page
+        table.setHeaderRows(1);
+        itemHeader.forEach(table::addCell);
+
+        if (items != null) {
+            for (InvoiceItemResponseDTO item : items) {
+                table.addCell(resources.cell(item.getServiceCode(), resources.getBodyFont(), Element.ALIGN_LEFT));
+                table.addCell(resources.cell(item.getDescription(), resources.getBodyFont(), Element.ALIGN_LEFT));
+                table.addCell(resources.cell(item.getQuantity() != null ? item.getQuantity().stripTrailingZeros().toPlainString() : "",
+                        resources.getBodyFont(), Element.ALIGN_RIGHT));
+                table.addCell(resources.amountCell(item.getUnitPrice(), resources.getBodyFont()));
+                table.addCell(resources.amountCell(item.getDiscountAmount(), resources.getBodyFont()));
+                table.addCell(resources.amountCell(item.getItbisAmount(), resources.getBodyFont()));
+                table.addCell(resources.amountCell(item.getLineTotal(), resources.getBodyFont()));
+            }
+        }
+        return table;
+    }
+
+    private PdfPTable totals(InvoiceResponseDTO invoice) throws DocumentException {
+        PdfPTable table = new PdfPTable(TOTALS_COLUMNS);
+        table.setWidthPercentage(40);
+        table.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        table.setSpacingBefore(8);
+
+        totalRow(table, "Subtotal", formatAmount(invoice.getSubtotal()), false);
+        totalRow(table, "Discounts", formatAmount(invoice.getDiscountAmount()), false);
+        totalRow(table, "ITBIS", formatAmount(invoice.getItbisAmount()), false);
+        totalRow(table, "Total", formatAmount(invoice.getTotalAmount()), true);
+        totalRow(table, "Paid", formatAmount(invoice.getPaidAmount()), false);
+        totalRow(table, "Balance due", formatAmount(invoice.getBalanceDue()), true);
+        return table;
+    }
+}
@@ -0,0 +1,298 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/PdfDiskCache.java
+package com.securitybusinesssuite.business.pdf;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Rendered PDFs of documents that can no longer change, stored as <type>-<id>-<version>.pdf where
+// the version is the row's updated_at. A render is written to the response and to a temp file at
+// the same time and only moved into place once complete, so readers never see a partial file.
+// A hit refreshes the file's modification time; the sweep removes files unused for max-age and
+// then the least recently used ones until the directory is back under max-size.
+@Slf4j
+@Component
+public class PdfDiskCache {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+    // Temp files this old were left by a render that never finished, e.g. a crash
+    private static final Duration ABANDONED_TEMP_AGE = Duration.ofHours(1);
+
+    private final Path directory;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    // Bytes stored since the last sweep counted the directory; an estimate between sweeps
+    private final AtomicLong size = new AtomicLong();
+    private final ReentrantLock sweeping = new ReentrantLock();
+
+    public PdfDiskCache(MeterRegistry meterRegistry,
+                        @Value("${app.pdf.cache.enabled:true}") boolean enabled,
+                        @Value("${app.pdf.cache.directory:${java.io.tmpdir}/sbs-pdf-cache}") Path directory,
+                        @Value("${app.pdf.cache.max-size:512MB}") DataSize maxSize,
+                        @Value("${app.pdf.cache.max-age:P30D}") Duration maxAge) {
+        this.directory = directory;
+        this.enabled = enabled && createDirectory(directory);
+        this.maxBytes = maxSize.toBytes();
+        this.maxAge = maxAge;
+        this.hits = Counter.builder("pdf.cache.requests")
+                .description("Requests for immutable PDFs by disk cache outcome")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("pdf.cache.requests")
+                .description("Requests for immutable PDFs by disk cache outcome")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("pdf.cache.evicted")
+                .description("Cached PDFs removed for age or to keep the cache under its size limit")
+                .register(meterRegistry);
+    }
+
+    private static boolean createDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return true;
+        } catch (IOException e) {
+            log.warn("PDF cache directory {} is not usable, caching disabled: {}", directory, e.getMessage());
+            return false;
+        }
+    }
+
+    public Optional<PdfDocument.Content> find(String type, UUID id, LocalDateTime version) {
+        if (!enabled || version == null) {
+            return Optional.empty();
+        }
+
+        Path file = file(type, id, version);
+        if (!Files.isRegularFile(file)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        // Marks the file as recently used, which also keeps the sweep from removing it mid-copy
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Could not touch cached PDF {}: {}", file, e.getMessage());
+        }
+        return Optional.of(out -> Files.copy(file, out));
+    }
+
+    // Wraps a render so its output is also stored as this version; older versions are removed
+    public PdfDocument.Content storing(String type, UUID id, LocalDateTime version, PdfDocument.Content render) {
+        if (!enabled || version == null) {
+            return render;
+        }
+
+        return out -> {
+            Path temp = Files.createTempFile(directory, type + "-" + id + "-", ".tmp");
+            CopyingOutputStream copying = new CopyingOutputStream(out,
+                    new BufferedOutputStream(Files.newOutputStream(temp)));
+            boolean complete = false;
+            try {
+                render.writeTo(copying);
+                complete = copying.closeCopy();
+            } finally {
+                if (complete) {
+                    Path target = file(type, id, version);
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    removeOtherVersions(type, id, target);
+                    added(target);
+                } else {
+                    copying.closeCopy();
+                    Files.deleteIfExists(temp);
+                }
+            }
+        };
+    }
+
+    // Sweeps as soon as new files take the cache past its limit instead of waiting for the schedule
+    private void added(Path file) {
+        try {
+            if (size.addAndGet(Files.size(file)) > maxBytes) {
+                sweep();
+            }
+        } catch (IOException e) {
+            log.debug("Could not size cached PDF {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.pdf.cache.sweep-interval:PT10M}")
+    public void sweep() {
+        // A sweep already running leaves nothing for a second one to do
+        if (!enabled || !sweeping.tryLock()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            Instant expired = now.minus(maxAge);
+            Instant abandoned = now.minus(ABANDONED_TEMP_AGE);
+            List<CachedFile> kept = new ArrayList<>();
+            long total = 0;
+
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    BasicFileAttributes attributes = readAttributes(file);
+                    if (attributes == null || !attributes.isRegularFile()) {
+                        continue;
+                    }
+                    Instant modified = attributes.lastModifiedTime().toInstant();
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(".tmp") && modified.isBefore(abandoned)) {
+                        delete(file);
+                    } else if (name.endsWith(".pdf") && modified.isBefore(expired)) {
+                        if (delete(file)) {
+                            evictions.increment();
+                        }
+                    } else if (name.endsWith(".pdf")) {
+                        kept.add(new CachedFile(file, modified, attributes.size()));
+                        total += attributes.size();
+                    }
+                }
+            }
+
+            // Least recently used first
+            kept.sort(Comparator.comparing(CachedFile::modified));
+            for (CachedFile file : kept) {
+                if (total <= maxBytes) {
+                    break;
+                }
+                if (delete(file.path())) {
+                    evictions.increment();
+                    total -= file.size();
+                }
+            }
+            size.set(total);
+        } catch (IOException e) {
+            log.warn("Could not sweep PDF cache directory {}: {}", directory, e.getMessage());
+        } finally {
+            sweeping.unlock();
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null; // removed since it was listed
+        }
+    }
+
+    private static boolean delete(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not remove cached PDF {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private record CachedFile(Path path, Instant modified, long size) {
+    }
+
+    private void removeOtherVersions(String type, UUID id, Path keep) {
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(directory, type + "-" + id + "-*.pdf")) {
+            for (Path version : versions) {
+                if (!version.equals(keep)) {
+                    Files.deleteIfExists(version);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not remove old cached PDFs of {} {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    private Path file(String type, UUID id, LocalDateTime version) {
+        return directory.resolve(type + "-" + id + "-" + VERSION_FORMAT.format(version) + ".pdf");
+    }
+
+    // Writes to the response and the cache file; a failing cache file only stops the copy
+    private static final class CopyingOutputStream extends FilterOutputStream {
+        private OutputStream copy;
+        private boolean copyFailed;
+
+        private CopyingOutputStream(OutputStream out, OutputStream copy) {
+            super(out);
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                try {
+                    copy.write(b);
+                } catch (IOException e) {
+                    abandonCopy(e);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                try {
+                    copy.write(b, off, len);
+                } catch (IOException e) {
+                    abandonCopy(e);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The response stream belongs to the container
+            flush();
+        }
+
+        // Returns whether the copy is complete
+        private boolean closeCopy() {
+            if (copy != null) {
+                try {
+                    copy.close();
+                } catch (IOException e) {
+                    copyFailed = true;
+                }
+                copy = null;
+            }
+            return !copyFailed;
+        }
+
+        private void abandonCopy(IOException e) {
+            log.warn("Could not write PDF cache file: {}", e.getMessage());
+            copyFailed = true;
+            closeCopy();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/PdfDocument.java
+package com.securitybusinesssuite.business.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// A PDF ready to be written to the response. Data is loaded and checked before this is returned,
+// so errors surface as normal responses; writeTo only renders or copies bytes.
+public record PdfDocument(String fileName, Content content) {
+
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,224 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/PdfRenderingExecutor.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.securitybusinesssuite.business.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Renders PDFs on a small fixed pool so document bursts cannot take every CPU. A slot is reserved
+// while the request thread still owns the response, so an overloaded node answers 429 instead of
+// breaking a response it has already started; the render then runs on the pool and writes
+// straight into the response stream.
+@Slf4j
+@Component
+public class PdfRenderingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore slots;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejections;
+    private final Counter expirations;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public PdfRenderingExecutor(MeterRegistry meterRegistry,
+                                @Value("${app.pdf.rendering.threads:0}") int threads,
+                                @Value("${app.pdf.rendering.queue-capacity:16}") int queueCapacity,
+                                @Value("${app.pdf.rendering.timeout:PT30S}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+
+        // Default to half the cores, like password hashing
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Slots already bound the work in flight, so the queue itself never rejects
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-render-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.slots = new Semaphore(poolSize + Math.max(0, queueCapacity));
+        // Frees slots whose content was never written, e.g. when the client left first
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        Gauge.builder("pdf.render.queue.depth", executor, e -> e.getQueue().size())
+                .description("PDF renders waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("PDF renders running")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("pdf.render.rejected")
+                .description("PDF requests rejected because every rendering slot was taken")
+                .register(meterRegistry);
+        this.expirations = Counter.builder("pdf.render.expired")
+                .description("Rendering slots freed because the response never wrote the PDF")
+                .register(meterRegistry);
+    }
+
+    // Reserves a slot now; the returned content renders on the pool when written. The slot is freed
+    // when the render task ends, or after the timeout if the response never writes the content.
+    public PdfDocument.Content reserve(String type, PdfDocument.Content render) {
+        if (!slots.tryAcquire()) {
+            rejections.increment();
+            throw new TooManyRequestsException("Document rendering is busy. Please try again shortly.", 1);
+        }
+
+        Timer timer = Timer.builder("pdf.render.duration")
+                .description("Time spent rendering a PDF into the response, excluding queueing")
+                .tag("type", type)
+                .register(meterRegistry);
+        AtomicBoolean claimed = new AtomicBoolean();
+        ScheduledFuture<?> expiry = scheduler.schedule(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                expirations.increment();
+                slots.release();
+            }
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        return out -> {
+            if (!claimed.compareAndSet(false, true)) {
+                throw new IOException("PDF rendering slot expired before the response was written");
+            }
+            expiry.cancel(false);
+
+            GuardedOutputStream guarded = new GuardedOutputStream(out);
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            try {
+                executor.execute(() -> {
+                    Throwable failure = null;
+                    try {
+                        // Skipped when the request gave up while this was queued
+                        if (!guarded.isAborted()) {
+                            Timer.Sample sample = Timer.start(meterRegistry);
+                            try {
+                                render.writeTo(guarded);
+                            } finally {
+                                sample.stop(timer);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure = e;
+                    }
+                    // Freed before the request wakes up, so its next reservation finds the slot
+                    slots.release();
+                    if (failure == null) {
+                        done.complete(null);
+                    } else {
+                        done.completeExceptionally(failure);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                throw new IOException("PDF rendering is shutting down", e);
+            }
+            await(done, guarded);
+        };
+    }
+
+    private void await(CompletableFuture<Void> done, GuardedOutputStream guarded) throws IOException {
+        try {
+            done.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // OpenPDF ignores interrupts, so the render is stopped at its next write instead
+            guarded.abort();
+            throw new IOException("PDF rendering timed out after " + timeout);
+        } catch (InterruptedException e) {
+            guarded.abort();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF rendering was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("PDF rendering failed", e.getCause());
+        }
+    }
+
+    // Passes writes to the response until the request gives up on the render. Writes and abort
+    // share a lock, so once abort returns nothing more reaches the response or a cache copy.
+    private static final class GuardedOutputStream extends FilterOutputStream {
+        private boolean aborted;
+
+        private GuardedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public synchronized void write(int b) throws IOException {
+            ensureOpen();
+            out.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            out.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            ensureOpen();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The response stream belongs to the container
+            flush();
+        }
+
+        private synchronized void abort() {
+            aborted = true;
+        }
+
+        private synchronized boolean isAborted() {
+            return aborted;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (aborted) {
+                throw new IOException("PDF rendering was abandoned by the request");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/PdfResources.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Image;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfPCell;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+// Fonts, the logo and issuer details, loaded once and shared by every render. Fonts are never
+// modified after construction and the logo is copied per document, so concurrent renders share
+// no mutable state.
+@Slf4j
+@Getter
+@Component
+public class PdfResources {
+
+    private static final float LOGO_MAX_WIDTH = 140f;
+    private static final float LOGO_MAX_HEIGHT = 60f;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    public static final Color RULE_COLOR = new Color(0xC8, 0xC8, 0xC8);
+    public static final Color HEADER_BACKGROUND = new Color(0xEE, 0xEE, 0xEE);
+
+    private final Font titleFont;
+    private final Font headingFont;
+    private final Font bodyFont;
+    private final Font bodyBoldFont;
+    private final Font smallFont;
+    private final String issuerName;
+    private final String issuerRnc;
+    private final String issuerAddress;
+
+    @Getter(AccessLevel.NONE)
+    private final Image logo;
+
+    public PdfResources(ResourceLoader resourceLoader,
+                        @Value("${app.pdf.logo:}") String logoLocation,
+                        @Value("${app.pdf.issuer.name:Security Business Suite}") String issuerName,
+                        @Value("${app.pdf.issuer.rnc:}") String issuerRnc,
+                        @Value("${app.pdf.issuer.address:}") String issuerAddress) throws IOException {
+        // Standard Type 1 fonts are not embedded, which keeps every document small
+        BaseFont regular = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        this.titleFont = new Font(bold, 16);
+        this.headingFont = new Font(bold, 10);
+        this.bodyFont = new Font(regular, 9);
+        this.bodyBoldFont = new Font(bold, 9);
+        this.smallFont = new Font(regular, 7, Font.NORMAL, Color.DARK_GRAY);
+        this.issuerName = issuerName;
+        this.issuerRnc = issuerRnc;
+        this.issuerAddress = issuerAddress;
+        this.logo = loadLogo(resourceLoader, logoLocation);
+    }
+
+    private static Image loadLogo(ResourceLoader resourceLoader, String location) throws IOException {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            log.warn("PDF logo {} not found, documents are rendered without it", location);
+            return null;
+        }
+
+        try (InputStream in = resource.getInputStream()) {
+            Image image = Image.getInstance(in.readAllBytes());
+            image.scaleToFit(LOGO_MAX_WIDTH, LOGO_MAX_HEIGHT);
+            return image;
+        }
+    }
+
+    // A copy shares the decoded image data but not the position and layout state set while rendering
+    public Image logo() throws BadElementException {
+        return logo != null ? Image.getInstance(logo) : null;
+    }
+
+    public PdfPCell cell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setBorder(Rectangle.BOTTOM);
+        cell.setBorderColor(RULE_COLOR);
+        cell.setPadding(4);
+        return cell;
+    }
+
+    public PdfPCell headerCell(String text, int alignment) {
+        PdfPCell cell = cell(text, headingFont, alignment);
+        cell.setBackgroundColor(HEADER_BACKGROUND);
+        return cell;
+    }
+
+    public PdfPCell plainCell(String text, Font font, int alignment) {
+        PdfPCell cell = cell(text, font, alignment);
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setPadding(2);
+        return cell;
+    }
+
+    public PdfPCell amountCell(BigDecimal amount, Font font) {
+        return cell(formatAmount(amount), font, Element.ALIGN_RIGHT);
+    }
+
+    public static String formatAmount(BigDecimal amount) {
+        // DecimalFormat is not thread-safe, so one is created per call
+        DecimalFormat format = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.US));
+        return format.format(amount != null ? amount.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO);
+    }
+
+    public static String formatDate(LocalDate date) {
+        return date != null ? DATE_FORMAT.format(date) : "";
+    }
+}
@@ -0,0 +1,127 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/PdfTemplate.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Image;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.securitybusinesssuite.business.dto.ClientResponseDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// A document layout built once: subclasses prepare their fixed cells and column widths in the
+// constructor and only add the per-document rows in compose. The writer flushes each finished
+// page to the stream, so a document is never held in memory as a whole.
+public abstract class PdfTemplate<T> {
+
+    protected final PdfResources resources;
+
+    protected PdfTemplate(PdfResources resources) {
+        this.resources = resources;
+    }
+
+    public void render(T data, OutputStream out) throws IOException {
+        Document document = new Document(PageSize.LETTER, 36, 36, 36, 36);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+            compose(document, data);
+        } catch (DocumentException e) {
+            throw new IOException("Could not render " + getClass().getSimpleName(), e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+    }
+
+    protected abstract void compose(Document document, T data) throws DocumentException;
+
+    // Logo and issuer on the left, document title and reference lines on the right
+    protected PdfPTable letterhead(String title, String... referenceLines) throws DocumentException {
+        PdfPTable table = new PdfPTable(new float[]{3, 2});
+        table.setWidthPercentage(100);
+
+        PdfPCell issuer = new PdfPCell();
+        issuer.setBorder(Rectangle.NO_BORDER);
+        Image logo = resources.logo();
+        if (logo != null) {
+            issuer.addElement(logo);
+        }
+        issuer.addElement(new Paragraph(resources.getIssuerName(), resources.getHeadingFont()));
+        if (!resources.getIssuerRnc().isBlank()) {
+            issuer.addElement(new Paragraph("RNC: " + resources.getIssuerRnc(), resources.getBodyFont()));
+        }
+        if (!resources.getIssuerAddress().isBlank()) {
+            issuer.addElement(new Paragraph(resources.getIssuerAddress(), resources.getBodyFont()));
+        }
+        table.addCell(issuer);
+
+        PdfPCell reference = new PdfPCell();
+        reference.setBorder(Rectangle.NO_BORDER);
+        Paragraph heading = new Paragraph(title, resources.getTitleFont());
+        heading.setAlignment(Element.ALIGN_RIGHT);
+        reference.addElement(heading);
+        for (String line : referenceLines) {
+            if (line != null) {
+                Paragraph paragraph = new Paragraph(line, resources.getBodyFont());
+                paragraph.setAlignment(Element.ALIGN_RIGHT);
+                reference.addElement(paragraph);
+            }
+        }
+        table.addCell(reference);
+
+        table.setSpacingAfter(12);
+        return table;
+    }
+
+    protected PdfPTable client(String heading, ClientResponseDTO client) {
+        PdfPTable table = new PdfPTable(1);
+        table.setWidthPercentage(100);
+        table.addCell(resources.plainCell(heading, resources.getHeadingFont(), Element.ALIGN_LEFT));
+
+        if (client != null) {
+            table.addCell(resources.plainCell(client.getBusinessName(), resources.getBodyBoldFont(), Element.ALIGN_LEFT));
+            if (client.getRnc() != null) {
+                table.addCell(resources.plainCell("RNC: " + client.getRnc(), resources.getBodyFont(), Element.ALIGN_LEFT));
+            }
+
+            String street = Stream.of(client.getStreetName(), client.getStreetNumber())
+                    .filter(part -> part != null && !part.isBlank())
+                    .collect(Collectors.joining(" "));
+            String address = Stream.of(street, client.getSector(), client.getProvincia())
+                    .filter(part -> part != null && !part.isBlank())
+                    .collect(Collectors.joining(", "));
+            if (!address.isEmpty()) {
+                table.addCell(resources.plainCell(address, resources.getBodyFont(), Element.ALIGN_LEFT));
+            }
+        }
+
+        table.setSpacingAfter(12);
+        return table;
+    }
+
+    protected void totalRow(PdfPTable table, String label, String amount, boolean bold) {
+        table.addCell(resources.cell(label, bold ? resources.getBodyBoldFont() : resources.getBodyFont(), Element.ALIGN_LEFT));
+        table.addCell(resources.cell(amount, bold ? resources.getBodyBoldFont() : resources.getBodyFont(), Element.ALIGN_RIGHT));
+    }
+
+    protected Paragraph notes(String notes) {
+        Paragraph paragraph = new Paragraph();
+        paragraph.setSpacingBefore(12);
+        paragraph.add(new Phrase("Notes\n", resources.getHeadingFont()));
+        paragraph.add(new Phrase(notes, resources.getBodyFont()));
+        return paragraph;
+    }
+}
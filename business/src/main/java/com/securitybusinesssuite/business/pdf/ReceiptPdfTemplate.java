@@ -0,0 +1,94 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/pdf/ReceiptPdfTemplate.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptAllocationResponseDTO;
+import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.securitybusinesssuite.business.pdf.PdfResources.formatAmount;
+import static com.securitybusinesssuite.business.pdf.PdfResources.formatDate;
+
+@Component
+public class ReceiptPdfTemplate extends PdfTemplate<ReceiptResponseDTO> {
+
+    private static final float[] ALLOCATION_COLUMNS = {2f, 2f, 1.3f, 1.5f};
+    private static final float[] TOTALS_COLUMNS = {2f, 1.2f};
+
+    // Prototypes; PdfPTable.addCell copies a cell, so they are shared safely between renders
+    private final List<PdfPCell> allocationHeader;
+
+    public ReceiptPdfTemplate(PdfResources resources) {
+        super(resources);
+        this.allocationHeader = List.of(
+                resources.headerCell("Invoice", Element.ALIGN_LEFT),
+                resources.headerCell("NCF", Element.ALIGN_LEFT),
+                resources.headerCell("Issued", Element.ALIGN_LEFT),
+                resources.headerCell("Applied", Element.ALIGN_RIGHT));
+    }
+
+    @Override
+    protected void compose(Document document, ReceiptResponseDTO receipt) throws DocumentException {
+        document.add(letterhead("RECEIPT",
+                receipt.getReceiptNumber(),
+                "Issued: " + formatDate(receipt.getIssueDate()),
+                "Payment: " + receipt.getPaymentMethod() + paymentReference(receipt),
+                "Status: " + receipt.getStatus()));
+
+        document.add(client("Received from", receipt.getClient()));
+        document.add(allocations(receipt.getAllocations()));
+        document.add(totals(receipt));
+
+        if (receipt.getNotes() != null && !receipt.getNotes().isBlank()) {
+            document.add(notes(receipt.getNotes()));
+        }
+    }
+
+    private static String paymentReference(ReceiptResponseDTO receipt) {
+        if (receipt.getCheckNumber() != null) {
+            return " #" + receipt.getCheckNumber() + (receipt.getBankName() != null ? " (" + receipt.getBankName() + ")" : "");
+        }
+        return receipt.getReferenceNumber() != null ? " " + receipt.getReferenceNumber() : "";
+    }
+
+    private PdfPTable allocations(List<ReceiptAllocationResponseDTO> allocations) throws DocumentException {
+        PdfPTable table = new PdfPTable(ALLOCATION_COLUMNS);
+        table.setWidthPercentage(100);
+        // Repeat the header row when the allocations run onto another page
+        table.setHeaderRows(1);
+        allocationHeader.forEach(table::addCell);
+
+        if (allocations != null) {
+            for (ReceiptAllocationResponseDTO allocation : allocations) {
+                InvoiceResponseDTO invoice = allocation.getInvoice();
+                table.addCell(resources.cell(invoice != null ? invoice.getInvoiceNumber() : String.valueOf(allocation.getInvoiceId()),
+                        resources.getBodyFont(), Element.ALIGN_LEFT));
+                table.addCell(resources.cell(invoice != null ? invoice.getNcf() : null, resources.getBodyFont(), Element.ALIGN_LEFT));
+                table.addCell(resources.cell(invoice != null ? formatDate(invoice.getIssueDate()) : null,
+                        resources.getBodyFont(), Element.ALIGN_LEFT));
+                table.addCell(resources.amountCell(allocation.getAllocatedAmount(), resources.getBodyFont()));
+            }
+        }
+        return table;
+    }
+
+    private PdfPTable totals(ReceiptResponseDTO receipt) throws DocumentException {
+        PdfPTable table = new PdfPTable(TOTALS_COLUMNS);
+        table.setWidthPercentage(40);
+        table.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        table.setSpacingBefore(8);
+
+        String currency = receipt.getCurrency() != null ? " " + receipt.getCurrency() : "";
+        totalRow(table, "Amount received", formatAmount(receipt.getTotalAmount()) + currency, true);
+        totalRow(table, "Applied to invoices", formatAmount(receipt.getAllocatedAmount()), false);
+        totalRow(table, "Unapplied", formatAmount(receipt.getAvailableAmount()), false);
+        return table;
+    }
+}
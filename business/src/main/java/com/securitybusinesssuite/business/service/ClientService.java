@@ -7,13 +7,15 @@ import com.securitybusinesssuite.business.dto.clientrequest.UpdateClientRequestD
 import com.securitybusinesssuite.business.dto.search.ClientSearchCriteria;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 import org.springframework.data.domain.Pageable;
+import java.util.List;
 import java.util.UUID;
 
 public interface ClientService {
     ClientResponseDTO createClient(CreateClientRequestDTO request, UUID createdBy);
     ClientResponseDTO updateClient(UUID id, UpdateClientRequestDTO request, UUID updatedBy);
     ClientResponseDTO getClient(UUID id);
-    PagedResponseDTO<ClientResponseDTO> searchClients(ClientSearchCriteria criteria);
+    PagedResponseDTO<ClientSummaryDTO> searchClients(ClientSearchCriteria criteria);
+    List<ClientSuggestionDTO> suggestClients(String query, int limit, boolean includeInactive);
     void deleteClient(UUID id);
     boolean existsByRnc(String rnc);
     String generateClientCode();
@@ -2,16 +2,20 @@
 package com.securitybusinesssuite.business.service;
 
 import com.securitybusinesssuite.business.dto.*;
+import com.securitybusinesssuite.business.dto.dashboard.ChartComparison;
 import com.securitybusinesssuite.business.dto.dashboard.ChartDataDTO;
 import com.securitybusinesssuite.business.dto.dashboard.DashboardStatsDTO;
 import com.securitybusinesssuite.business.dto.dashboard.RecentActivityDTO;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.UUID;
 
 public interface DashboardService {
     DashboardStatsDTO getDashboardStats();
     List<RecentActivityDTO> getRecentActivity();
-    List<ChartDataDTO> getInvoicesByStatusChart();
-    List<ChartDataDTO> getRevenueByMonthChart();
+    List<ChartDataDTO> getInvoicesByStatusChart(YearMonth from, YearMonth to, UUID clientId);
+    List<ChartDataDTO> getRevenueByMonthChart(YearMonth from, YearMonth to, UUID clientId, ChartComparison comparison);
+    List<ChartDataDTO> getRevenueByClientTypeChart(YearMonth from, YearMonth to);
     List<ChartDataDTO> getClientsByTypeChart();
 }
\ No newline at end of file
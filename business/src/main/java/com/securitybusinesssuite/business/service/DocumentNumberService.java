@@ -0,0 +1,11 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/DocumentNumberService.java
+package com.securitybusinesssuite.business.service;
+
+import java.util.List;
+
+public interface DocumentNumberService {
+    String nextClientCode();
+    String nextInvoiceNumber();
+    List<String> nextInvoiceNumbers(int count);
+    String nextReceiptNumber();
+}
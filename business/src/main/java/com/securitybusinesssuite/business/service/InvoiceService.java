@@ -3,7 +3,10 @@ package com.securitybusinesssuite.business.service;
 
 import com.securitybusinesssuite.business.dto.invoicerequest.CreateInvoiceRequestDTO;
 import com.securitybusinesssuite.business.dto.invoicerequest.UpdateInvoiceRequestDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.BulkInvoiceResultDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoicePaymentHistoryDTO;
 import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceSummaryDTO;
 import com.securitybusinesssuite.business.dto.search.InvoiceSearchCriteria;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 
@@ -12,13 +15,15 @@ import java.util.UUID;
 
 public interface InvoiceService {
     InvoiceResponseDTO createInvoice(CreateInvoiceRequestDTO request, UUID createdBy);
+    BulkInvoiceResultDTO bulkCreateInvoices(List<CreateInvoiceRequestDTO> requests, UUID createdBy);
     InvoiceResponseDTO updateInvoice(UUID id, UpdateInvoiceRequestDTO request, UUID updatedBy);
     InvoiceResponseDTO getInvoice(UUID id);
-    PagedResponseDTO<InvoiceResponseDTO> searchInvoices(InvoiceSearchCriteria criteria);
+    PagedResponseDTO<InvoiceSummaryDTO> searchInvoices(InvoiceSearchCriteria criteria);
     void cancelInvoice(UUID id, String reason, UUID updatedBy);
     InvoiceResponseDTO recalculateInvoice(UUID id);
-    List<InvoiceResponseDTO> getOverdueInvoices();
-    List<InvoiceResponseDTO> getClientInvoices(UUID clientId);
-    List<InvoiceResponseDTO> getUnpaidInvoices(UUID clientId);
+    List<InvoiceSummaryDTO> getOverdueInvoices();
+    List<InvoiceSummaryDTO> getClientInvoices(UUID clientId);
+    List<InvoiceSummaryDTO> getUnpaidInvoices(UUID clientId);
     void updateInvoicePaymentStatus(UUID invoiceId);
+    InvoicePaymentHistoryDTO getPaymentHistory(UUID invoiceId);
 }
@@ -1,16 +1,15 @@
 // path: business/src/main/java/com/securitybusinesssuite/business/service/JwtService.java
 package com.securitybusinesssuite.business.service;
 
+import com.securitybusinesssuite.business.dto.JwtClaims;
 import com.securitybusinesssuite.business.dto.TokenPair;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface JwtService {
     TokenPair generateTokenPair(UUID userId, String email);
     String generateAccessToken(UUID userId, String email);
     String generateRefreshToken(UUID userId);
-    boolean validateToken(String token);
-    UUID getUserIdFromToken(String token);
-    String getEmailFromToken(String token);
-    String getTokenType(String token);
-}
\ No newline at end of file
+    Optional<JwtClaims> parse(String token, String expectedType);
+}
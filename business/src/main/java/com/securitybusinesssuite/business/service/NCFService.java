@@ -4,8 +4,11 @@ package com.securitybusinesssuite.business.service;
 import com.securitybusinesssuite.data.entity.Client;
 import com.securitybusinesssuite.data.entity.Invoice;
 
+import java.util.List;
+
 public interface NCFService {
     String generateNCF(Client client);
+    List<String> generateNCFs(Invoice.NCFType type, int count);
     Invoice.NCFType determineNCFType(Client client);
     boolean isNCFRequired(Client client);
     void validateNCFAvailability(Invoice.NCFType type);
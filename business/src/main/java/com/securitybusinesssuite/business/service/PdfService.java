@@ -0,0 +1,11 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/PdfService.java
+package com.securitybusinesssuite.business.service;
+
+import com.securitybusinesssuite.business.pdf.PdfDocument;
+
+import java.util.UUID;
+
+public interface PdfService {
+    PdfDocument invoicePdf(UUID invoiceId);
+    PdfDocument receiptPdf(UUID receiptId);
+}
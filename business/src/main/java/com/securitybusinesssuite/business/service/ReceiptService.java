@@ -5,6 +5,7 @@ import com.securitybusinesssuite.business.dto.*;
 import com.securitybusinesssuite.business.dto.receiptrequest.CreateReceiptRequestDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.PaymentAllocationDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.UpdateReceiptRequestDTO;
+import com.securitybusinesssuite.business.dto.receiptresponse.BulkVoidResultDTO;
 import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptResponseDTO;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 import com.securitybusinesssuite.business.dto.search.ReceiptSearchCriteria;
@@ -19,6 +20,7 @@ public interface ReceiptService {
     ReceiptResponseDTO getReceipt(UUID id);
     PagedResponseDTO<ReceiptResponseDTO> searchReceipts(ReceiptSearchCriteria criteria);
     void voidReceipt(UUID id, String reason, UUID updatedBy);
+    BulkVoidResultDTO bulkVoidReceipts(List<UUID> ids, String reason, UUID updatedBy);
     void allocatePayment(UUID receiptId, List<PaymentAllocationDTO> allocations, UUID createdBy);
     BigDecimal getAvailableAmount(UUID receiptId);
     List<ReceiptResponseDTO> getClientReceipts(UUID clientId);
@@ -12,7 +12,6 @@ import com.securitybusinesssuite.data.entity.User;
 import com.securitybusinesssuite.data.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +26,7 @@ import java.util.UUID;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final JwtService jwtService;
     private final EmailService emailService;
 
@@ -71,7 +70,7 @@ public class AuthServiceImpl implements AuthService {
         String verificationToken = UUID.randomUUID().toString();
         User user = User.builder()
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingExecutor.encode(request.getPassword()))
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .emailVerified(false)
@@ -107,7 +106,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingExecutor.matches(request.getPassword(), user.getPasswordHash())) {
             throw new AuthenticationException("Invalid email or password");
         }
 
@@ -144,17 +143,10 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public TokenPair refresh(String refreshToken) {
-        if (!jwtService.validateToken(refreshToken)) {
-            throw new AuthenticationException("Invalid refresh token");
-        }
-
-        String tokenType = jwtService.getTokenType(refreshToken);
-        if (!"refresh".equals(tokenType)) {
-            throw new AuthenticationException("Invalid token type");
-        }
+        JwtClaims claims = jwtService.parse(refreshToken, JwtClaims.REFRESH)
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
 
-        UUID userId = jwtService.getUserIdFromToken(refreshToken);
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(claims.getUserId())
                 .orElseThrow(() -> new AuthenticationException("User not found"));
 
         return jwtService.generateTokenPair(user.getId(), user.getEmail());
@@ -8,22 +8,25 @@ import com.securitybusinesssuite.business.dto.search.ClientSearchCriteria;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 import com.securitybusinesssuite.business.exception.BusinessException;
 import com.securitybusinesssuite.business.service.ClientService;
+import com.securitybusinesssuite.business.service.DocumentNumberService;
 import com.securitybusinesssuite.business.service.ValidationService;
+import com.securitybusinesssuite.business.util.SearchCursor;
 import com.securitybusinesssuite.data.entity.Client;
-import com.securitybusinesssuite.data.entity.ClientSequence;
+import com.securitybusinesssuite.data.entity.ClientSummary;
 import com.securitybusinesssuite.data.repository.ClientRepository;
-import com.securitybusinesssuite.data.repository.SequenceRepository;
+import com.securitybusinesssuite.data.repository.search.ClientSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,9 +35,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ClientServiceImpl implements ClientService {
 
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ClientRepository clientRepository;
-    private final SequenceRepository sequenceRepository;
+    private final DocumentNumberService documentNumberService;
     private final ValidationService validationService;
+    private final ClientSuggestionIndex suggestionIndex;
 
     @Override
     @Transactional
@@ -86,6 +92,7 @@ public class ClientServiceImpl implements ClientService {
 
         // Save client
         Client savedClient = clientRepository.save(client);
+        suggestionIndex.upsert(savedClient);
 
         log.info("Client created: {} - {}", savedClient.getClientCode(), savedClient.getBusinessName());
         return ClientResponseDTO.fromEntity(savedClient);
@@ -135,6 +142,7 @@ public class ClientServiceImpl implements ClientService {
 
         // Update client
         Client updatedClient = clientRepository.update(existingClient);
+        suggestionIndex.upsert(updatedClient);
 
         log.info("Client updated: {} - {}", updatedClient.getClientCode(), updatedClient.getBusinessName());
         return ClientResponseDTO.fromEntity(updatedClient);
@@ -148,37 +156,49 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public PagedResponseDTO<ClientResponseDTO> searchClients(ClientSearchCriteria criteria) {
-        // Create sort
-        Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection()) ?
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort sort = Sort.by(direction, criteria.getSortBy());
+    public PagedResponseDTO<ClientSummaryDTO> searchClients(ClientSearchCriteria criteria) {
+        if (criteria.getCursor() != null) {
+            return SearchCursor.page(criteria.getCursor(), criteria.getSize(),
+                    (position, limit) -> clientRepository.findByFilters(toFilter(criteria), toSort(criteria), position, limit),
+                    clients -> clients.stream()
+                            .map(ClientSummaryDTO::fromSummary)
+                            .collect(Collectors.toList()));
+        }
 
         // Create pageable
-        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), toSort(criteria));
 
         // Execute search
-        Page<Client> clientPage = clientRepository.findByFilters(
-                criteria.getBusinessName(),
-                criteria.getClientType(),
-                criteria.getStatus(),
-                criteria.getBusinessSector(),
-                pageable
-        );
+        SearchPage<ClientSummary> clientPage = clientRepository.findByFilters(toFilter(criteria), pageable,
+                TotalMode.of(criteria.isIncludeTotal(), criteria.isEstimateTotal()));
 
         // Convert to DTOs
-        return PagedResponseDTO.<ClientResponseDTO>builder()
-                .content(clientPage.getContent().stream()
-                        .map(ClientResponseDTO::fromEntity)
-                        .collect(Collectors.toList()))
-                .page(clientPage.getNumber())
-                .size(clientPage.getSize())
-                .totalElements(clientPage.getTotalElements())
-                .totalPages(clientPage.getTotalPages())
-                .first(clientPage.isFirst())
-                .last(clientPage.isLast())
-                .hasNext(clientPage.hasNext())
-                .hasPrevious(clientPage.hasPrevious())
+        return PagedResponseDTO.fromSearchPage(clientPage, clientPage.getContent().stream()
+                .map(ClientSummaryDTO::fromSummary)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<ClientSuggestionDTO> suggestClients(String query, int limit, boolean includeInactive) {
+        return suggestionIndex.suggest(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)), includeInactive);
+    }
+
+    // The repository accepts only its whitelisted sort properties
+    private Sort toSort(ClientSearchCriteria criteria) {
+        if (criteria.getSortBy() == null || criteria.getSortBy().isBlank()) {
+            return Sort.unsorted();
+        }
+        Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection()) ?
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, criteria.getSortBy());
+    }
+
+    private ClientSearchFilter toFilter(ClientSearchCriteria criteria) {
+        return ClientSearchFilter.builder()
+                .businessName(criteria.getBusinessName())
+                .clientType(criteria.getClientType())
+                .status(criteria.getStatus())
+                .businessSector(criteria.getBusinessSector())
                 .build();
     }
 
@@ -192,6 +212,7 @@ public class ClientServiceImpl implements ClientService {
         // TODO: Add business logic to check if client has active invoices/contracts
         // For now, we'll just delete
         clientRepository.deleteById(id);
+        suggestionIndex.remove(id);
         log.info("Client deleted: {}", id);
     }
 
@@ -201,27 +222,8 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    @Transactional
     public String generateClientCode() {
-        int currentYear = LocalDate.now().getYear();
-
-        ClientSequence sequence = sequenceRepository.findClientSequenceByYear(currentYear)
-                .orElseGet(() -> {
-                    // Create new sequence for current year
-                    ClientSequence newSequence = ClientSequence.builder()
-                            .currentNumber(0)
-                            .prefix("I")
-                            .year(currentYear)
-                            .build();
-                    return sequenceRepository.saveClientSequence(newSequence);
-                });
-
-        // Increment sequence
-        sequence.setCurrentNumber(sequence.getCurrentNumber() + 1);
-        sequenceRepository.updateClientSequence(sequence);
-
-        // Format: I-0001, I-0002, etc.
-        return String.format("%s-%04d", sequence.getPrefix(), sequence.getCurrentNumber());
+        return documentNumberService.nextClientCode();
     }
 
     @Override
@@ -0,0 +1,216 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/impl/ClientSuggestionIndex.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.business.dto.ClientSuggestionDTO;
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.repository.ClientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// Type-ahead lookup over client codes, RNCs and accent-free business names, held in memory so the
+// invoice and receipt forms can search on every keystroke without a database round trip. A client
+// matches when each query word starts one of its words, e.g. "coop jose" finds "COOPERATIVA JOSÉ".
+// Changes made through ClientServiceImpl apply once committed; the periodic rebuild picks up
+// changes made on other nodes.
+@Slf4j
+@Component
+public class ClientSuggestionIndex {
+
+    // Bounds the work for one- or two-letter queries that match a large share of clients
+    private static final int MAX_CANDIDATES = 2000;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ClientRepository clientRepository;
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+    // Local changes committed while a rebuild reads the table; a null value marks a removal
+    private Map<UUID, ClientSuggestionDTO> changedDuringRebuild;
+
+    public ClientSuggestionIndex(ClientRepository clientRepository, MeterRegistry meterRegistry) {
+        this.clientRepository = clientRepository;
+
+        Gauge.builder("clients.suggest.size", this, suggestions -> suggestions.index.entries.size())
+                .description("Clients held in the in-memory type-ahead index")
+                .register(meterRegistry);
+    }
+
+    // Also runs right after startup, which fills the index for the first time
+    @Scheduled(fixedDelayString = "${app.clients.suggest.refresh-interval:PT10M}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            changedDuringRebuild = new HashMap<>();
+        }
+
+        try {
+            Index rebuilt = new Index();
+            clientRepository.findAllSuggestions()
+                    .forEach(suggestion -> rebuilt.put(ClientSuggestionDTO.fromSuggestion(suggestion)));
+
+            synchronized (writeLock) {
+                // The rows read may predate changes this node committed in the meantime
+                changedDuringRebuild.forEach((id, suggestion) -> rebuilt.replace(id, suggestion));
+                index = rebuilt;
+            }
+            log.debug("Client suggestion index rebuilt with {} clients", rebuilt.entries.size());
+        } finally {
+            synchronized (writeLock) {
+                changedDuringRebuild = null;
+            }
+        }
+    }
+
+    public void upsert(Client client) {
+        afterCommit(client.getId(), ClientSuggestionDTO.fromEntity(client));
+    }
+
+    public void remove(UUID clientId) {
+        afterCommit(clientId, null);
+    }
+
+    public List<ClientSuggestionDTO> suggest(String query, int limit, boolean includeInactive) {
+        String phrase = normalize(query);
+        List<String> words = split(phrase);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        return index.search(phrase, words, limit, includeInactive);
+    }
+
+    private void afterCommit(UUID clientId, ClientSuggestionDTO suggestion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(clientId, suggestion);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(clientId, suggestion);
+            }
+        });
+    }
+
+    private void apply(UUID clientId, ClientSuggestionDTO suggestion) {
+        synchronized (writeLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(clientId, suggestion);
+            }
+            index.replace(clientId, suggestion);
+        }
+    }
+
+    // Mirrors search_normalize() in the database: no accents, lower case, single spaces
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String unaccented = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return unaccented.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").strip();
+    }
+
+    private static List<String> split(String normalized) {
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private static final class Index {
+        private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+        // Keyed by word, then client id, so a prefix is one range scan
+        private final ConcurrentSkipListMap<String, UUID> words = new ConcurrentSkipListMap<>();
+
+        private void put(ClientSuggestionDTO suggestion) {
+            Entry entry = Entry.of(suggestion);
+            entries.put(suggestion.getId(), entry);
+            entry.words().forEach(word -> words.put(key(word, suggestion.getId()), suggestion.getId()));
+        }
+
+        private void replace(UUID clientId, ClientSuggestionDTO suggestion) {
+            Entry previous = entries.remove(clientId);
+            if (previous != null) {
+                previous.words().forEach(word -> words.remove(key(word, clientId)));
+            }
+            if (suggestion != null) {
+                put(suggestion);
+            }
+        }
+
+        private List<ClientSuggestionDTO> search(String phrase, List<String> queryWords, int limit,
+                                                 boolean includeInactive) {
+            // The longest query word narrows the candidates the most
+            String seek = queryWords.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+
+            Set<UUID> seen = new HashSet<>();
+            List<Entry> matches = new ArrayList<>();
+            for (UUID clientId : words.subMap(seek, seek + Character.MAX_VALUE).values()) {
+                if (!seen.add(clientId)) {
+                    continue;
+                }
+                if (seen.size() > MAX_CANDIDATES) {
+                    break;
+                }
+
+                Entry entry = entries.get(clientId);
+                if (entry != null && entry.matches(queryWords)
+                        && (includeInactive || entry.suggestion().getStatus() == Client.ClientStatus.ACTIVE)) {
+                    matches.add(entry);
+                }
+            }
+
+            // Names starting with the query first, then the shortest, i.e. closest, names
+            return matches.stream()
+                    .sorted(Comparator.comparing((Entry entry) -> !entry.name().startsWith(phrase))
+                            .thenComparingInt(entry -> entry.name().length())
+                            .thenComparing(Entry::name))
+                    .limit(limit)
+                    .map(Entry::suggestion)
+                    .toList();
+        }
+
+        private static String key(String word, UUID clientId) {
+            return word + '\0' + clientId;
+        }
+    }
+
+    private record Entry(ClientSuggestionDTO suggestion, String name, Set<String> words) {
+
+        // Codes and RNCs match by their parts ("2024", "0001") or in full without separators
+        private static Entry of(ClientSuggestionDTO suggestion) {
+            String name = normalize(suggestion.getBusinessName());
+            Set<String> words = new LinkedHashSet<>(split(name));
+            for (String identifier : new String[]{suggestion.getClientCode(), suggestion.getRnc()}) {
+                List<String> parts = split(normalize(identifier));
+                words.addAll(parts);
+                words.add(String.join("", parts));
+            }
+            words.remove("");
+            return new Entry(suggestion, name, Set.copyOf(words));
+        }
+
+        private boolean matches(List<String> queryWords) {
+            return queryWords.stream().allMatch(query -> words.stream().anyMatch(word -> word.startsWith(query)));
+        }
+    }
+}
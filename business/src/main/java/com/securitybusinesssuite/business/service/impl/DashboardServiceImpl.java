@@ -1,68 +1,114 @@
 // path: business/src/main/java/com/securitybusinesssuite/business/service/impl/DashboardServiceImpl.java
 package com.securitybusinesssuite.business.service.impl;
 
+import com.securitybusinesssuite.business.dto.dashboard.ChartComparison;
 import com.securitybusinesssuite.business.dto.dashboard.ChartDataDTO;
 import com.securitybusinesssuite.business.dto.dashboard.DashboardStatsDTO;
 import com.securitybusinesssuite.business.dto.dashboard.RecentActivityDTO;
+import com.securitybusinesssuite.business.exception.BusinessException;
 import com.securitybusinesssuite.business.service.DashboardService;
 import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.DashboardCounter;
 import com.securitybusinesssuite.data.entity.Invoice;
-import com.securitybusinesssuite.data.repository.ClientRepository;
-import com.securitybusinesssuite.data.repository.InvoiceRepository;
-import com.securitybusinesssuite.data.repository.ReceiptRepository;
+import com.securitybusinesssuite.data.entity.InvoiceMonthlyRollup;
+import com.securitybusinesssuite.data.repository.DashboardCounterRepository;
+import com.securitybusinesssuite.data.repository.InvoiceMonthlyRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final ClientRepository clientRepository;
-    private final InvoiceRepository invoiceRepository;
-    private final ReceiptRepository receiptRepository;
+    private static final int MAX_CHART_MONTHS = 120;
+    private static final String DEFAULT_COLOR = "#6b7280";
+    private static final List<Invoice.InvoiceStatus> REVENUE_STATUSES = List.of(
+            Invoice.InvoiceStatus.PAID, Invoice.InvoiceStatus.PENDING, Invoice.InvoiceStatus.OVERDUE);
+
+    private static final Map<String, String> STATUS_COLORS = Map.of(
+            "PENDING", "#fbbf24",
+            "PAID", "#10b981",
+            "OVERDUE", "#ef4444",
+            "CANCELLED", "#6b7280"
+    );
+
+    private static final Map<String, String> CLIENT_TYPE_COLORS = Map.of(
+            "SRL", "#8b5cf6",
+            "PERSONA_FISICA", "#06b6d4",
+            "CONSUMIDOR_FINAL", "#84cc16"
+    );
+
+    private final DashboardCounterRepository dashboardCounterRepository;
+    private final InvoiceMonthlyRollupRepository invoiceMonthlyRollupRepository;
     private final JdbcTemplate jdbcTemplate;
 
     @Override
     public DashboardStatsDTO getDashboardStats() {
-        // Get basic counts
-        long totalClients = clientRepository.countByStatus(Client.ClientStatus.ACTIVE) +
-                clientRepository.countByStatus(Client.ClientStatus.INACTIVE) +
-                clientRepository.countByStatus(Client.ClientStatus.SUSPENDED);
+        YearMonth currentMonth = YearMonth.now();
+        List<String> revenueKeys = IntStream.rangeClosed(1, 12)
+                .mapToObj(month -> DashboardCounter.revenueKey(currentMonth.withMonth(month)))
+                .toList();
+
+        List<String> keys = new ArrayList<>(revenueKeys);
+        Arrays.stream(Client.ClientStatus.values()).map(DashboardCounter::clientStatusKey).forEach(keys::add);
+        keys.add(DashboardCounter.invoiceStatusKey(Invoice.InvoiceStatus.PENDING));
+        keys.add(DashboardCounter.invoiceStatusKey(Invoice.InvoiceStatus.OVERDUE));
 
-        long activeClients = clientRepository.countByStatus(Client.ClientStatus.ACTIVE);
-        long pendingInvoices = invoiceRepository.countByStatus(Invoice.InvoiceStatus.PENDING);
-        long overdueInvoices = invoiceRepository.countByStatus(Invoice.InvoiceStatus.OVERDUE);
+        // Primary-key lookups on trigger-maintained counters; no scan of invoices or clients
+        Map<String, DashboardCounter> counters = dashboardCounterRepository.findByKeys(keys);
 
-        // Get financial totals
-        BigDecimal totalPendingAmount = getTotalAmountByStatus(Invoice.InvoiceStatus.PENDING);
-        BigDecimal totalOverdueAmount = getTotalAmountByStatus(Invoice.InvoiceStatus.OVERDUE);
-        BigDecimal monthlyRevenue = getMonthlyRevenue();
-        BigDecimal yearToDateRevenue = getYearToDateRevenue();
+        long totalClients = Arrays.stream(Client.ClientStatus.values())
+                .mapToLong(status -> count(counters, DashboardCounter.clientStatusKey(status)))
+                .sum();
+        String pendingKey = DashboardCounter.invoiceStatusKey(Invoice.InvoiceStatus.PENDING);
+        String overdueKey = DashboardCounter.invoiceStatusKey(Invoice.InvoiceStatus.OVERDUE);
+        BigDecimal yearToDateRevenue = revenueKeys.stream()
+                .map(key -> amount(counters, key))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return DashboardStatsDTO.builder()
                 .totalClients(totalClients)
-                .activeClients(activeClients)
-                .pendingInvoices(pendingInvoices)
-                .overdueInvoices(overdueInvoices)
-                .totalPendingAmount(totalPendingAmount)
-                .totalOverdueAmount(totalOverdueAmount)
-                .monthlyRevenue(monthlyRevenue)
+                .activeClients(count(counters, DashboardCounter.clientStatusKey(Client.ClientStatus.ACTIVE)))
+                .pendingInvoices(count(counters, pendingKey))
+                .overdueInvoices(count(counters, overdueKey))
+                .totalPendingAmount(amount(counters, pendingKey))
+                .totalOverdueAmount(amount(counters, overdueKey))
+                .monthlyRevenue(amount(counters, DashboardCounter.revenueKey(currentMonth)))
                 .yearToDateRevenue(yearToDateRevenue)
                 .build();
     }
 
+    // Corrects any drift between the counters and rollups and the base tables, e.g. after manual data fixes
+    @Scheduled(cron = "${app.dashboard.counter-reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcileCounters() {
+        int corrected = dashboardCounterRepository.reconcile();
+        if (corrected > 0) {
+            log.warn("Corrected drift on {} dashboard counters", corrected);
+        }
+
+        int correctedRollups = invoiceMonthlyRollupRepository.reconcile();
+        if (correctedRollups > 0) {
+            log.warn("Corrected drift on {} invoice monthly rollup rows", correctedRollups);
+        }
+    }
+
     @Override
     public List<RecentActivityDTO> getRecentActivity() {
         String sql = """
@@ -110,49 +156,61 @@ public class DashboardServiceImpl implements DashboardService {
     }
 
     @Override
-    public List<ChartDataDTO> getInvoicesByStatusChart() {
-        String sql = """
-            SELECT status, COUNT(*) as count, SUM(total_amount) as total_amount
-            FROM invoices 
-            WHERE created_at >= DATE_TRUNC('year', CURRENT_DATE)
-            GROUP BY status
-            """;
+    public List<ChartDataDTO> getInvoicesByStatusChart(YearMonth from, YearMonth to, UUID clientId) {
+        YearMonth[] range = resolveRange(from, to);
 
-        Map<String, String> statusColors = Map.of(
-                "PENDING", "#fbbf24",
-                "PAID", "#10b981",
-                "OVERDUE", "#ef4444",
-                "CANCELLED", "#6b7280"
-        );
+        return invoiceMonthlyRollupRepository.sumByStatus(range[0], range[1], clientId).stream()
+                .map(row -> ChartDataDTO.builder()
+                        .label(row.getStatus().name())
+                        .value(row.getTotalAmount())
+                        .color(STATUS_COLORS.getOrDefault(row.getStatus().name(), DEFAULT_COLOR))
+                        .build())
+                .toList();
+    }
 
-        return jdbcTemplate.query(sql, (rs, rowNum) ->
-                ChartDataDTO.builder()
-                        .label(rs.getString("status"))
-                        .value(rs.getBigDecimal("total_amount"))
-                        .color(statusColors.getOrDefault(rs.getString("status"), "#6b7280"))
-                        .build()
-        );
+    @Override
+    public List<ChartDataDTO> getRevenueByMonthChart(YearMonth from, YearMonth to, UUID clientId,
+                                                     ChartComparison comparison) {
+        YearMonth[] range = resolveRange(from, to);
+        ChartComparison mode = comparison != null ? comparison : ChartComparison.NONE;
+
+        // One rollup read covers the requested months and the months they are compared against
+        Map<YearMonth, BigDecimal> revenue = invoiceMonthlyRollupRepository
+                .sumByMonth(range[0].minusMonths(mode.getOffsetMonths()), range[1], REVENUE_STATUSES, clientId)
+                .stream()
+                .collect(Collectors.toMap(row -> YearMonth.from(row.getMonth()), InvoiceMonthlyRollup::getTotalAmount));
+
+        List<ChartDataDTO> chartData = new ArrayList<>();
+        for (YearMonth month = range[0]; !month.isAfter(range[1]); month = month.plusMonths(1)) {
+            BigDecimal value = revenue.getOrDefault(month, BigDecimal.ZERO);
+            ChartDataDTO.ChartDataDTOBuilder point = ChartDataDTO.builder()
+                    .label(month.toString())
+                    .value(value)
+                    .color("#3b82f6");
+
+            if (mode != ChartComparison.NONE) {
+                BigDecimal previous = revenue.getOrDefault(month.minusMonths(mode.getOffsetMonths()), BigDecimal.ZERO);
+                point.previousValue(previous)
+                        .changePercent(previous.signum() == 0 ? null : value.subtract(previous)
+                                .multiply(BigDecimal.valueOf(100))
+                                .divide(previous, 2, RoundingMode.HALF_UP));
+            }
+            chartData.add(point.build());
+        }
+        return chartData;
     }
 
     @Override
-    public List<ChartDataDTO> getRevenueByMonthChart() {
-        String sql = """
-            SELECT DATE_TRUNC('month', issue_date) as month,
-                   SUM(total_amount) as revenue
-            FROM invoices 
-            WHERE issue_date >= DATE_TRUNC('year', CURRENT_DATE)
-              AND status IN ('PAID', 'PENDING', 'OVERDUE')
-            GROUP BY DATE_TRUNC('month', issue_date)
-            ORDER BY month
-            """;
+    public List<ChartDataDTO> getRevenueByClientTypeChart(YearMonth from, YearMonth to) {
+        YearMonth[] range = resolveRange(from, to);
 
-        return jdbcTemplate.query(sql, (rs, rowNum) ->
-                ChartDataDTO.builder()
-                        .label(rs.getDate("month").toLocalDate().getMonth().toString())
-                        .value(rs.getBigDecimal("revenue"))
-                        .color("#3b82f6")
-                        .build()
-        );
+        return invoiceMonthlyRollupRepository.sumByClientType(range[0], range[1], REVENUE_STATUSES).stream()
+                .map(row -> ChartDataDTO.builder()
+                        .label(row.getClientType().name())
+                        .value(row.getTotalAmount())
+                        .color(CLIENT_TYPE_COLORS.getOrDefault(row.getClientType().name(), DEFAULT_COLOR))
+                        .build())
+                .toList();
     }
 
     @Override
@@ -164,44 +222,36 @@ public class DashboardServiceImpl implements DashboardService {
             GROUP BY client_type
             """;
 
-        Map<String, String> typeColors = Map.of(
-                "SRL", "#8b5cf6",
-                "PERSONA_FISICA", "#06b6d4",
-                "CONSUMIDOR_FINAL", "#84cc16"
-        );
-
         return jdbcTemplate.query(sql, (rs, rowNum) ->
                 ChartDataDTO.builder()
                         .label(rs.getString("client_type"))
                         .value(new BigDecimal(rs.getInt("count")))
-                        .color(typeColors.getOrDefault(rs.getString("client_type"), "#6b7280"))
+                        .color(CLIENT_TYPE_COLORS.getOrDefault(rs.getString("client_type"), DEFAULT_COLOR))
                         .build()
         );
     }
 
-    private BigDecimal getTotalAmountByStatus(Invoice.InvoiceStatus status) {
-        String sql = "SELECT COALESCE(SUM(total_amount), 0) FROM invoices WHERE status = ?::invoice_status_enum";
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class, status.name());
+    // Defaults to the current year to date
+    private static YearMonth[] resolveRange(YearMonth from, YearMonth to) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.withMonth(1);
+
+        if (start.isAfter(end)) {
+            throw new BusinessException("Chart start month must not be after end month");
+        }
+        if (start.plusMonths(MAX_CHART_MONTHS).isBefore(end)) {
+            throw new BusinessException("Chart range cannot exceed " + MAX_CHART_MONTHS + " months");
+        }
+        return new YearMonth[]{start, end};
     }
 
-    private BigDecimal getMonthlyRevenue() {
-        String sql = """
-            SELECT COALESCE(SUM(total_amount), 0) 
-            FROM invoices 
-            WHERE issue_date >= DATE_TRUNC('month', CURRENT_DATE)
-              AND issue_date < DATE_TRUNC('month', CURRENT_DATE) + INTERVAL '1 month'
-              AND status IN ('PAID', 'PENDING', 'OVERDUE')
-            """;
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class);
+    private static long count(Map<String, DashboardCounter> counters, String key) {
+        DashboardCounter counter = counters.get(key);
+        return counter != null ? counter.getCount() : 0;
     }
 
-    private BigDecimal getYearToDateRevenue() {
-        String sql = """
-            SELECT COALESCE(SUM(total_amount), 0) 
-            FROM invoices 
-            WHERE issue_date >= DATE_TRUNC('year', CURRENT_DATE)
-              AND status IN ('PAID', 'PENDING', 'OVERDUE')
-            """;
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class);
+    private static BigDecimal amount(Map<String, DashboardCounter> counters, String key) {
+        DashboardCounter counter = counters.get(key);
+        return counter != null ? counter.getAmount() : BigDecimal.ZERO;
     }
-}
\ No newline at end of file
+}
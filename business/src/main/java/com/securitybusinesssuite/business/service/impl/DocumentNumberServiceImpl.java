@@ -0,0 +1,155 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/impl/DocumentNumberServiceImpl.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.business.service.DocumentNumberService;
+import com.securitybusinesssuite.data.entity.ClientSequence;
+import com.securitybusinesssuite.data.entity.InvoiceSequence;
+import com.securitybusinesssuite.data.entity.ReceiptSequence;
+import com.securitybusinesssuite.data.repository.SequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+@Slf4j
+@Service
+public class DocumentNumberServiceImpl implements DocumentNumberService {
+
+    private final SequenceRepository sequenceRepository;
+    private final int blockSize;
+
+    private final Counter clientCodes = new Counter();
+    private final Counter invoiceNumbers = new Counter();
+    private final Counter receiptNumbers = new Counter();
+
+    public DocumentNumberServiceImpl(SequenceRepository sequenceRepository,
+                                     @Value("${app.sequences.block-size:1}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    @Override
+    public String nextClientCode() {
+        Allocation next = clientCodes.next(year -> {
+            ClientSequence sequence = sequenceRepository.reserveClientSequence(year, blockSize);
+            return new Block(year, sequence.getPrefix(), sequence.getCurrentNumber(), blockSize);
+        }, year -> {
+            ClientSequence sequence = sequenceRepository.incrementClientSequence(year, 1);
+            return new Allocation(year, sequence.getPrefix(), sequence.getCurrentNumber());
+        });
+
+        // Format: I-0001, I-0002, etc.
+        return String.format("%s-%04d", next.prefix(), next.number());
+    }
+
+    @Override
+    public String nextInvoiceNumber() {
+        Allocation next = invoiceNumbers.next(year -> {
+            InvoiceSequence sequence = sequenceRepository.reserveInvoiceSequence(year, blockSize);
+            return new Block(year, null, sequence.getCurrentNumber(), blockSize);
+        }, year -> new Allocation(year, null, sequenceRepository.incrementInvoiceSequence(year, 1).getCurrentNumber()));
+
+        return formatInvoiceNumber(next.year(), next.number());
+    }
+
+    @Override
+    public List<String> nextInvoiceNumbers(int count) {
+        int year = LocalDate.now().getYear();
+
+        // One upsert for the whole run of numbers. Like single numbers it joins the caller's
+        // transaction by default, so a rolled back batch releases it; in hi/lo mode it is reserved
+        // on the allocation pool and bypasses the node's block
+        InvoiceSequence sequence = blockSize == 1
+                ? sequenceRepository.incrementInvoiceSequence(year, count)
+                : sequenceRepository.reserveInvoiceSequence(year, count);
+
+        long high = sequence.getCurrentNumber();
+        return LongStream.rangeClosed(high - count + 1, high)
+                .mapToObj(number -> formatInvoiceNumber(year, number))
+                .toList();
+    }
+
+    // Format: INV-2024-0001
+    private static String formatInvoiceNumber(int year, long number) {
+        return String.format("INV-%d-%04d", year, number);
+    }
+
+    @Override
+    public String nextReceiptNumber() {
+        Allocation next = receiptNumbers.next(year -> {
+            ReceiptSequence sequence = sequenceRepository.reserveReceiptSequence(year, blockSize);
+            return new Block(year, sequence.getPrefix(), sequence.getCurrentNumber(), blockSize);
+        }, year -> {
+            ReceiptSequence sequence = sequenceRepository.incrementReceiptSequence(year, 1);
+            return new Allocation(year, sequence.getPrefix(), sequence.getCurrentNumber());
+        });
+
+        // Format: REC-2024-0001
+        return String.format("%s-%d-%04d", next.prefix(), next.year(), next.number());
+    }
+
+    private record Allocation(int year, String prefix, long number) {
+    }
+
+    // A reserved range (high - size, high] handed out without touching the database
+    private static final class Block {
+        private final int year;
+        private final String prefix;
+        private final long high;
+        private final AtomicLong next;
+
+        private Block(int year, String prefix, long high, int size) {
+            this.year = year;
+            this.prefix = prefix;
+            this.high = high;
+            this.next = new AtomicLong(high - size + 1);
+        }
+    }
+
+    private final class Counter {
+        private final AtomicReference<Block> current = new AtomicReference<>();
+        private final ReentrantLock refillLock = new ReentrantLock();
+
+        Allocation next(IntFunction<Block> reserve, IntFunction<Allocation> single) {
+            int year = LocalDate.now().getYear();
+
+            // Default mode: one atomic upsert in the caller's transaction, so a rollback also
+            // releases the number and the series stays gapless
+            if (blockSize == 1) {
+                return single.apply(year);
+            }
+
+            // Hi/lo mode: take from the node's reserved block; numbers left in a block when the
+            // node stops or the year rolls over are skipped
+            while (true) {
+                Block block = current.get();
+                if (block != null && block.year == year) {
+                    long number = block.next.getAndIncrement();
+                    if (number <= block.high) {
+                        return new Allocation(year, block.prefix, number);
+                    }
+                }
+
+                refillLock.lock();
+                try {
+                    if (current.get() == block) {
+                        // Reserved on the allocation pool, so the row lock is not held for the
+                        // rest of the caller's work and no second main pool connection is needed
+                        Block reserved = reserve.apply(year);
+                        log.debug("Reserved document numbers up to {} for {}", reserved.high, year);
+                        current.set(reserved);
+                    }
+                } finally {
+                    refillLock.unlock();
+                }
+            }
+        }
+    }
+}
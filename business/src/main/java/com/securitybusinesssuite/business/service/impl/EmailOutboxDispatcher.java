@@ -0,0 +1,151 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/impl/EmailOutboxDispatcher.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.data.entity.EmailOutboxMessage;
+import com.securitybusinesssuite.data.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Delivers email_outbox rows. Each poll claims a batch with FOR UPDATE SKIP LOCKED, so several
+// nodes can dispatch without sending a message twice, and sends the whole batch over one SMTP
+// connection. No database connection is held while talking to the mail server.
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final String fromEmail;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 @Value("${spring.mail.from}") String fromEmail,
+                                 @Value("${app.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.email.outbox.lease:PT2M}") Duration lease,
+                                 @Value("${app.email.outbox.initial-backoff:PT30S}") Duration initialBackoff,
+                                 @Value("${app.email.outbox.max-backoff:PT1H}") Duration maxBackoff) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        List<EmailOutboxMessage> batch;
+        do {
+            batch = emailOutboxRepository.claimBatch(batchSize, lease);
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private void send(List<EmailOutboxMessage> batch) {
+        Map<MimeMessage, EmailOutboxMessage> byMessage = new IdentityHashMap<>();
+        for (EmailOutboxMessage outboxMessage : batch) {
+            MimeMailMessage message = new MimeMailMessage(mailSender.createMimeMessage());
+            message.setFrom(fromEmail);
+            try {
+                message.setTo(outboxMessage.getRecipient());
+            } catch (MailParseException e) {
+                // Converted one by one: a malformed address never sends, and converting the whole
+                // batch at once would fail every other message with it
+                log.error("Giving up on email {} to malformed address {}", outboxMessage.getId(), outboxMessage.getRecipient());
+                emailOutboxRepository.markFailed(outboxMessage.getId(), e.getMessage());
+                continue;
+            }
+            message.setSubject(outboxMessage.getSubject());
+            message.setText(outboxMessage.getBody());
+            byMessage.put(message.getMimeMessage(), outboxMessage);
+        }
+        if (byMessage.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            mailSender.send(byMessage.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            // Lists each message that was not accepted, including all of them if the connection failed
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(byMessage, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(byMessage, e);
+        }
+
+        List<UUID> sent = new ArrayList<>();
+        for (Map.Entry<MimeMessage, EmailOutboxMessage> entry : byMessage.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(entry.getValue().getId());
+            } else {
+                reschedule(entry.getValue(), failure);
+            }
+        }
+        emailOutboxRepository.markSent(sent);
+        log.debug("Email outbox batch: {} sent, {} failed", sent.size(), byMessage.size() - sent.size());
+    }
+
+    private void reschedule(EmailOutboxMessage message, Exception failure) {
+        String error = describe(failure);
+        if (message.getAttempts() >= maxAttempts) {
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), message.getAttempts(), error);
+            emailOutboxRepository.markFailed(message.getId(), error);
+            return;
+        }
+
+        // Exponential backoff from the attempt count the claim already incremented
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(message.getAttempts() - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}: {}",
+                message.getId(), message.getRecipient(), message.getAttempts(), delay, error);
+        emailOutboxRepository.markRetry(message.getId(), delay, error);
+    }
+
+    // JavaMail reports a refused recipient as "Invalid Addresses"; the server's reply is on the
+    // innermost exception
+    private static String describe(Exception failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage().trim() : failure.getMessage();
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, EmailOutboxMessage> byMessage, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        byMessage.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+}
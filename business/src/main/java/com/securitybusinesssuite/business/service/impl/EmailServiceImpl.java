@@ -2,11 +2,10 @@
 package com.securitybusinesssuite.business.service.impl;
 
 import com.securitybusinesssuite.business.service.EmailService;
+import com.securitybusinesssuite.data.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -14,10 +13,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.from}")
-    private String fromEmail;
+    // Written in the caller's transaction; EmailOutboxDispatcher delivers after commit
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
@@ -40,11 +37,7 @@ public class EmailServiceImpl implements EmailService {
             return;
         }
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Verify your email - Security Business Suite");
-        message.setText(String.format("""
+        emailOutboxRepository.enqueue(to, "Verify your email - Security Business Suite", String.format("""
             Hi %s,
             
             Welcome to Security Business Suite! Please verify your email by clicking the link below:
@@ -58,13 +51,7 @@ public class EmailServiceImpl implements EmailService {
             Best regards,
             Security Business Suite Team
             """, firstName, verificationLink));
-
-        try {
-            mailSender.send(message);
-            log.info("Verification email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send verification email to: {}", to, e);
-        }
+        log.info("Verification email queued for: {}", to);
     }
 
     @Override
@@ -79,11 +66,7 @@ public class EmailServiceImpl implements EmailService {
             return;
         }
 
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Password Reset - Security Business Suite");
-        message.setText(String.format("""
+        emailOutboxRepository.enqueue(to, "Password Reset - Security Business Suite", String.format("""
             Hi %s,
             
             We received a request to reset your password. Click the link below to create a new password:
@@ -97,12 +80,6 @@ public class EmailServiceImpl implements EmailService {
             Best regards,
             Security Business Suite Team
             """, firstName, resetLink));
-
-        try {
-            mailSender.send(message);
-            log.info("Password reset email sent to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", to, e);
-        }
+        log.info("Password reset email queued for: {}", to);
     }
 }
\ No newline at end of file
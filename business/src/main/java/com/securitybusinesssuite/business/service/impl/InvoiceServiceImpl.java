@@ -6,28 +6,51 @@ import com.securitybusinesssuite.business.dto.*;
 import com.securitybusinesssuite.business.dto.invoicerequest.CreateInvoiceRequestDTO;
 import com.securitybusinesssuite.business.dto.invoicerequest.InvoiceItemRequestDTO;
 import com.securitybusinesssuite.business.dto.invoicerequest.UpdateInvoiceRequestDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.BulkInvoiceResultDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.BulkInvoiceRowResultDTO;
 import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceItemResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoicePaymentHistoryDTO;
 import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceSummaryDTO;
 import com.securitybusinesssuite.business.dto.search.InvoiceSearchCriteria;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 import com.securitybusinesssuite.business.exception.BusinessException;
 import com.securitybusinesssuite.business.service.*;
+import com.securitybusinesssuite.business.util.BatchLoader;
+import com.securitybusinesssuite.business.util.SearchCursor;
 import com.securitybusinesssuite.data.entity.*;
 import com.securitybusinesssuite.data.repository.*;
+import com.securitybusinesssuite.data.repository.search.InvoiceSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Slf4j
 @Service
@@ -37,11 +60,20 @@ public class InvoiceServiceImpl implements InvoiceService {
     private final InvoiceRepository invoiceRepository;
     private final InvoiceItemRepository invoiceItemRepository;
     private final ClientRepository clientRepository;
-    private final SequenceRepository sequenceRepository;
+    private final ReceiptAllocationRepository receiptAllocationRepository;
+    private final DocumentNumberService documentNumberService;
     private final CalculationService calculationService;
     private final NCFService ncfService;
     private final ValidationService validationService;
     private final DominicanTaxConfig taxConfig;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+
+    @Value("${app.invoices.bulk.chunk-size:200}")
+    private int bulkChunkSize;
+
+    @Value("${app.invoices.bulk.max-rows:2000}")
+    private int bulkMaxRows;
 
     @Override
     @Transactional
@@ -62,19 +94,10 @@ public class InvoiceServiceImpl implements InvoiceService {
         }
 
         // Create invoice entity
-        Invoice invoice = Invoice.builder()
+        Invoice invoice = newInvoice(request, createdBy)
                 .invoiceNumber(invoiceNumber)
                 .ncf(ncf)
                 .ncfType(ncfType)
-                .clientId(request.getClientId())
-                .issueDate(request.getIssueDate())
-                .dueDate(request.getDueDate())
-                .invoiceType(request.getInvoiceType())
-                .discountAmount(request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO)
-                .paidAmount(BigDecimal.ZERO)
-                .status(Invoice.InvoiceStatus.PENDING)
-                .notes(request.getNotes())
-                .createdBy(createdBy)
                 .build();
 
         // Create invoice items
@@ -91,21 +114,159 @@ public class InvoiceServiceImpl implements InvoiceService {
         // Save invoice
         Invoice savedInvoice = invoiceRepository.save(invoice);
 
-        // Save invoice items
+        // Save invoice items in a single batch
         for (InvoiceItem item : items) {
             item.setInvoiceId(savedInvoice.getId());
-            item = calculationService.calculateLineItem(item);
-            invoiceItemRepository.save(item);
+            calculationService.calculateLineItem(item);
         }
 
-        // Load full invoice with items for response
+        // Build response from the persisted items, no read-back needed
         savedInvoice.setClient(client);
-        savedInvoice.setItems(invoiceItemRepository.findByInvoiceId(savedInvoice.getId()));
+        savedInvoice.setItems(invoiceItemRepository.saveAll(items));
 
         log.info("Invoice created: {} for client: {}", savedInvoice.getInvoiceNumber(), client.getBusinessName());
         return convertToResponseDTO(savedInvoice);
     }
 
+    // Clients are loaded with one query and rows are priced in parallel; valid rows are then written
+    // in chunk transactions that reserve invoice numbers and NCFs as blocks and insert invoices and
+    // items with batched statements. A failed chunk is retried row by row so errors stay per row.
+    @Override
+    public BulkInvoiceResultDTO bulkCreateInvoices(List<CreateInvoiceRequestDTO> requests, UUID createdBy) {
+        if (requests.size() > bulkMaxRows) {
+            throw new BusinessException("Bulk creation accepts at most " + bulkMaxRows + " invoices per request");
+        }
+
+        long started = System.nanoTime();
+        BulkInvoiceRowResultDTO[] results = new BulkInvoiceRowResultDTO[requests.size()];
+
+        Map<UUID, Client> clients = clientRepository.findAllByIds(requests.stream()
+                        .filter(Objects::nonNull)
+                        .map(CreateInvoiceRequestDTO::getClientId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity()));
+
+        // Each row only writes its own result slot
+        List<BulkRow> rows = IntStream.range(0, requests.size()).parallel()
+                .mapToObj(index -> prepareBulkRow(index, requests.get(index), clients, createdBy, results))
+                .filter(Objects::nonNull)
+                .toList();
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        int chunkSize = Math.max(1, bulkChunkSize);
+
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<BulkRow> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            try {
+                chunkTransaction.executeWithoutResult(status -> writeBulkChunk(chunk));
+                chunk.forEach(row -> results[row.index()] = BulkInvoiceRowResultDTO.created(row.index(), row.invoice()));
+            } catch (RuntimeException e) {
+                log.warn("Bulk invoice chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+                for (BulkRow row : chunk) {
+                    try {
+                        chunkTransaction.executeWithoutResult(status -> writeBulkChunk(List.of(row)));
+                        results[row.index()] = BulkInvoiceRowResultDTO.created(row.index(), row.invoice());
+                    } catch (BusinessException rowError) {
+                        results[row.index()] = BulkInvoiceRowResultDTO.failure(row.index(), rowError.getMessage());
+                    } catch (RuntimeException rowError) {
+                        log.error("Bulk invoice row {} could not be saved", row.index(), rowError);
+                        results[row.index()] = BulkInvoiceRowResultDTO.failure(row.index(), "Invoice could not be saved");
+                    }
+                }
+            }
+        }
+
+        int created = (int) Arrays.stream(results).filter(BulkInvoiceRowResultDTO::isSuccess).count();
+        log.info("Bulk created {} of {} invoices in {} ms", created, requests.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        return BulkInvoiceResultDTO.builder()
+                .requested(requests.size())
+                .created(created)
+                .failed(requests.size() - created)
+                .results(List.of(results))
+                .build();
+    }
+
+    private BulkRow prepareBulkRow(int index, CreateInvoiceRequestDTO request, Map<UUID, Client> clients,
+                                   UUID createdBy, BulkInvoiceRowResultDTO[] results) {
+        if (request == null) {
+            results[index] = BulkInvoiceRowResultDTO.failure(index, "Invoice request is empty");
+            return null;
+        }
+
+        Set<ConstraintViolation<CreateInvoiceRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            results[index] = BulkInvoiceRowResultDTO.failure(index, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        Client client = clients.get(request.getClientId());
+        if (client == null) {
+            results[index] = BulkInvoiceRowResultDTO.failure(index, "Client not found");
+            return null;
+        }
+
+        try {
+            // Number and NCF are assigned when the row's chunk is written
+            Invoice invoice = newInvoice(request, createdBy)
+                    .ncfType(ncfService.isNCFRequired(client) ? ncfService.determineNCFType(client) : null)
+                    .build();
+
+            List<InvoiceItem> items = request.getItems().stream()
+                    .map(itemDto -> createInvoiceItem(itemDto, createdBy))
+                    .collect(Collectors.toList());
+
+            calculationService.calculateInvoiceTotals(invoice, items);
+            validationService.validateInvoiceAmounts(invoice);
+            return new BulkRow(index, client, invoice, items);
+        } catch (BusinessException e) {
+            results[index] = BulkInvoiceRowResultDTO.failure(index, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeBulkChunk(List<BulkRow> chunk) {
+        // Invoice numbers join this transaction, so a rolled back chunk leaves no gap
+        List<String> invoiceNumbers = documentNumberService.nextInvoiceNumbers(chunk.size());
+
+        // Leased NCFs go back to the pool if the chunk rolls back
+        Map<Invoice.NCFType, List<Invoice>> byNcfType = chunk.stream()
+                .map(BulkRow::invoice)
+                .filter(invoice -> invoice.getNcfType() != null)
+                .collect(Collectors.groupingBy(Invoice::getNcfType,
+                        () -> new EnumMap<>(Invoice.NCFType.class), Collectors.toList()));
+        byNcfType.forEach((type, invoices) -> {
+            Iterator<String> ncfs = ncfService.generateNCFs(type, invoices.size()).iterator();
+            invoices.forEach(invoice -> invoice.setNcf(ncfs.next()));
+        });
+
+        List<Invoice> invoices = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkRow row = chunk.get(i);
+            row.invoice().setInvoiceNumber(invoiceNumbers.get(i));
+            validationService.validateInvoiceRequirements(row.invoice(), row.client());
+            invoices.add(row.invoice());
+        }
+        invoiceRepository.saveAll(invoices);
+
+        List<InvoiceItem> items = new ArrayList<>();
+        for (BulkRow row : chunk) {
+            row.items().forEach(item -> item.setInvoiceId(row.invoice().getId()));
+            items.addAll(row.items());
+        }
+        invoiceItemRepository.saveAll(items);
+    }
+
+    private record BulkRow(int index, Client client, Invoice invoice, List<InvoiceItem> items) {
+    }
+
     @Override
     @Transactional
     public InvoiceResponseDTO updateInvoice(UUID id, UpdateInvoiceRequestDTO request, UUID updatedBy) {
@@ -131,19 +292,13 @@ public class InvoiceServiceImpl implements InvoiceService {
         existingInvoice.setUpdatedBy(updatedBy);
 
         // Update invoice items if provided
+        List<InvoiceItem> items = null;
         if (request.getItems() != null && !request.getItems().isEmpty()) {
-            // Delete existing items
-            invoiceItemRepository.deleteByInvoiceId(id);
-
-            // Create new items
-            List<InvoiceItem> items = request.getItems().stream()
-                    .map(itemDto -> {
-                        InvoiceItem item = createInvoiceItem(itemDto, updatedBy);
-                        item.setInvoiceId(id);
-                        item = calculationService.calculateLineItem(item);
-                        return invoiceItemRepository.save(item);
-                    })
+            // Replace existing items with a single delete and one batched insert
+            items = request.getItems().stream()
+                    .map(itemDto -> calculationService.calculateLineItem(createInvoiceItem(itemDto, updatedBy)))
                     .collect(Collectors.toList());
+            items = invoiceItemRepository.replaceAll(id, items);
 
             // Recalculate totals
             existingInvoice = calculationService.calculateInvoiceTotals(existingInvoice, items);
@@ -154,8 +309,9 @@ public class InvoiceServiceImpl implements InvoiceService {
 
         // Update invoice
         Invoice updatedInvoice = invoiceRepository.update(existingInvoice);
+        invoiceRepository.flush();
         updatedInvoice.setClient(client);
-        updatedInvoice.setItems(invoiceItemRepository.findByInvoiceId(id));
+        updatedInvoice.setItems(items != null ? items : invoiceItemRepository.findByInvoiceId(id));
 
         log.info("Invoice updated: {}", updatedInvoice.getInvoiceNumber());
         return convertToResponseDTO(updatedInvoice);
@@ -178,48 +334,62 @@ public class InvoiceServiceImpl implements InvoiceService {
     }
 
     @Override
-    public PagedResponseDTO<InvoiceResponseDTO> searchInvoices(InvoiceSearchCriteria criteria) {
-        // Create sort
-        Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection()) ?
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort sort = Sort.by(direction, criteria.getSortBy());
+    public PagedResponseDTO<InvoiceSummaryDTO> searchInvoices(InvoiceSearchCriteria criteria) {
+        if (criteria.getCursor() != null) {
+            return SearchCursor.page(criteria.getCursor(), criteria.getSize(),
+                    (position, limit) -> invoiceRepository.findByFilters(toFilter(criteria), toSort(criteria), position, limit),
+                    this::toSummaryDTOsWithClient);
+        }
 
         // Create pageable
-        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), toSort(criteria));
 
         // Execute search
-        Page<Invoice> invoicePage = invoiceRepository.findByFilters(
-                criteria.getClientId(),
-                criteria.getStatus(),
-                criteria.getFromDate(),
-                criteria.getToDate(),
-                criteria.getMinAmount(),
-                criteria.getMaxAmount(),
-                pageable
-        );
-
-        // Convert to DTOs with client information
-        List<InvoiceResponseDTO> invoiceDTOs = invoicePage.getContent().stream()
-                .map(invoice -> {
-                    Client client = clientRepository.findById(invoice.getClientId()).orElse(null);
-                    invoice.setClient(client);
-                    return convertToResponseDTO(invoice);
-                })
-                .collect(Collectors.toList());
+        SearchPage<InvoiceSummary> invoicePage = invoiceRepository.findByFilters(toFilter(criteria), pageable,
+                TotalMode.of(criteria.isIncludeTotal(), criteria.isEstimateTotal()));
+
+        return PagedResponseDTO.fromSearchPage(invoicePage, toSummaryDTOsWithClient(invoicePage.getContent()));
+    }
 
-        return PagedResponseDTO.<InvoiceResponseDTO>builder()
-                .content(invoiceDTOs)
-                .page(invoicePage.getNumber())
-                .size(invoicePage.getSize())
-                .totalElements(invoicePage.getTotalElements())
-                .totalPages(invoicePage.getTotalPages())
-                .first(invoicePage.isFirst())
-                .last(invoicePage.isLast())
-                .hasNext(invoicePage.hasNext())
-                .hasPrevious(invoicePage.hasPrevious())
+    // The repository accepts only its whitelisted sort properties
+    private Sort toSort(InvoiceSearchCriteria criteria) {
+        if (criteria.getSortBy() == null || criteria.getSortBy().isBlank()) {
+            return Sort.unsorted();
+        }
+        Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection()) ?
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, criteria.getSortBy());
+    }
+
+    private InvoiceSearchFilter toFilter(InvoiceSearchCriteria criteria) {
+        return InvoiceSearchFilter.builder()
+                .clientId(criteria.getClientId())
+                .status(criteria.getStatus())
+                .fromDate(criteria.getFromDate())
+                .toDate(criteria.getToDate())
+                .minAmount(criteria.getMinAmount())
+                .maxAmount(criteria.getMaxAmount())
+                .clientName(criteria.getClientName())
+                .invoiceNumber(criteria.getInvoiceNumber())
+                .ncf(criteria.getNcf())
                 .build();
     }
 
+    // List rows with their client's summary; the full invoice and client load only on detail
+    private List<InvoiceSummaryDTO> toSummaryDTOsWithClient(List<InvoiceSummary> invoices) {
+        // One lookup for all distinct clients instead of one per invoice, mostly served from the client cache
+        BatchLoader<UUID, Client> clients = BatchLoader.byKey(clientRepository::findAllByIds, Client::getId)
+                .queueAll(invoices, InvoiceSummary::getClientId);
+
+        return invoices.stream()
+                .map(invoice -> InvoiceSummaryDTO.fromSummary(invoice, toClientSummary(clients.get(invoice.getClientId()))))
+                .collect(Collectors.toList());
+    }
+
+    private static ClientSummaryDTO toClientSummary(Client client) {
+        return client != null ? ClientSummaryDTO.fromEntity(client) : null;
+    }
+
     @Override
     @Transactional
     public void cancelInvoice(UUID id, String reason, UUID updatedBy) {
@@ -240,6 +410,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         invoice.setUpdatedBy(updatedBy);
 
         invoiceRepository.update(invoice);
+        invoiceRepository.flush();
         log.info("Invoice cancelled: {} - {}", invoice.getInvoiceNumber(), reason);
     }
 
@@ -264,6 +435,7 @@ public class InvoiceServiceImpl implements InvoiceService {
         // Recalculate invoice totals
         invoice = calculationService.calculateInvoiceTotals(invoice, items);
         invoice = invoiceRepository.update(invoice);
+        invoiceRepository.flush();
 
         // Load related data for response
         Client client = clientRepository.findById(invoice.getClientId()).orElse(null);
@@ -275,46 +447,34 @@ public class InvoiceServiceImpl implements InvoiceService {
     }
 
     @Override
-    public List<InvoiceResponseDTO> getOverdueInvoices() {
-        List<Invoice> overdueInvoices = invoiceRepository.findOverdueInvoices();
-        return overdueInvoices.stream()
-                .map(invoice -> {
-                    Client client = clientRepository.findById(invoice.getClientId()).orElse(null);
-                    invoice.setClient(client);
-                    return convertToResponseDTO(invoice);
-                })
-                .collect(Collectors.toList());
+    public List<InvoiceSummaryDTO> getOverdueInvoices() {
+        List<InvoiceSummary> overdueInvoices = invoiceRepository.findOverdueSummaries();
+        return toSummaryDTOsWithClient(overdueInvoices);
     }
 
     @Override
-    public List<InvoiceResponseDTO> getClientInvoices(UUID clientId) {
-        List<Invoice> invoices = invoiceRepository.findByClientId(clientId);
-        Client client = clientRepository.findById(clientId).orElse(null);
+    public List<InvoiceSummaryDTO> getClientInvoices(UUID clientId) {
+        List<InvoiceSummary> invoices = invoiceRepository.findSummariesByClientId(clientId);
+        ClientSummaryDTO client = toClientSummary(clientRepository.findById(clientId).orElse(null));
 
         return invoices.stream()
-                .map(invoice -> {
-                    invoice.setClient(client);
-                    return convertToResponseDTO(invoice);
-                })
+                .map(invoice -> InvoiceSummaryDTO.fromSummary(invoice, client))
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<InvoiceResponseDTO> getUnpaidInvoices(UUID clientId) {
-        List<Invoice> unpaidInvoices = invoiceRepository.findByClientId(clientId).stream()
+    public List<InvoiceSummaryDTO> getUnpaidInvoices(UUID clientId) {
+        List<InvoiceSummary> unpaidInvoices = invoiceRepository.findSummariesByClientId(clientId).stream()
                 .filter(invoice -> invoice.getStatus() == Invoice.InvoiceStatus.PENDING ||
                         invoice.getStatus() == Invoice.InvoiceStatus.OVERDUE)
                 .filter(invoice -> invoice.getBalanceDue() != null &&
                         invoice.getBalanceDue().compareTo(BigDecimal.ZERO) > 0)
                 .collect(Collectors.toList());
 
-        Client client = clientRepository.findById(clientId).orElse(null);
+        ClientSummaryDTO client = toClientSummary(clientRepository.findById(clientId).orElse(null));
 
         return unpaidInvoices.stream()
-                .map(invoice -> {
-                    invoice.setClient(client);
-                    return convertToResponseDTO(invoice);
-                })
+                .map(invoice -> InvoiceSummaryDTO.fromSummary(invoice, client))
                 .collect(Collectors.toList());
     }
 
@@ -337,28 +497,33 @@ public class InvoiceServiceImpl implements InvoiceService {
         if (invoice.getStatus() != newStatus) {
             invoice.setStatus(newStatus);
             invoiceRepository.update(invoice);
+            invoiceRepository.flush();
             log.info("Invoice status updated: {} -> {}", invoice.getInvoiceNumber(), newStatus);
         }
     }
 
-    @Transactional
+    @Override
+    public InvoicePaymentHistoryDTO getPaymentHistory(UUID invoiceId) {
+        return receiptAllocationRepository.findPaymentHistory(invoiceId)
+                .map(InvoicePaymentHistoryDTO::fromEntity)
+                .orElseThrow(() -> new BusinessException("Invoice not found"));
+    }
+
     public String generateInvoiceNumber() {
-        int currentYear = LocalDate.now().getYear();
-
-        InvoiceSequence sequence = sequenceRepository.findInvoiceSequenceByYear(currentYear)
-                .orElseGet(() -> {
-                    InvoiceSequence newSequence = InvoiceSequence.builder()
-                            .currentNumber(0)
-                            .year(currentYear)
-                            .build();
-                    return sequenceRepository.saveInvoiceSequence(newSequence);
-                });
-
-        sequence.setCurrentNumber(sequence.getCurrentNumber() + 1);
-        sequenceRepository.updateInvoiceSequence(sequence);
-
-        // Format: INV-2024-0001
-        return String.format("INV-%d-%04d", currentYear, sequence.getCurrentNumber());
+        return documentNumberService.nextInvoiceNumber();
+    }
+
+    private Invoice.InvoiceBuilder newInvoice(CreateInvoiceRequestDTO request, UUID createdBy) {
+        return Invoice.builder()
+                .clientId(request.getClientId())
+                .issueDate(request.getIssueDate())
+                .dueDate(request.getDueDate())
+                .invoiceType(request.getInvoiceType())
+                .discountAmount(request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO)
+                .paidAmount(BigDecimal.ZERO)
+                .status(Invoice.InvoiceStatus.PENDING)
+                .notes(request.getNotes())
+                .createdBy(createdBy);
     }
 
     private InvoiceItem createInvoiceItem(InvoiceItemRequestDTO dto, UUID createdBy) {
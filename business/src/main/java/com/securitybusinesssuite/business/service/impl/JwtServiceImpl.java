@@ -1,6 +1,7 @@
 // path: business/src/main/java/com/securitybusinesssuite/business/service/impl/JwtServiceImpl.java
 package com.securitybusinesssuite.business.service.impl;
 
+import com.securitybusinesssuite.business.dto.JwtClaims;
 import com.securitybusinesssuite.business.dto.TokenPair;
 import com.securitybusinesssuite.business.service.JwtService;
 import io.jsonwebtoken.*;
@@ -12,23 +13,29 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${app.jwt.access-token-expiration:900}")
-    private int accessTokenExpiration; // 15 minutes
-
-    @Value("${app.jwt.refresh-token-expiration:604800}")
-    private int refreshTokenExpiration; // 7 days
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private final int accessTokenExpiration;
+    private final int refreshTokenExpiration;
+
+    // Both are immutable and thread-safe, so they are derived once instead of per call
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtServiceImpl(@Value("${app.jwt.secret}") String jwtSecret,
+                          @Value("${app.jwt.access-token-expiration:900}") int accessTokenExpiration, // 15 minutes
+                          @Value("${app.jwt.refresh-token-expiration:604800}") int refreshTokenExpiration) { // 7 days
+        this.accessTokenExpiration = accessTokenExpiration;
+        this.refreshTokenExpiration = refreshTokenExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     @Override
@@ -46,10 +53,10 @@ public class JwtServiceImpl implements JwtService {
         return Jwts.builder()
                 .subject(userId.toString())
                 .claim("email", email)
-                .claim("type", "access")
+                .claim("type", JwtClaims.ACCESS)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -60,57 +67,33 @@ public class JwtServiceImpl implements JwtService {
 
         return Jwts.builder()
                 .subject(userId.toString())
-                .claim("type", "refresh")
+                .claim("type", JwtClaims.REFRESH)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // Verifies the signature and expiry once and returns every claim callers need, or empty when the
+    // token is invalid or is not of the expected type
     @Override
-    public boolean validateToken(String token) {
+    public Optional<JwtClaims> parse(String token, String expectedType) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            String type = claims.get("type", String.class);
+            if (!expectedType.equals(type)) {
+                log.error("Invalid JWT token: expected a {} token, got {}", expectedType, type);
+                return Optional.empty();
+            }
+            return Optional.of(new JwtClaims(
+                    UUID.fromString(claims.getSubject()),
+                    claims.get("email", String.class),
+                    type,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null));
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
-
-    @Override
-    public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return UUID.fromString(claims.getSubject());
-    }
-
-    @Override
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("email", String.class);
-    }
-
-    @Override
-    public String getTokenType(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("type", String.class);
-    }
-}
\ No newline at end of file
+}
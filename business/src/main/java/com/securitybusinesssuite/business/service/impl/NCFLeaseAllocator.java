@@ -0,0 +1,420 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/impl/NCFLeaseAllocator.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.business.exception.BusinessException;
+import com.securitybusinesssuite.data.config.AllocationPool;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.NCFLease;
+import com.securitybusinesssuite.data.entity.NCFSequence;
+import com.securitybusinesssuite.data.repository.InvoiceRepository;
+import com.securitybusinesssuite.data.repository.NCFLeaseRepository;
+import com.securitybusinesssuite.data.repository.SequenceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+// Hands out NCF numbers from small ranges leased to this node, so invoice transactions no longer
+// serialize on the ncf_sequences row. Every lease is recorded in ncf_leases:
+// - numbers from a rolled back invoice go back to the pool and are issued again
+// - a lease is COMPLETED only once every number in it is on a committed invoice
+// - leases of a node that stops heartbeating are adopted and their unissued numbers reissued,
+//   so the fiscal series keeps no gaps
+// - a node issues from a lease only while it still owns it: the heartbeat drops leases another node
+//   has adopted, and a lease not confirmed within half of staleAfter is confirmed again first
+// The lowest available number is always issued first. Lease I/O runs on the allocation pool, so an
+// invoice transaction waiting for a refill never needs a second connection from the main pool.
+@Slf4j
+@Component
+public class NCFLeaseAllocator {
+
+    private static final int FORECAST_WINDOW_DAYS = 30;
+    private static final Duration RELEASE_WAIT = Duration.ofSeconds(10);
+
+    private final NCFLeaseRepository leaseRepository;
+    private final SequenceRepository sequenceRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final AllocationPool allocationPool;
+    private final int leaseSize;
+    private final Duration staleAfter;
+    private final String nodeId;
+    private final Map<Invoice.NCFType, Pool> pools = new EnumMap<>(Invoice.NCFType.class);
+    // Fully issued leases not yet marked COMPLETED
+    private final Queue<UUID> settled = new ConcurrentLinkedQueue<>();
+    private volatile boolean closing;
+
+    public NCFLeaseAllocator(NCFLeaseRepository leaseRepository,
+                             SequenceRepository sequenceRepository,
+                             InvoiceRepository invoiceRepository,
+                             AllocationPool allocationPool,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.ncf.lease-size:10}") int leaseSize,
+                             @Value("${app.ncf.lease-stale-after:PT5M}") Duration staleAfter) {
+        this.leaseRepository = leaseRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.allocationPool = allocationPool;
+        this.leaseSize = Math.max(1, leaseSize);
+        this.staleAfter = staleAfter;
+        // A restarted process gets a new identity; its old leases are adopted once stale
+        this.nodeId = UUID.randomUUID().toString();
+
+        for (Invoice.NCFType type : Invoice.NCFType.values()) {
+            Pool pool = new Pool();
+            pools.put(type, pool);
+
+            Gauge.builder("ncf.lease.available", pool, p -> p.available.size())
+                    .description("Leased NCF numbers held by this node and not yet issued")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("ncf.lease.utilization", pool, Pool::utilization)
+                    .description("Share of the numbers in this node's open leases that have been issued")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("ncf.sequence.remaining", pool, p -> p.remaining)
+                    .description("NCF numbers left in the authorized range")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("ncf.sequence.forecast.days", pool, p -> p.forecastDays)
+                    .description("Days until the authorized range runs out at the last " + FORECAST_WINDOW_DAYS + " days' issue rate")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public String next(Invoice.NCFType type) {
+        return next(type, 1).get(0);
+    }
+
+    // Numbers for a batch of invoices in issue order, leasing one range big enough for whatever
+    // the pool cannot cover instead of one lease per exhausted range
+    public List<String> next(Invoice.NCFType type, int count) {
+        Pool pool = pools.get(type);
+        List<String> numbers = new ArrayList<>(count);
+
+        while (numbers.size() < count) {
+            Map.Entry<Long, HeldLease> entry = pool.available.pollFirstEntry();
+            if (entry != null) {
+                HeldLease lease = entry.getValue();
+                long number = entry.getKey();
+                // Counted before the checks, so releaseLeases never gives away a lease being issued from
+                lease.inFlight.incrementAndGet();
+                boolean issued = false;
+                try {
+                    if (issuable(pool, lease, number)) {
+                        track(pool, lease, number);
+                        numbers.add(lease.ncf(number));
+                        issued = true;
+                    }
+                } finally {
+                    if (!issued) {
+                        lease.inFlight.decrementAndGet();
+                    }
+                }
+                continue;
+            }
+
+            int missing = count - numbers.size();
+            pool.refillLock.lock();
+            try {
+                if (closing) {
+                    throw new BusinessException("NCF allocation is shutting down");
+                }
+                if (pool.available.isEmpty()) {
+                    HeldLease lease = allocationPool.execute(status -> acquire(type, Math.max(leaseSize, missing)));
+                    pool.held.add(lease);
+                    lease.numbers.forEach(number -> pool.available.put(number, lease));
+                }
+            } finally {
+                pool.refillLock.unlock();
+            }
+        }
+
+        return numbers;
+    }
+
+    private HeldLease acquire(Invoice.NCFType type, int size) {
+        int year = LocalDate.now().getYear();
+        // Taken before the statement, so it is no later than the heartbeat_at the lease gets
+        long confirmedAt = System.nanoTime();
+
+        // Recover numbers stranded by stopped nodes before cutting a fresh range
+        Optional<NCFLease> adopted;
+        while ((adopted = leaseRepository.adoptStaleLease(type, year, nodeId, staleAfter)).isPresent()) {
+            NCFLease lease = adopted.get();
+            List<Long> unused = leaseRepository.findUnusedNumbers(lease);
+            if (!unused.isEmpty()) {
+                log.warn("Adopted NCF lease {} ({}-{}) with {} unissued numbers",
+                        lease.getId(), lease.getRangeStart(), lease.getRangeEnd(), unused.size());
+                return new HeldLease(lease, unused, confirmedAt);
+            }
+            leaseRepository.complete(lease.getId(), nodeId);
+        }
+
+        NCFLease lease = leaseRepository.createLease(type, year, size, nodeId)
+                .orElseThrow(() -> new BusinessException("NCF sequence exhausted or not active for type " + type
+                        + " and year " + year + ". Please contact DGII for new sequence."));
+        log.debug("Leased NCF range {}-{} for {}", lease.getRangeStart(), lease.getRangeEnd(), type);
+
+        return new HeldLease(lease, LongStream.rangeClosed(lease.getRangeStart(), lease.getRangeEnd()).boxed().toList(),
+                confirmedAt);
+    }
+
+    // A lease not confirmed recently may have been adopted while this node was paused or cut off, so
+    // its ownership is claimed again before issuing. A number whose invoice rolled back may have
+    // been lost to a unique violation on ncf, when another node issued it from the same range; it is
+    // only issued again if no committed invoice carries it.
+    private boolean issuable(Pool pool, HeldLease lease, long number) {
+        if (lease.dropped) {
+            return false;
+        }
+        boolean returned = lease.returned.remove(number);
+        if (!returned && System.nanoTime() - lease.confirmedAt < staleAfter.toNanos() / 2) {
+            return true;
+        }
+
+        long confirmedAt = System.nanoTime();
+        boolean owned;
+        boolean taken;
+        try {
+            owned = !allocationPool.execute(status -> leaseRepository.heartbeat(nodeId, List.of(lease.id))).isEmpty();
+            taken = owned && returned && allocationPool.execute(status -> leaseRepository.isIssued(lease.ncf(number)));
+        } catch (RuntimeException e) {
+            // Undecided, so the number stays in the pool for the next caller to check
+            if (returned) {
+                lease.returned.add(number);
+            }
+            pool.available.put(number, lease);
+            throw e;
+        }
+
+        if (!owned) {
+            drop(pool, lease);
+            return false;
+        }
+        lease.confirmedAt = confirmedAt;
+        if (taken) {
+            log.warn("NCF {} is on another node's invoice; not issuing it again", lease.ncf(number));
+            settle(pool, lease);
+            return false;
+        }
+        return true;
+    }
+
+    // The number counts as issued once the invoice commits; on rollback it is offered again unless
+    // the lease has been given up meanwhile
+    private void track(Pool pool, HeldLease lease, long number) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            settle(pool, lease);
+            lease.inFlight.decrementAndGet();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    settle(pool, lease);
+                } else if (!lease.dropped) {
+                    lease.returned.add(number);
+                    pool.available.put(number, lease);
+                }
+                lease.inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    // Runs after the invoice commits, so it does no I/O; the next heartbeat marks the lease
+    // COMPLETED. A lease left ACTIVE by a crash before then has no unissued numbers and is
+    // completed by whichever node adopts it.
+    private void settle(Pool pool, HeldLease lease) {
+        if (lease.outstanding.decrementAndGet() == 0) {
+            pool.held.remove(lease);
+            if (!lease.dropped) {
+                settled.add(lease.id);
+            }
+        }
+    }
+
+    // Stops issuing from a lease this node no longer owns or is giving back; its remaining numbers
+    // belong to whichever node holds the lease now
+    private void drop(Pool pool, HeldLease lease) {
+        lease.dropped = true;
+        pool.held.remove(lease);
+        lease.numbers.forEach(number -> pool.available.remove(number, lease));
+    }
+
+    // Renewing ownership does not depend on completing settled leases, which may fail on its own
+    @Scheduled(fixedDelayString = "${app.ncf.heartbeat-interval:PT1M}")
+    public void heartbeat() {
+        renewLeases();
+        try {
+            completeSettled();
+        } catch (RuntimeException e) {
+            log.warn("Could not complete settled NCF leases: {}", e.getMessage());
+        }
+        refreshForecast();
+    }
+
+    private void renewLeases() {
+        Map<UUID, HeldLease> leases = new HashMap<>();
+        pools.values().forEach(pool -> pool.held.forEach(lease -> leases.put(lease.id, lease)));
+        if (leases.isEmpty()) {
+            return;
+        }
+
+        long confirmedAt = System.nanoTime();
+        Set<UUID> owned = allocationPool.execute(status -> leaseRepository.heartbeat(nodeId, leases.keySet()));
+        leases.values().forEach(lease -> {
+            if (owned.contains(lease.id)) {
+                lease.confirmedAt = confirmedAt;
+            } else {
+                log.warn("NCF lease {} was adopted by another node; dropping its unissued numbers", lease.id);
+                drop(pools.get(lease.type), lease);
+            }
+        });
+    }
+
+    private void completeSettled() {
+        List<UUID> leaseIds = new ArrayList<>();
+        UUID leaseId;
+        while ((leaseId = settled.poll()) != null) {
+            leaseIds.add(leaseId);
+        }
+        if (leaseIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            allocationPool.executeWithoutResult(() -> leaseIds.forEach(id -> leaseRepository.complete(id, nodeId)));
+        } catch (RuntimeException e) {
+            settled.addAll(leaseIds);
+            throw e;
+        }
+    }
+
+    private void refreshForecast() {
+        int year = LocalDate.now().getYear();
+        LocalDateTime since = LocalDateTime.now().minusDays(FORECAST_WINDOW_DAYS);
+
+        pools.forEach((type, pool) -> {
+            Optional<NCFSequence> sequence = sequenceRepository.findNCFSequenceByTypeAndYear(type, year);
+            if (sequence.isEmpty()) {
+                pool.remaining = 0;
+                pool.forecastDays = 0;
+                return;
+            }
+
+            long remaining = sequence.get().getMaxNumber() - sequence.get().getCurrentNumber();
+            double perDay = (double) invoiceRepository.countByNcfTypeSince(type, since) / FORECAST_WINDOW_DAYS;
+            pool.remaining = remaining;
+            pool.forecastDays = perDay > 0 ? remaining / perDay : Double.POSITIVE_INFINITY;
+        });
+    }
+
+    // Hand unissued numbers to other nodes right away instead of waiting for the lease to go stale.
+    // A lease is released only once no invoice of this node is still in flight with one of its
+    // numbers; one still busy after RELEASE_WAIT is left to go stale instead.
+    @PreDestroy
+    public void releaseLeases() {
+        closing = true;
+        List<HeldLease> releasing = new ArrayList<>();
+        pools.values().forEach(pool -> pool.held.forEach(lease -> {
+            drop(pool, lease);
+            releasing.add(lease);
+        }));
+
+        long deadline = System.nanoTime() + RELEASE_WAIT.toNanos();
+        while (releasing.stream().anyMatch(lease -> lease.inFlight.get() > 0) && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        try {
+            completeSettled();
+        } catch (RuntimeException e) {
+            log.warn("Could not complete settled NCF leases: {}", e.getMessage());
+        }
+
+        for (HeldLease lease : releasing) {
+            if (lease.inFlight.get() > 0) {
+                log.warn("NCF lease {} still has invoices in flight; leaving it to go stale", lease.id);
+                continue;
+            }
+            try {
+                allocationPool.executeWithoutResult(() -> leaseRepository.release(lease.id, nodeId));
+            } catch (RuntimeException e) {
+                log.warn("Could not release NCF lease {}: {}", lease.id, e.getMessage());
+            }
+        }
+    }
+
+    private static final class Pool {
+        private final ConcurrentSkipListMap<Long, HeldLease> available = new ConcurrentSkipListMap<>();
+        private final Set<HeldLease> held = ConcurrentHashMap.newKeySet();
+        private final ReentrantLock refillLock = new ReentrantLock();
+        private volatile double remaining = Double.NaN;
+        private volatile double forecastDays = Double.NaN;
+
+        private double utilization() {
+            long leased = held.stream().mapToLong(lease -> lease.numbers.size()).sum();
+            return leased == 0 ? 0 : (double) (leased - available.size()) / leased;
+        }
+    }
+
+    private static final class HeldLease {
+        private final UUID id;
+        private final Invoice.NCFType type;
+        private final String prefix;
+        private final List<Long> numbers;
+        private final AtomicInteger outstanding;
+        // Numbers handed out whose invoice has not committed or rolled back yet
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // Numbers back in the pool after a rollback, checked before they are issued again
+        private final Set<Long> returned = ConcurrentHashMap.newKeySet();
+        // System.nanoTime() when this node last confirmed it owns the lease
+        private volatile long confirmedAt;
+        private volatile boolean dropped;
+
+        private HeldLease(NCFLease lease, List<Long> numbers, long confirmedAt) {
+            this.id = lease.getId();
+            this.type = lease.getNcfType();
+            this.prefix = lease.getPrefix();
+            this.numbers = numbers;
+            this.outstanding = new AtomicInteger(numbers.size());
+            this.confirmedAt = confirmedAt;
+        }
+
+        private String ncf(long number) {
+            return String.format("%s%08d", prefix, number);
+        }
+    }
+}
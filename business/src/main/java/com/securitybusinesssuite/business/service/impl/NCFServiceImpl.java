@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -20,6 +21,7 @@ import java.time.LocalDate;
 public class NCFServiceImpl implements NCFService {
 
     private final SequenceRepository sequenceRepository;
+    private final NCFLeaseAllocator ncfLeaseAllocator;
 
     @Override
     @Transactional
@@ -29,30 +31,22 @@ public class NCFServiceImpl implements NCFService {
         }
 
         Invoice.NCFType ncfType = determineNCFType(client);
-        validateNCFAvailability(ncfType);
 
-        int currentYear = LocalDate.now().getYear();
-        NCFSequence sequence = sequenceRepository.findNCFSequenceByTypeAndYear(ncfType, currentYear)
-                .orElseThrow(() -> new BusinessException("NCF sequence not found for type " + ncfType + " and year " + currentYear));
-
-        // Increment sequence
-        sequence.setCurrentNumber(sequence.getCurrentNumber() + 1);
-
-        // Check if we've exceeded the maximum
-        if (sequence.getCurrentNumber() > sequence.getMaxNumber()) {
-            throw new BusinessException("NCF sequence exhausted for type " + ncfType + ". Maximum number reached: " + sequence.getMaxNumber());
-        }
-
-        // Save updated sequence
-        sequenceRepository.updateNCFSequence(sequence);
-
-        // Format NCF: B0100000001
-        String ncf = String.format("%s%08d", sequence.getPrefix(), sequence.getCurrentNumber());
+        // Taken from this node's leased range; availability is checked when a range is leased
+        String ncf = ncfLeaseAllocator.next(ncfType);
 
         log.info("Generated NCF: {} for client: {} ({})", ncf, client.getBusinessName(), client.getClientCode());
         return ncf;
     }
 
+    @Override
+    @Transactional
+    public List<String> generateNCFs(Invoice.NCFType type, int count) {
+        List<String> ncfs = ncfLeaseAllocator.next(type, count);
+        log.info("Generated {} NCFs of type {}: {} to {}", count, type, ncfs.get(0), ncfs.get(count - 1));
+        return ncfs;
+    }
+
     @Override
     public Invoice.NCFType determineNCFType(Client client) {
         if (client.getClientType() == Client.ClientType.CONSUMIDOR_FINAL) {
@@ -0,0 +1,61 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/impl/OverdueInvoiceSweeper.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.data.repository.InvoiceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+// Moves PENDING invoices past their due date to OVERDUE in chunked set-based updates. The dashboard
+// counters and monthly rollup follow through their invoice triggers. Runs on every node but only
+// the one holding the advisory lock does any work.
+@Slf4j
+@Component
+public class OverdueInvoiceSweeper {
+
+    private final InvoiceRepository invoiceRepository;
+    private final int chunkSize;
+    private final Counter swept;
+    private final Timer sweepTimer;
+
+    public OverdueInvoiceSweeper(InvoiceRepository invoiceRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.invoices.overdue-sweep.chunk-size:500}") int chunkSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.swept = Counter.builder("invoices.overdue.swept")
+                .description("Invoices moved from PENDING to OVERDUE by the sweeper")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("invoices.overdue.sweep")
+                .description("Duration of overdue sweeps that held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.invoices.overdue-sweep.cron:0 5 * * * *}")
+    public void sweep() {
+        long started = System.nanoTime();
+        OptionalLong marked = invoiceRepository.markOverdue(LocalDate.now(), chunkSize);
+        if (marked.isEmpty()) {
+            log.debug("Overdue sweep skipped; another node holds the lock");
+            return;
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        sweepTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        swept.increment(marked.getAsLong());
+
+        if (marked.getAsLong() > 0) {
+            double seconds = Math.max(elapsedNanos / 1e9, 1e-3);
+            log.info("Marked {} invoices overdue in {} ms ({} rows/s)", marked.getAsLong(),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(marked.getAsLong() / seconds));
+        }
+    }
+}
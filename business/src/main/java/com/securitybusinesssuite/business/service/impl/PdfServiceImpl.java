@@ -0,0 +1,70 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/service/impl/PdfServiceImpl.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptResponseDTO;
+import com.securitybusinesssuite.business.exception.BusinessException;
+import com.securitybusinesssuite.business.pdf.InvoicePdfTemplate;
+import com.securitybusinesssuite.business.pdf.PdfDiskCache;
+import com.securitybusinesssuite.business.pdf.PdfDocument;
+import com.securitybusinesssuite.business.pdf.PdfRenderingExecutor;
+import com.securitybusinesssuite.business.pdf.ReceiptPdfTemplate;
+import com.securitybusinesssuite.business.service.InvoiceService;
+import com.securitybusinesssuite.business.service.PdfService;
+import com.securitybusinesssuite.business.service.ReceiptService;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.repository.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PdfServiceImpl implements PdfService {
+
+    private static final String INVOICE = "invoice";
+    private static final String RECEIPT = "receipt";
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceService invoiceService;
+    private final ReceiptService receiptService;
+    private final InvoicePdfTemplate invoiceTemplate;
+    private final ReceiptPdfTemplate receiptTemplate;
+    private final PdfRenderingExecutor renderingExecutor;
+    private final PdfDiskCache diskCache;
+
+    @Override
+    public PdfDocument invoicePdf(UUID invoiceId) {
+        Invoice invoice = invoiceRepository.findById(invoiceId)
+                .orElseThrow(() -> new BusinessException("Invoice not found"));
+        String fileName = invoice.getInvoiceNumber() + ".pdf";
+
+        // Paid and cancelled invoices no longer change, so their rendered output is reused
+        boolean immutable = invoice.getStatus() == Invoice.InvoiceStatus.PAID
+                || invoice.getStatus() == Invoice.InvoiceStatus.CANCELLED;
+        if (immutable) {
+            Optional<PdfDocument.Content> cached = diskCache.find(INVOICE, invoiceId, invoice.getUpdatedAt());
+            if (cached.isPresent()) {
+                return new PdfDocument(fileName, cached.get());
+            }
+        }
+
+        InvoiceResponseDTO data = invoiceService.getInvoice(invoiceId);
+        PdfDocument.Content render = renderingExecutor.reserve(INVOICE, out -> invoiceTemplate.render(data, out));
+
+        return new PdfDocument(fileName, immutable
+                ? diskCache.storing(INVOICE, invoiceId, data.getUpdatedAt(), render)
+                : render);
+    }
+
+    @Override
+    public PdfDocument receiptPdf(UUID receiptId) {
+        ReceiptResponseDTO data = receiptService.getReceipt(receiptId);
+        PdfDocument.Content render = renderingExecutor.reserve(RECEIPT, out -> receiptTemplate.render(data, out));
+        return new PdfDocument(data.getReceiptNumber() + ".pdf", render);
+    }
+}
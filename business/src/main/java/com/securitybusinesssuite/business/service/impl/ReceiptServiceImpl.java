@@ -5,28 +5,39 @@ import com.securitybusinesssuite.business.dto.*;
 import com.securitybusinesssuite.business.dto.receiptrequest.CreateReceiptRequestDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.PaymentAllocationDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.UpdateReceiptRequestDTO;
+import com.securitybusinesssuite.business.dto.receiptresponse.BulkVoidResultDTO;
 import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptAllocationResponseDTO;
 import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptResponseDTO;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 import com.securitybusinesssuite.business.dto.search.ReceiptSearchCriteria;
 import com.securitybusinesssuite.business.exception.BusinessException;
+import com.securitybusinesssuite.business.service.DocumentNumberService;
 import com.securitybusinesssuite.business.service.InvoiceService;
 import com.securitybusinesssuite.business.service.ReceiptService;
 import com.securitybusinesssuite.business.service.ValidationService;
+import com.securitybusinesssuite.business.util.BatchLoader;
+import com.securitybusinesssuite.business.util.SearchCursor;
 import com.securitybusinesssuite.data.entity.*;
 import com.securitybusinesssuite.data.repository.*;
+import com.securitybusinesssuite.data.repository.search.ReceiptSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,9 +50,13 @@ public class ReceiptServiceImpl implements ReceiptService {
     private final ReceiptAllocationRepository receiptAllocationRepository;
     private final ClientRepository clientRepository;
     private final InvoiceRepository invoiceRepository;
-    private final SequenceRepository sequenceRepository;
+    private final DocumentNumberService documentNumberService;
     private final ValidationService validationService;
     private final InvoiceService invoiceService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.receipts.bulk-void.chunk-size:500}")
+    private int bulkVoidChunkSize;
 
     @Override
     @Transactional
@@ -135,9 +150,11 @@ public class ReceiptServiceImpl implements ReceiptService {
         Client client = clientRepository.findById(receipt.getClientId()).orElse(null);
         List<ReceiptAllocation> allocations = receiptAllocationRepository.findByReceiptId(id);
 
-        // Load invoices for allocations
+        // Load invoices for allocations in one query
+        BatchLoader<UUID, Invoice> invoices = BatchLoader.byKey(invoiceRepository::findAllByIds, Invoice::getId)
+                .queueAll(allocations, ReceiptAllocation::getInvoiceId);
         for (ReceiptAllocation allocation : allocations) {
-            Invoice invoice = invoiceRepository.findById(allocation.getInvoiceId()).orElse(null);
+            Invoice invoice = invoices.get(allocation.getInvoiceId());
             if (invoice != null && client != null) {
                 invoice.setClient(client);
             }
@@ -152,47 +169,57 @@ public class ReceiptServiceImpl implements ReceiptService {
 
     @Override
     public PagedResponseDTO<ReceiptResponseDTO> searchReceipts(ReceiptSearchCriteria criteria) {
-        // Create sort
-        Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection()) ?
-                Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort sort = Sort.by(direction, criteria.getSortBy());
+        if (criteria.getCursor() != null) {
+            return SearchCursor.page(criteria.getCursor(), criteria.getSize(),
+                    (position, limit) -> receiptRepository.findByFilters(toFilter(criteria), toSort(criteria), position, limit),
+                    this::toResponseDTOsWithDetails);
+        }
 
         // Create pageable
-        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), sort);
+        Pageable pageable = PageRequest.of(criteria.getPage(), criteria.getSize(), toSort(criteria));
 
         // Execute search
-        Page<Receipt> receiptPage = receiptRepository.findByFilters(
-                criteria.getClientId(),
-                criteria.getStatus(),
-                criteria.getFromDate(),
-                criteria.getToDate(),
-                pageable
-        );
+        SearchPage<Receipt> receiptPage = receiptRepository.findByFilters(toFilter(criteria), pageable,
+                TotalMode.of(criteria.isIncludeTotal(), criteria.isEstimateTotal()));
 
-        // Convert to DTOs with client information
-        List<ReceiptResponseDTO> receiptDTOs = receiptPage.getContent().stream()
-                .map(receipt -> {
-                    Client client = clientRepository.findById(receipt.getClientId()).orElse(null);
-                    receipt.setClient(client);
+        return PagedResponseDTO.fromSearchPage(receiptPage, toResponseDTOsWithDetails(receiptPage.getContent()));
+    }
 
-                    List<ReceiptAllocation> allocations = receiptAllocationRepository.findByReceiptId(receipt.getId());
-                    receipt.setAllocations(allocations);
+    // The repository accepts only its whitelisted sort properties
+    private Sort toSort(ReceiptSearchCriteria criteria) {
+        if (criteria.getSortBy() == null || criteria.getSortBy().isBlank()) {
+            return Sort.unsorted();
+        }
+        Sort.Direction direction = "ASC".equalsIgnoreCase(criteria.getSortDirection()) ?
+                Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, criteria.getSortBy());
+    }
+
+    private ReceiptSearchFilter toFilter(ReceiptSearchCriteria criteria) {
+        return ReceiptSearchFilter.builder()
+                .clientId(criteria.getClientId())
+                .status(criteria.getStatus())
+                .fromDate(criteria.getFromDate())
+                .toDate(criteria.getToDate())
+                .build();
+    }
+
+    // Convert to DTOs with client information
+    private List<ReceiptResponseDTO> toResponseDTOsWithDetails(List<Receipt> receipts) {
+        // One lookup per related entity type instead of two per receipt
+        BatchLoader<UUID, Client> clients = BatchLoader.byKey(clientRepository::findAllByIds, Client::getId)
+                .queueAll(receipts, Receipt::getClientId);
+        BatchLoader<UUID, List<ReceiptAllocation>> allocations = receiptAllocationLoader()
+                .queueAll(receipts, Receipt::getId);
+
+        return receipts.stream()
+                .map(receipt -> {
+                    receipt.setClient(clients.get(receipt.getClientId()));
+                    receipt.setAllocations(allocations.get(receipt.getId()));
 
                     return convertToResponseDTO(receipt);
                 })
                 .collect(Collectors.toList());
-
-        return PagedResponseDTO.<ReceiptResponseDTO>builder()
-                .content(receiptDTOs)
-                .page(receiptPage.getNumber())
-                .size(receiptPage.getSize())
-                .totalElements(receiptPage.getTotalElements())
-                .totalPages(receiptPage.getTotalPages())
-                .first(receiptPage.isFirst())
-                .last(receiptPage.isLast())
-                .hasNext(receiptPage.hasNext())
-                .hasPrevious(receiptPage.hasPrevious())
-                .build();
     }
 
     @Override
@@ -205,34 +232,61 @@ public class ReceiptServiceImpl implements ReceiptService {
             throw new BusinessException("Receipt is already voided");
         }
 
-        // Remove all allocations and update invoice payment status
-        List<ReceiptAllocation> allocations = receiptAllocationRepository.findByReceiptId(id);
-        for (ReceiptAllocation allocation : allocations) {
-            // Update invoice paid amount
-            Invoice invoice = invoiceRepository.findById(allocation.getInvoiceId())
-                    .orElseThrow(() -> new BusinessException("Invoice not found"));
+        if (voidChunk(List.of(id), reason, updatedBy).voided().isEmpty()) {
+            throw new BusinessException("Receipt is already voided");
+        }
 
-            BigDecimal newPaidAmount = invoice.getPaidAmount().subtract(allocation.getAllocatedAmount());
-            BigDecimal newBalance = invoice.getTotalAmount().subtract(newPaidAmount);
+        log.info("Receipt voided: {} - {}", receipt.getReceiptNumber(), reason);
+    }
 
-            invoice.setPaidAmount(newPaidAmount);
-            invoice.setBalanceDue(newBalance);
+    @Override
+    public BulkVoidResultDTO bulkVoidReceipts(List<UUID> ids, String reason, UUID updatedBy) {
+        List<UUID> requested = ids.stream().distinct().toList();
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        int chunkSize = Math.max(1, bulkVoidChunkSize);
+
+        List<UUID> voided = new ArrayList<>();
+        List<UUID> failed = new ArrayList<>();
+        int invoicesUpdated = 0;
+
+        for (int from = 0; from < requested.size(); from += chunkSize) {
+            List<UUID> chunk = requested.subList(from, Math.min(from + chunkSize, requested.size()));
+            try {
+                VoidedChunk result = chunkTransaction.execute(status -> voidChunk(chunk, reason, updatedBy));
+                voided.addAll(result.voided());
+                invoicesUpdated += result.invoicesUpdated();
+            } catch (RuntimeException e) {
+                log.error("Bulk void of {} receipts failed", chunk.size(), e);
+                failed.addAll(chunk);
+            }
+        }
 
-            invoiceRepository.update(invoice);
-            invoiceService.updateInvoicePaymentStatus(invoice.getId());
+        Set<UUID> settled = new HashSet<>(voided);
+        settled.addAll(failed);
+        List<UUID> skipped = requested.stream().filter(id -> !settled.contains(id)).toList();
 
-            // Delete allocation
-            receiptAllocationRepository.deleteById(allocation.getId());
-        }
+        log.info("Bulk voided {} of {} receipts, {} invoices updated - {}",
+                voided.size(), requested.size(), invoicesUpdated, reason);
 
-        // Update receipt status
-        receipt.setStatus(Receipt.ReceiptStatus.VOIDED);
-        receipt.setNotes(receipt.getNotes() != null ?
-                receipt.getNotes() + "\n\nVoided: " + reason : "Voided: " + reason);
-        receipt.setUpdatedBy(updatedBy);
+        return BulkVoidResultDTO.builder()
+                .requested(requested.size())
+                .voided(voided.size())
+                .invoicesUpdated(invoicesUpdated)
+                .voidedIds(voided)
+                .skippedIds(skipped)
+                .failedIds(failed)
+                .build();
+    }
 
-        receiptRepository.update(receipt);
-        log.info("Receipt voided: {} - {}", receipt.getReceiptNumber(), reason);
+    // Voids the receipts that are still active, then removes their allocations and reverses the
+    // paid amount, balance and status of every affected invoice in one set-based statement
+    private VoidedChunk voidChunk(List<UUID> ids, String reason, UUID updatedBy) {
+        List<UUID> voided = receiptRepository.voidAll(ids, reason, updatedBy);
+        int invoicesUpdated = receiptAllocationRepository.reverseByReceiptIds(voided, updatedBy);
+        return new VoidedChunk(voided, invoicesUpdated);
+    }
+
+    private record VoidedChunk(List<UUID> voided, int invoicesUpdated) {
     }
 
     @Override
@@ -304,6 +358,9 @@ public class ReceiptServiceImpl implements ReceiptService {
             invoiceService.updateInvoicePaymentStatus(invoice.getId());
         }
 
+        // Surface constraint violations here rather than at commit
+        invoiceRepository.flush();
+
         log.info("Payment allocated for receipt: {} to {} invoices", receipt.getReceiptNumber(), allocations.size());
     }
 
@@ -320,36 +377,24 @@ public class ReceiptServiceImpl implements ReceiptService {
     public List<ReceiptResponseDTO> getClientReceipts(UUID clientId) {
         List<Receipt> receipts = receiptRepository.findByClientId(clientId);
         Client client = clientRepository.findById(clientId).orElse(null);
+        BatchLoader<UUID, List<ReceiptAllocation>> allocations = receiptAllocationLoader()
+                .queueAll(receipts, Receipt::getId);
 
         return receipts.stream()
                 .map(receipt -> {
                     receipt.setClient(client);
-                    List<ReceiptAllocation> allocations = receiptAllocationRepository.findByReceiptId(receipt.getId());
-                    receipt.setAllocations(allocations);
+                    receipt.setAllocations(allocations.get(receipt.getId()));
                     return convertToResponseDTO(receipt);
                 })
                 .collect(Collectors.toList());
     }
 
-    @Transactional
     public String generateReceiptNumber() {
-        int currentYear = LocalDate.now().getYear();
-
-        ReceiptSequence sequence = sequenceRepository.findReceiptSequenceByYear(currentYear)
-                .orElseGet(() -> {
-                    ReceiptSequence newSequence = ReceiptSequence.builder()
-                            .currentNumber(0)
-                            .prefix("REC")
-                            .year(currentYear)
-                            .build();
-                    return sequenceRepository.saveReceiptSequence(newSequence);
-                });
-
-        sequence.setCurrentNumber(sequence.getCurrentNumber() + 1);
-        sequenceRepository.updateReceiptSequence(sequence);
-
-        // Format: REC-2024-0001
-        return String.format("%s-%d-%04d", sequence.getPrefix(), currentYear, sequence.getCurrentNumber());
+        return documentNumberService.nextReceiptNumber();
+    }
+
+    private BatchLoader<UUID, List<ReceiptAllocation>> receiptAllocationLoader() {
+        return BatchLoader.grouped(receiptAllocationRepository::findAllByReceiptIds, ReceiptAllocation::getReceiptId);
     }
 
     private ReceiptResponseDTO convertToResponseDTO(Receipt receipt) {
@@ -0,0 +1,63 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/util/BatchLoader.java
+package com.securitybusinesssuite.business.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Collects related keys while a response is assembled, then resolves every pending key with one
+// query. Create one per request; it holds what it loaded and is not meant to be shared.
+public final class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> fetcher;
+    private final V missing;
+    private final Set<K> pending = new LinkedHashSet<>();
+    private final Map<K, V> loaded = new HashMap<>();
+
+    private BatchLoader(Function<Collection<K>, Map<K, V>> fetcher, V missing) {
+        this.fetcher = fetcher;
+        this.missing = missing;
+    }
+
+    // One value per key, e.g. the client of each invoice; unknown keys resolve to null
+    public static <K, V> BatchLoader<K, V> byKey(Function<Collection<K>, List<V>> fetcher, Function<V, K> keyOf) {
+        return new BatchLoader<>(keys -> fetcher.apply(keys).stream()
+                .collect(Collectors.toMap(keyOf, Function.identity(), (first, second) -> first)), null);
+    }
+
+    // All values sharing a key, e.g. the allocations of each receipt; unknown keys resolve to an empty list
+    public static <K, V> BatchLoader<K, List<V>> grouped(Function<Collection<K>, List<V>> fetcher, Function<V, K> keyOf) {
+        return new BatchLoader<>(keys -> fetcher.apply(keys).stream()
+                .collect(Collectors.groupingBy(keyOf)), List.of());
+    }
+
+    public <T> BatchLoader<K, V> queueAll(Collection<T> sources, Function<T, K> keyOf) {
+        for (T source : sources) {
+            K key = keyOf.apply(source);
+            if (key != null && !loaded.containsKey(key)) {
+                pending.add(key);
+            }
+        }
+        return this;
+    }
+
+    public V get(K key) {
+        if (key == null) {
+            return missing;
+        }
+        if (!loaded.containsKey(key)) {
+            pending.add(key);
+        }
+        if (!pending.isEmpty()) {
+            Map<K, V> fetched = fetcher.apply(List.copyOf(pending));
+            pending.forEach(pendingKey -> loaded.put(pendingKey, fetched.getOrDefault(pendingKey, missing)));
+            pending.clear();
+        }
+        return loaded.get(key);
+    }
+}
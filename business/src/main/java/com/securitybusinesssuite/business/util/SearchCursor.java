@@ -0,0 +1,105 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/util/SearchCursor.java
+package com.securitybusinesssuite.business.util;
+
+import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
+import com.securitybusinesssuite.business.exception.BusinessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Opaque, URL-safe encoding of a keyset scroll position: name=type:value pairs, base64url encoded
+public final class SearchCursor {
+
+    private SearchCursor() {
+    }
+
+    @FunctionalInterface
+    public interface WindowQuery<E> {
+        Window<E> find(KeysetScrollPosition position, int limit);
+    }
+
+    // Serves one page of a cursor search. The query seeks past the (sort value, id) position in the
+    // cursor instead of skipping rows, so every page costs the same; an empty cursor starts at the top.
+    public static <E, T> PagedResponseDTO<T> page(String cursor, int size, WindowQuery<E> query,
+                                                  Function<List<E>, List<T>> toContent) {
+        Window<E> window = query.find(decode(cursor), size);
+        return PagedResponseDTO.fromWindow(window, toContent.apply(window.getContent()), size,
+                cursor == null || cursor.isBlank());
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        StringJoiner joiner = new StringJoiner("&");
+        keyset.getKeys().forEach((name, value) -> joiner.add(name + "=" + encodeValue(value)));
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> keys = new LinkedHashMap<>();
+
+            for (String pair : decoded.split("&")) {
+                int equals = pair.indexOf('=');
+                int colon = pair.indexOf(':', equals);
+                String type = pair.substring(equals + 1, colon);
+                String value = URLDecoder.decode(pair.substring(colon + 1), StandardCharsets.UTF_8);
+                keys.put(pair.substring(0, equals), decodeValue(type, value));
+            }
+
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    private static String encodeValue(Object value) {
+        String type;
+        if (value instanceof LocalDateTime) {
+            type = "t";
+        } else if (value instanceof LocalDate) {
+            type = "d";
+        } else if (value instanceof BigDecimal) {
+            type = "n";
+        } else if (value instanceof UUID) {
+            type = "u";
+        } else {
+            type = "s";
+        }
+        return type + ":" + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static Object decodeValue(String type, String value) {
+        return switch (type) {
+            case "t" -> LocalDateTime.parse(value);
+            case "d" -> LocalDate.parse(value);
+            case "n" -> new BigDecimal(value);
+            case "u" -> UUID.fromString(value);
+            case "s" -> value;
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+}
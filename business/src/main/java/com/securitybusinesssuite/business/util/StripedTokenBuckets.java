@@ -0,0 +1,74 @@
+// path: business/src/main/java/com/securitybusinesssuite/business/util/StripedTokenBuckets.java
+package com.securitybusinesssuite.business.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Token buckets keyed by hash into a fixed number of stripes, so memory stays bounded however many
+// keys are seen; keys that share a stripe share a bucket. Each stripe is one long holding the last
+// refill time (upper 40 bits, ms since creation) and the tokens left (lower 24 bits, in
+// thousandths of a token), updated with compare-and-set instead of locks. A stripe never used
+// holds 0 and counts as full.
+public final class StripedTokenBuckets {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long UNITS_PER_TOKEN = 1000;
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private final long capacity;
+    private final long refillPerMinute;
+    private final LongSupplier clock;
+    private final long createdAt;
+
+    public StripedTokenBuckets(int stripes, long capacity, long refillPerMinute) {
+        this(stripes, capacity, refillPerMinute, System::currentTimeMillis);
+    }
+
+    StripedTokenBuckets(int stripes, long capacity, long refillPerMinute, LongSupplier clock) {
+        if (capacity * UNITS_PER_TOKEN > TOKEN_MASK || capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("Unsupported bucket capacity " + capacity + " or refill " + refillPerMinute);
+        }
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = capacity * UNITS_PER_TOKEN;
+        this.refillPerMinute = refillPerMinute;
+        this.clock = clock;
+        this.createdAt = clock.getAsLong();
+    }
+
+    public boolean tryAcquire(String key) {
+        int index = spread(key.hashCode()) & mask;
+        // +1 so a used stripe never goes back to the unused state 0
+        long now = clock.getAsLong() - createdAt + 1;
+
+        while (true) {
+            long state = stripes.get(index);
+            long tokens;
+            if (state == 0) {
+                tokens = capacity;
+            } else {
+                long elapsed = now - (state >>> TOKEN_BITS);
+                tokens = Math.min(capacity, (state & TOKEN_MASK) + Math.max(0, elapsed) * refillPerMinute / 60);
+            }
+
+            if (tokens < UNITS_PER_TOKEN) {
+                return false;
+            }
+            if (stripes.compareAndSet(index, state, (now << TOKEN_BITS) | (tokens - UNITS_PER_TOKEN))) {
+                return true;
+            }
+        }
+    }
+
+    // Seconds until one token is back, for Retry-After
+    public long secondsPerToken() {
+        return Math.max(1, (60 + refillPerMinute - 1) / refillPerMinute);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,117 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/pdf/PdfDiskCacheTest.java
+package com.securitybusinesssuite.business.pdf;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfDiskCacheTest {
+
+    private static final LocalDateTime VERSION = LocalDateTime.of(2026, 1, 15, 10, 30);
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void servesAStoredRender() throws IOException {
+        PdfDiskCache cache = cache(DataSize.ofMegabytes(1), Duration.ofDays(30));
+        UUID id = UUID.randomUUID();
+        store(cache, id, 100);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.find("invoice", id, VERSION).orElseThrow().writeTo(out);
+        assertThat(out.size()).isEqualTo(100);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedOnceOverTheSizeLimit() throws IOException {
+        PdfDiskCache cache = cache(DataSize.ofBytes(250), Duration.ofDays(30));
+        UUID oldest = UUID.randomUUID();
+        UUID used = UUID.randomUUID();
+        store(cache, oldest, 100);
+        store(cache, used, 100);
+        age(oldest, Duration.ofHours(2));
+        age(used, Duration.ofHours(3));
+
+        // A hit makes the older file the most recently used
+        assertThat(cache.find("invoice", used, VERSION)).isPresent();
+        store(cache, UUID.randomUUID(), 100);
+
+        assertThat(cache.find("invoice", oldest, VERSION)).isEmpty();
+        assertThat(cache.find("invoice", used, VERSION)).isPresent();
+        assertThat(directorySize()).isLessThanOrEqualTo(250);
+        assertThat(meterRegistry.counter("pdf.cache.evicted").count()).isEqualTo(1);
+    }
+
+    @Test
+    void sweepRemovesFilesUnusedForMaxAgeAndAbandonedTempFiles() throws IOException {
+        PdfDiskCache cache = cache(DataSize.ofMegabytes(1), Duration.ofDays(7));
+        UUID stale = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        store(cache, stale, 100);
+        store(cache, fresh, 100);
+        age(stale, Duration.ofDays(8));
+        Path temp = Files.createTempFile(directory, "invoice-" + UUID.randomUUID() + "-", ".tmp");
+        Files.setLastModifiedTime(temp, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path rendering = Files.createTempFile(directory, "invoice-" + UUID.randomUUID() + "-", ".tmp");
+
+        cache.sweep();
+
+        assertThat(cache.find("invoice", stale, VERSION)).isEmpty();
+        assertThat(cache.find("invoice", fresh, VERSION)).isPresent();
+        assertThat(temp).doesNotExist();
+        assertThat(rendering).exists();
+    }
+
+    @Test
+    void keepsOnlyTheLatestVersion() throws IOException {
+        PdfDiskCache cache = cache(DataSize.ofMegabytes(1), Duration.ofDays(30));
+        UUID id = UUID.randomUUID();
+        store(cache, id, 100);
+        cache.storing("invoice", id, VERSION.plusMinutes(1), out -> out.write(new byte[50]))
+                .writeTo(new ByteArrayOutputStream());
+
+        assertThat(cache.find("invoice", id, VERSION)).isEmpty();
+        assertThat(cache.find("invoice", id, VERSION.plusMinutes(1))).isPresent();
+    }
+
+    private PdfDiskCache cache(DataSize maxSize, Duration maxAge) {
+        return new PdfDiskCache(meterRegistry, true, directory, maxSize, maxAge);
+    }
+
+    private static void store(PdfDiskCache cache, UUID id, int bytes) throws IOException {
+        byte[] pdf = new byte[bytes];
+        Arrays.fill(pdf, (byte) '%');
+        cache.storing("invoice", id, VERSION, out -> out.write(pdf)).writeTo(new ByteArrayOutputStream());
+    }
+
+    private void age(UUID id, Duration age) throws IOException {
+        try (var files = Files.newDirectoryStream(directory, "invoice-" + id + "-*.pdf")) {
+            for (Path file : files) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+            }
+        }
+    }
+
+    private long directorySize() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/pdf/PdfRenderingExecutorTest.java
+package com.securitybusinesssuite.business.pdf;
+
+import com.securitybusinesssuite.business.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfRenderingExecutorTest {
+
+    private static final PdfDocument.Content HELLO = out -> out.write("%PDF-hello".getBytes());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PdfRenderingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectsOnceEverySlotIsReserved() {
+        executor = new PdfRenderingExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5));
+        executor.reserve("invoice", HELLO);
+        executor.reserve("invoice", HELLO);
+
+        assertThatThrownBy(() -> executor.reserve("invoice", HELLO)).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void writingTheContentFreesItsSlot() throws IOException {
+        executor = new PdfRenderingExecutor(meterRegistry, 1, 0, Duration.ofSeconds(5));
+        for (int i = 0; i < 3; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            executor.reserve("invoice", HELLO).writeTo(out);
+            assertThat(out.toString()).isEqualTo("%PDF-hello");
+        }
+    }
+
+    @Test
+    void slotOfContentNeverWrittenExpires() throws Exception {
+        executor = new PdfRenderingExecutor(meterRegistry, 1, 0, Duration.ofMillis(200));
+        PdfDocument.Content abandoned = executor.reserve("invoice", HELLO);
+        assertThatThrownBy(() -> executor.reserve("invoice", HELLO)).isInstanceOf(TooManyRequestsException.class);
+
+        // The response was never written, e.g. the client disconnected before streaming started
+        awaitSlot();
+        assertThat(meterRegistry.counter("pdf.render.expired").count()).isEqualTo(1);
+        assertThatThrownBy(() -> abandoned.writeTo(new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void timedOutRenderFailsAtItsNextWriteAndThenFreesItsSlot() throws Exception {
+        executor = new PdfRenderingExecutor(meterRegistry, 1, 0, Duration.ofMillis(200));
+        CountDownLatch timedOut = new CountDownLatch(1);
+        AtomicReference<Throwable> renderFailure = new AtomicReference<>();
+        CountDownLatch renderEnded = new CountDownLatch(1);
+        PdfDocument.Content slow = out -> {
+            try {
+                out.write('%');
+                // A long layout step that ignores interrupts, like OpenPDF
+                timedOut.await(5, TimeUnit.SECONDS);
+                out.write("PDF-late".getBytes());
+            } catch (IOException e) {
+                renderFailure.set(e);
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                renderEnded.countDown();
+            }
+        };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfDocument.Content content = executor.reserve("invoice", slow);
+        assertThatThrownBy(() -> content.writeTo(out)).isInstanceOf(IOException.class).hasMessageContaining("timed out");
+
+        // The render still holds its thread, so the slot is still taken
+        assertThatThrownBy(() -> executor.reserve("invoice", HELLO)).isInstanceOf(TooManyRequestsException.class);
+
+        timedOut.countDown();
+        assertThat(renderEnded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(renderFailure.get()).isInstanceOf(IOException.class);
+        assertThat(out.toString()).isEqualTo("%");
+        awaitSlot();
+    }
+
+    @Test
+    void renderQueuedPastTheTimeoutIsSkipped() throws Exception {
+        executor = new PdfRenderingExecutor(meterRegistry, 1, 1, Duration.ofMillis(200));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PdfDocument.Content blocking = out -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        PdfDocument.Content first = executor.reserve("invoice", blocking);
+        Thread firstWriter = new Thread(() -> {
+            try {
+                first.writeTo(OutputStream.nullOutputStream());
+            } catch (IOException ignored) {
+                // times out; the render ends when released
+            }
+        });
+        firstWriter.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch rendered = new CountDownLatch(1);
+        PdfDocument.Content queued = executor.reserve("receipt", out -> rendered.countDown());
+        assertThatThrownBy(() -> queued.writeTo(OutputStream.nullOutputStream()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("timed out");
+
+        release.countDown();
+        firstWriter.join(5000);
+        awaitSlot();
+        assertThat(rendered.getCount()).isEqualTo(1);
+    }
+
+    // Waits until a reservation succeeds again, writing it so the slot is handed back
+    private void awaitSlot() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                executor.reserve("invoice", HELLO).writeTo(OutputStream.nullOutputStream());
+                return;
+            } catch (TooManyRequestsException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(20);
+            }
+        }
+    }
+}
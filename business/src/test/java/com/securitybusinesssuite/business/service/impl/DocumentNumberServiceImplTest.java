@@ -0,0 +1,115 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/service/impl/DocumentNumberServiceImplTest.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.data.config.AllocationPool;
+import com.securitybusinesssuite.data.repository.impl.SequenceRepositoryImpl;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentNumberServiceImplTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int TRANSACTIONS_PER_THREAD = 25;
+
+    private HikariDataSource mainDataSource;
+    private AllocationPool allocationPool;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        mainDataSource = TestDatabase.dataSource(POOL_SIZE);
+        allocationPool = new AllocationPool(TestDatabase.dataSource(2));
+        jdbcTemplate = new JdbcTemplate(mainDataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(mainDataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocationPool.close();
+        mainDataSource.close();
+    }
+
+    // 1 = gapless numbers in the caller's transaction, 7 = hi/lo blocks refilled on the allocation pool
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7})
+    void concurrentTransactionsNeverShareANumber(int blockSize) throws Exception {
+        DocumentNumberServiceImpl service = service(blockSize);
+        Set<String> invoiceNumbers = ConcurrentHashMap.newKeySet();
+        Set<String> receiptNumbers = ConcurrentHashMap.newKeySet();
+        Set<String> clientCodes = ConcurrentHashMap.newKeySet();
+
+        // Every thread holds a main pool connection whenever it asks for a number
+        CyclicBarrier start = new CyclicBarrier(POOL_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+        List<Future<Integer>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    int issued = 0;
+                    for (int t = 0; t < TRANSACTIONS_PER_THREAD; t++) {
+                        List<String> batch = transaction.execute(status -> {
+                            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                            receiptNumbers.add(service.nextReceiptNumber());
+                            clientCodes.add(service.nextClientCode());
+                            List<String> numbers = new ArrayList<>(service.nextInvoiceNumbers(3));
+                            numbers.add(service.nextInvoiceNumber());
+                            return numbers;
+                        });
+                        invoiceNumbers.addAll(batch);
+                        issued += batch.size();
+                    }
+                    return issued;
+                }));
+            }
+
+            int issued = 0;
+            for (Future<Integer> worker : workers) {
+                issued += worker.get(60, TimeUnit.SECONDS);
+            }
+            assertThat(invoiceNumbers).hasSize(issued);
+            assertThat(receiptNumbers).hasSize(POOL_SIZE * TRANSACTIONS_PER_THREAD);
+            assertThat(clientCodes).hasSize(POOL_SIZE * TRANSACTIONS_PER_THREAD);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void gaplessModeReleasesTheNumberOfARolledBackTransaction() {
+        DocumentNumberServiceImpl service = service(1);
+
+        String rolledBack = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return service.nextInvoiceNumber();
+        });
+        String next = transaction.execute(status -> service.nextInvoiceNumber());
+
+        assertThat(next).isEqualTo(rolledBack);
+    }
+
+    private DocumentNumberServiceImpl service(int blockSize) {
+        return new DocumentNumberServiceImpl(new SequenceRepositoryImpl(jdbcTemplate, allocationPool), blockSize);
+    }
+}
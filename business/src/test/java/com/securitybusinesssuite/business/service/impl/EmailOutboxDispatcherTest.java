@@ -0,0 +1,269 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/service/impl/EmailOutboxDispatcherTest.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.icegreen.greenmail.Managers;
+import com.icegreen.greenmail.imap.ImapHostManager;
+import com.icegreen.greenmail.mail.MailAddress;
+import com.icegreen.greenmail.server.AbstractServer;
+import com.icegreen.greenmail.smtp.SmtpManager;
+import com.icegreen.greenmail.smtp.SmtpState;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.securitybusinesssuite.data.repository.impl.EmailOutboxRepositoryImpl;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import jakarta.mail.Message;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the dispatcher against the real outbox table and an in-process SMTP server that can refuse
+// chosen recipients the way a relay answers RCPT TO with a 550
+class EmailOutboxDispatcherTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate = TestDatabase.jdbcTemplate();
+    private final EmailOutboxRepositoryImpl outboxRepository = new EmailOutboxRepositoryImpl(jdbcTemplate);
+    private RejectingGreenMail smtp;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM email_outbox");
+        smtp = new RejectingGreenMail(ServerSetupTest.SMTP.dynamicPort());
+        smtp.start();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.getSmtp().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtp.stop();
+    }
+
+    @Test
+    void sendsEveryDueMessageAcrossBatches() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(outboxRepository.enqueue("client" + i + "@example.com", "Invoice " + i, "Body " + i));
+        }
+
+        dispatcher(3).dispatch();
+
+        assertThat(recipients()).containsExactlyInAnyOrder(
+                "client0@example.com", "client1@example.com", "client2@example.com", "client3@example.com",
+                "client4@example.com", "client5@example.com", "client6@example.com");
+        for (UUID id : ids) {
+            assertThat(row(id)).containsEntry("status", "SENT").containsEntry("attempts", 1);
+        }
+        MimeMessage first = Arrays.stream(smtp.getReceivedMessages())
+                .filter(message -> subject(message).equals("Invoice 0"))
+                .findFirst().orElseThrow();
+        assertThat(first.getFrom()[0].toString()).isEqualTo("billing@example.com");
+    }
+
+    @Test
+    void rejectedRecipientIsRetriedWithBackoffWhileTheRestOfTheBatchIsSent() {
+        smtp.reject("gone@example.com");
+        UUID delivered = outboxRepository.enqueue("client@example.com", "Receipt", "Body");
+        UUID rejected = outboxRepository.enqueue("gone@example.com", "Receipt", "Body");
+
+        dispatcher(10).dispatch();
+
+        assertThat(recipients()).containsExactly("client@example.com");
+        assertThat(row(delivered)).containsEntry("status", "SENT");
+        Map<String, Object> retry = row(rejected);
+        assertThat(retry).containsEntry("status", "PENDING").containsEntry("attempts", 1);
+        assertThat((String) retry.get("last_error")).contains("550");
+        assertThat(secondsUntilNextAttempt(rejected)).isBetween(25L, 30L);
+
+        // The second failure waits twice as long
+        makeDue(rejected);
+        dispatcher(10).dispatch();
+        assertThat(row(rejected)).containsEntry("status", "PENDING").containsEntry("attempts", 2);
+        assertThat(secondsUntilNextAttempt(rejected)).isBetween(55L, 60L);
+
+        // Not due yet, so a poll leaves it alone
+        dispatcher(10).dispatch();
+        assertThat(row(rejected)).containsEntry("attempts", 2);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        smtp.reject("gone@example.com");
+        UUID id = outboxRepository.enqueue("gone@example.com", "Receipt", "Body");
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            makeDue(id);
+            dispatcher(10).dispatch();
+        }
+
+        assertThat(row(id)).containsEntry("status", "FAILED").containsEntry("attempts", MAX_ATTEMPTS);
+        makeDue(id);
+        dispatcher(10).dispatch();
+        assertThat(row(id)).containsEntry("attempts", MAX_ATTEMPTS);
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void unreachableServerReschedulesTheWholeBatch() {
+        UUID first = outboxRepository.enqueue("a@example.com", "Invoice", "Body");
+        UUID second = outboxRepository.enqueue("b@example.com", "Invoice", "Body");
+        smtp.stop();
+
+        dispatcher(10).dispatch();
+
+        for (UUID id : List.of(first, second)) {
+            assertThat(row(id)).containsEntry("status", "PENDING").containsEntry("attempts", 1);
+            assertThat(secondsUntilNextAttempt(id)).isBetween(25L, 30L);
+        }
+    }
+
+    @Test
+    void malformedAddressFailsAloneAndAtOnce() {
+        UUID malformed = outboxRepository.enqueue("not an address", "Invoice", "Body");
+        UUID valid = outboxRepository.enqueue("client@example.com", "Invoice", "Body");
+
+        dispatcher(10).dispatch();
+
+        assertThat(row(malformed)).containsEntry("status", "FAILED");
+        assertThat(row(valid)).containsEntry("status", "SENT");
+        assertThat(recipients()).containsExactly("client@example.com");
+    }
+
+    @Test
+    void concurrentDispatchersSendEachMessageOnce() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            outboxRepository.enqueue("client" + i + "@example.com", "Invoice " + i, "Body");
+        }
+
+        int dispatchers = 4;
+        CyclicBarrier start = new CyclicBarrier(dispatchers);
+        ExecutorService executor = Executors.newFixedThreadPool(dispatchers);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < dispatchers; i++) {
+                running.add(executor.submit(() -> {
+                    start.await(10, TimeUnit.SECONDS);
+                    dispatcher(3).dispatch();
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(smtp.getReceivedMessages()).hasSize(40);
+        assertThat(Arrays.stream(smtp.getReceivedMessages()).map(EmailOutboxDispatcherTest::subject).distinct())
+                .hasSize(40);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM email_outbox WHERE status = 'SENT' AND attempts = 1", Integer.class))
+                .isEqualTo(40);
+    }
+
+    private EmailOutboxDispatcher dispatcher(int batchSize) {
+        return new EmailOutboxDispatcher(outboxRepository, mailSender, "billing@example.com", batchSize,
+                MAX_ATTEMPTS, Duration.ofMinutes(2), INITIAL_BACKOFF, Duration.ofHours(1));
+    }
+
+    private List<String> recipients() {
+        List<String> recipients = new ArrayList<>();
+        for (MimeMessage message : smtp.getReceivedMessages()) {
+            try {
+                recipients.add(message.getRecipients(Message.RecipientType.TO)[0].toString());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return recipients;
+    }
+
+    private static String subject(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, Object> row(UUID id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT status::text AS status, attempts, last_error FROM email_outbox WHERE id = ?", id);
+    }
+
+    private long secondsUntilNextAttempt(UUID id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXTRACT(EPOCH FROM next_attempt_at - now())::bigint FROM email_outbox WHERE id = ?",
+                Long.class, id);
+    }
+
+    // Stands in for the backoff having elapsed
+    private void makeDue(UUID id) {
+        jdbcTemplate.update("UPDATE email_outbox SET next_attempt_at = now() WHERE id = ?", id);
+    }
+
+    // GreenMail accepts every recipient; this one answers RCPT TO for the listed addresses with a 550
+    private static final class RejectingGreenMail extends GreenMail {
+        private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+        private RejectingGreenMail(ServerSetup setup) {
+            super(setup);
+        }
+
+        void reject(String address) {
+            rejected.add(address);
+        }
+
+        @Override
+        protected Map<String, AbstractServer> createServices(ServerSetup[] config, Managers managers) {
+            SmtpManager smtpManager = new SmtpManager(managers.getImapHostManager(), managers.getUserManager()) {
+                @Override
+                public String checkRecipient(SmtpState state, MailAddress address) {
+                    return rejected.contains(address.getEmail()) ? "550 5.1.1 Mailbox unavailable" : null;
+                }
+            };
+            return super.createServices(config, new Managers() {
+                @Override
+                public SmtpManager getSmtpManager() {
+                    return smtpManager;
+                }
+
+                @Override
+                public UserManager getUserManager() {
+                    return managers.getUserManager();
+                }
+
+                @Override
+                public ImapHostManager getImapHostManager() {
+                    return managers.getImapHostManager();
+                }
+            });
+        }
+    }
+}
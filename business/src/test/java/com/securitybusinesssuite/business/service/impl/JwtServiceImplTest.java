@@ -0,0 +1,117 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/service/impl/JwtServiceImplTest.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.business.dto.JwtClaims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceImplTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long";
+
+    private final JwtServiceImpl jwtService = new JwtServiceImpl(SECRET, 900, 604800);
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void parsesItsOwnAccessToken() {
+        String token = jwtService.generateAccessToken(userId, "user@example.com");
+
+        JwtClaims claims = jwtService.parse(token, JwtClaims.ACCESS).orElseThrow();
+
+        assertThat(claims.getUserId()).isEqualTo(userId);
+        assertThat(claims.getEmail()).isEqualTo("user@example.com");
+        assertThat(claims.getType()).isEqualTo(JwtClaims.ACCESS);
+        assertThat(Duration.between(claims.getIssuedAt(), claims.getExpiresAt())).isEqualTo(Duration.ofMinutes(15));
+    }
+
+    @Test
+    void parsesItsOwnRefreshToken() {
+        String token = jwtService.generateRefreshToken(userId);
+
+        JwtClaims claims = jwtService.parse(token, JwtClaims.REFRESH).orElseThrow();
+
+        assertThat(claims.getUserId()).isEqualTo(userId);
+        assertThat(claims.getEmail()).isNull();
+    }
+
+    @Test
+    void rejectsTheOtherTokenType() {
+        String access = jwtService.generateAccessToken(userId, "user@example.com");
+        String refresh = jwtService.generateRefreshToken(userId);
+
+        assertThat(jwtService.parse(refresh, JwtClaims.ACCESS)).isEmpty();
+        assertThat(jwtService.parse(access, JwtClaims.REFRESH)).isEmpty();
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = jwtService.generateAccessToken(userId, "user@example.com");
+        String other = jwtService.generateAccessToken(UUID.randomUUID(), "admin@example.com");
+        String[] parts = token.split("\\.");
+
+        // The other user's claims under this token's signature
+        String forged = parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+
+        assertThat(jwtService.parse(forged, JwtClaims.ACCESS)).isEmpty();
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String token = jwtService.generateAccessToken(userId, "user@example.com");
+        int middle = token.lastIndexOf('.') + 10;
+        char replacement = token.charAt(middle) == 'A' ? 'B' : 'A';
+
+        String forged = token.substring(0, middle) + replacement + token.substring(middle + 1);
+
+        assertThat(jwtService.parse(forged, JwtClaims.ACCESS)).isEmpty();
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        JwtServiceImpl otherService = new JwtServiceImpl("another-secret-that-is-at-least-32-bytes", 900, 604800);
+
+        String token = otherService.generateAccessToken(userId, "user@example.com");
+
+        assertThat(jwtService.parse(token, JwtClaims.ACCESS)).isEmpty();
+    }
+
+    @Test
+    void rejectsAnUnsignedToken() {
+        String token = Jwts.builder()
+                .subject(userId.toString())
+                .claim("type", JwtClaims.ACCESS)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+
+        assertThat(jwtService.parse(token, JwtClaims.ACCESS)).isEmpty();
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        String token = Jwts.builder()
+                .subject(userId.toString())
+                .claim("email", "user@example.com")
+                .claim("type", JwtClaims.ACCESS)
+                .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThat(jwtService.parse(token, JwtClaims.ACCESS)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThat(jwtService.parse("", JwtClaims.ACCESS)).isEmpty();
+        assertThat(jwtService.parse("not-a-token", JwtClaims.ACCESS)).isEmpty();
+        assertThat(jwtService.parse("a.b.c", JwtClaims.ACCESS)).isEmpty();
+    }
+}
@@ -0,0 +1,239 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/service/impl/NCFLeaseAllocatorTest.java
+package com.securitybusinesssuite.business.service.impl;
+
+import com.securitybusinesssuite.data.config.AllocationPool;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.repository.InvoiceRepository;
+import com.securitybusinesssuite.data.repository.SequenceRepository;
+import com.securitybusinesssuite.data.repository.impl.NCFLeaseRepositoryImpl;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class NCFLeaseAllocatorTest {
+
+    private static final int POOL_SIZE = 4;
+
+    private static final String INSERT_INVOICE = """
+        INSERT INTO invoices (invoice_number, ncf, ncf_type, client_id, issue_date, due_date,
+                              subtotal, itbis_amount, total_amount, net_amount, balance_due, created_by)
+        VALUES (?, ?, 'B01'::ncf_type_enum, ?, CURRENT_DATE, CURRENT_DATE + 30, 100, 18, 118, 118, 118, ?)
+        """;
+
+    // Short enough for a test to let a lease go stale
+    private static final Duration STALE_AFTER = Duration.ofSeconds(1);
+
+    private HikariDataSource mainDataSource;
+    private AllocationPool allocationPool;
+    private NCFLeaseAllocator allocator;
+    private final List<NCFLeaseAllocator> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        retireActiveLeases();
+        mainDataSource = TestDatabase.dataSource(POOL_SIZE);
+        allocationPool = new AllocationPool(TestDatabase.dataSource(2));
+        // One number per lease, so every invoice has to refill
+        allocator = new NCFLeaseAllocator(new NCFLeaseRepositoryImpl(allocationPool), mock(SequenceRepository.class),
+                mock(InvoiceRepository.class), allocationPool, new SimpleMeterRegistry(), 1, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.releaseLeases();
+        nodes.forEach(NCFLeaseAllocator::releaseLeases);
+        allocationPool.close();
+        mainDataSource.close();
+    }
+
+    @Test
+    void createsAsManyFiscalInvoicesAtOnceAsTheMainPoolHasConnections() throws Exception {
+        UUID userId = TestDatabase.insertUser();
+        UUID clientId = TestDatabase.insertClient(userId);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(mainDataSource);
+        TransactionTemplate invoiceTransaction = new TransactionTemplate(new DataSourceTransactionManager(mainDataSource));
+
+        // Every transaction holds its main pool connection before any of them asks for a number
+        CyclicBarrier allConnectionsHeld = new CyclicBarrier(POOL_SIZE);
+        ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE);
+        List<Future<String>> invoices = new ArrayList<>();
+        try {
+            for (int i = 0; i < POOL_SIZE; i++) {
+                invoices.add(executor.submit(() -> invoiceTransaction.execute(status -> {
+                    jdbcTemplate.queryForObject("SELECT business_name FROM clients WHERE id = ?", String.class, clientId);
+                    await(allConnectionsHeld);
+
+                    String ncf = allocator.next(Invoice.NCFType.B01);
+                    jdbcTemplate.update(INSERT_INVOICE, "T-" + UUID.randomUUID(), ncf, clientId, userId);
+                    return ncf;
+                })));
+            }
+
+            Set<String> ncfs = new HashSet<>();
+            for (Future<String> invoice : invoices) {
+                ncfs.add(invoice.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(ncfs).hasSize(POOL_SIZE);
+            assertThat(TestDatabase.jdbcTemplate().queryForObject(
+                    "SELECT COUNT(*) FROM invoices WHERE client_id = ?", Long.class, clientId)).isEqualTo(POOL_SIZE);
+
+            // Committed invoices settle their leases without I/O; the heartbeat records them
+            allocator.heartbeat();
+            for (String ncf : ncfs) {
+                assertThat(TestDatabase.jdbcTemplate().queryForObject("""
+                        SELECT status::text FROM ncf_leases
+                        WHERE prefix = ? AND range_start = ? AND range_end = range_start
+                        """, String.class, ncf.substring(0, 3), Long.parseLong(ncf.substring(3)))).isEqualTo("COMPLETED");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void reissuesTheNumberOfARolledBackInvoice() {
+        TransactionTemplate invoiceTransaction = new TransactionTemplate(new DataSourceTransactionManager(mainDataSource));
+
+        String rolledBack = invoiceTransaction.execute(status -> {
+            status.setRollbackOnly();
+            return allocator.next(Invoice.NCFType.B02);
+        });
+        String reissued = invoiceTransaction.execute(status -> allocator.next(Invoice.NCFType.B02));
+
+        assertThat(reissued).isEqualTo(rolledBack);
+    }
+
+    @Test
+    void nodeThatMissedItsHeartbeatStopsIssuingFromTheAdoptedLease() throws Exception {
+        UUID userId = TestDatabase.insertUser();
+        UUID clientId = TestDatabase.insertClient(userId);
+        NCFLeaseAllocator paused = node();
+
+        String first = issueAndCommit(paused, clientId, userId);
+        // Paused past staleAfter with the rest of its lease still in its pool
+        Thread.sleep(STALE_AFTER.toMillis() * 3 / 2);
+
+        String adopted = issueAndCommit(node(), clientId, userId);
+        assertThat(adopted).isEqualTo(ncf(first, 1));
+
+        String resumed = issueAndCommit(paused, clientId, userId);
+        assertThat(resumed).isEqualTo(ncf(first, 3));
+        assertThat(TestDatabase.jdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM ncf_leases WHERE status = 'ACTIVE' AND node_id IS NOT NULL", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void numberLostToAUniqueViolationIsNotIssuedAgain() throws Exception {
+        UUID userId = TestDatabase.insertUser();
+        UUID clientId = TestDatabase.insertClient(userId);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(mainDataSource);
+        TransactionTemplate invoiceTransaction = new TransactionTemplate(new DataSourceTransactionManager(mainDataSource));
+        NCFLeaseAllocator stalled = node();
+        NCFLeaseAllocator adopter = node();
+
+        // The stalled node's invoice stays uncommitted until its lease has been adopted
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stalledInvoice = executor.submit(() -> invoiceTransaction.execute(status -> {
+                String ncf = stalled.next(Invoice.NCFType.B01);
+                jdbcTemplate.update(INSERT_INVOICE, "T-" + UUID.randomUUID(), ncf, clientId, userId);
+                inserted.countDown();
+                await(commit);
+                return ncf;
+            }));
+            assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(STALE_AFTER.toMillis() * 3 / 2);
+
+            // The adopter issues the same number, which the stalled node then commits first
+            assertThatThrownBy(() -> invoiceTransaction.executeWithoutResult(status -> {
+                String ncf = adopter.next(Invoice.NCFType.B01);
+                commit.countDown();
+                String committed = get(stalledInvoice);
+                assertThat(ncf).isEqualTo(committed);
+                jdbcTemplate.update(INSERT_INVOICE, "T-" + UUID.randomUUID(), ncf, clientId, userId);
+            })).isInstanceOf(DuplicateKeyException.class);
+
+            String next = issueAndCommit(adopter, clientId, userId);
+            assertThat(next).isEqualTo(ncf(stalledInvoice.get(), 1));
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private NCFLeaseAllocator node() {
+        NCFLeaseAllocator node = new NCFLeaseAllocator(new NCFLeaseRepositoryImpl(allocationPool),
+                mock(SequenceRepository.class), mock(InvoiceRepository.class), allocationPool,
+                new SimpleMeterRegistry(), 3, STALE_AFTER);
+        nodes.add(node);
+        return node;
+    }
+
+    private String issueAndCommit(NCFLeaseAllocator node, UUID clientId, UUID userId) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(mainDataSource);
+        return new TransactionTemplate(new DataSourceTransactionManager(mainDataSource)).execute(status -> {
+            String ncf = node.next(Invoice.NCFType.B01);
+            jdbcTemplate.update(INSERT_INVOICE, "T-" + UUID.randomUUID(), ncf, clientId, userId);
+            return ncf;
+        });
+    }
+
+    // Leases released by earlier tests would otherwise be adopted before a fresh range is cut
+    private static void retireActiveLeases() {
+        TestDatabase.jdbcTemplate().update("UPDATE ncf_leases SET status = 'COMPLETED' WHERE status = 'ACTIVE'");
+    }
+
+    private static String ncf(String base, int offset) {
+        return String.format("%s%08d", base.substring(0, 3), Long.parseLong(base.substring(3)) + offset);
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
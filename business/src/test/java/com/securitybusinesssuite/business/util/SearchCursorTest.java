@@ -0,0 +1,95 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/util/SearchCursorTest.java
+package com.securitybusinesssuite.business.util;
+
+import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
+import com.securitybusinesssuite.business.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCursorTest {
+
+    private record Row(LocalDateTime createdAt, UUID id) {
+    }
+
+    // Rows newest first, paged the way the repositories seek past (createdAt, id)
+    private final List<Row> rows = IntStream.range(0, 5)
+            .mapToObj(i -> new Row(LocalDateTime.of(2026, 1, 1, 12, 0).minusMinutes(i), UUID.randomUUID()))
+            .toList();
+    private final List<KeysetScrollPosition> seen = new ArrayList<>();
+
+    @Test
+    void emptyCursorStartsAtTheTop() {
+        PagedResponseDTO<String> page = SearchCursor.page("", 2, this::find, this::ids);
+
+        assertThat(seen).singleElement().satisfies(position -> assertThat(position.isInitial()).isTrue());
+        assertThat(page.getContent()).containsExactly(rows.get(0).id().toString(), rows.get(1).id().toString());
+        assertThat(page.isFirst()).isTrue();
+        assertThat(page.isHasPrevious()).isFalse();
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void nextCursorSeeksPastTheLastRow() {
+        List<String> ids = new ArrayList<>();
+        String cursor = "";
+        do {
+            PagedResponseDTO<String> page = SearchCursor.page(cursor, 2, this::find, this::ids);
+            assertThat(page.isFirst()).isEqualTo(cursor.isEmpty());
+            ids.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactlyElementsOf(rows.stream().map(row -> row.id().toString()).toList());
+        assertThat(seen).hasSize(3);
+        assertThat(seen.get(1).getKeys()).isEqualTo(Map.of("createdAt", rows.get(1).createdAt(), "id", rows.get(1).id()));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        PagedResponseDTO<String> page = SearchCursor.page("", 10, this::find, this::ids);
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void rejectsACursorItDidNotIssue() {
+        assertThatThrownBy(() -> SearchCursor.page("not-a-cursor!", 2, this::find, this::ids))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Invalid cursor");
+        assertThat(seen).isEmpty();
+    }
+
+    private Window<Row> find(KeysetScrollPosition position, int limit) {
+        seen.add(position);
+        int start = 0;
+        if (!position.isInitial()) {
+            UUID after = (UUID) position.getKeys().get("id");
+            while (!rows.get(start).id().equals(after)) {
+                start++;
+            }
+            start++;
+        }
+        List<Row> page = rows.subList(start, Math.min(start + limit, rows.size()));
+        return Window.from(page, i -> ScrollPosition.forward(Map.of(
+                        "createdAt", page.get(i).createdAt(), "id", page.get(i).id())),
+                start + limit < rows.size());
+    }
+
+    private List<String> ids(List<Row> page) {
+        return page.stream().map(row -> row.id().toString()).toList();
+    }
+}
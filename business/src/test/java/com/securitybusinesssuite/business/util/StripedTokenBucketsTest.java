@@ -0,0 +1,62 @@
+// path: business/src/test/java/com/securitybusinesssuite/business/util/StripedTokenBucketsTest.java
+package com.securitybusinesssuite.business.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void coldBucketStartsFull() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 5, 5, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(buckets.tryAcquire("203.0.113.7")).isTrue();
+        }
+        assertThat(buckets.tryAcquire("203.0.113.7")).isFalse();
+    }
+
+    @Test
+    void coldBucketStartsFullLongAfterCreation() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 30, 30, clock::get);
+        clock.addAndGet(3_600_000);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(buckets.tryAcquire("user@example.com")).isTrue();
+        }
+        assertThat(buckets.tryAcquire("user@example.com")).isFalse();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 2, 6, clock::get);
+        assertThat(buckets.tryAcquire("key")).isTrue();
+        assertThat(buckets.tryAcquire("key")).isTrue();
+        assertThat(buckets.tryAcquire("key")).isFalse();
+
+        // 6 per minute is one token every 10 seconds
+        clock.addAndGet(9_999);
+        assertThat(buckets.tryAcquire("key")).isFalse();
+        clock.addAndGet(1);
+        assertThat(buckets.tryAcquire("key")).isTrue();
+        assertThat(buckets.tryAcquire("key")).isFalse();
+        assertThat(buckets.secondsPerToken()).isEqualTo(10);
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(64, 3, 60, clock::get);
+        assertThat(buckets.tryAcquire("key")).isTrue();
+
+        clock.addAndGet(600_000);
+        for (int i = 0; i < 3; i++) {
+            assertThat(buckets.tryAcquire("key")).isTrue();
+        }
+        assertThat(buckets.tryAcquire("key")).isFalse();
+    }
+}
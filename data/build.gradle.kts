@@ -1,5 +1,6 @@
 // path: data/build.gradle.kts
 plugins {
+    `java-test-fixtures`
     id("org.springframework.boot") apply false
     id("io.spring.dependency-management")
 }
@@ -11,10 +12,20 @@ dependencies {
     implementation("org.flywaydb:flyway-database-postgresql")
     implementation("com.zaxxer:HikariCP")
     implementation("org.springframework.data:spring-data-commons")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
     compileOnly("org.projectlombok:lombok:1.18.34")
     annotationProcessor("org.projectlombok:lombok:1.18.34")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+
+    // Embedded PostgreSQL migrated with the application's scripts, shared with the other modules' tests
+    testFixturesApi("org.springframework.boot:spring-boot-starter-jdbc")
+    testFixturesImplementation("org.flywaydb:flyway-core")
+    testFixturesImplementation("org.flywaydb:flyway-database-postgresql")
+    testFixturesImplementation("org.postgresql:postgresql")
+    testFixturesImplementation("io.zonky.test:embedded-postgres:2.1.0")
+    testFixturesImplementation(platform("io.zonky.test.postgres:embedded-postgres-binaries-bom:16.4.0"))
 }
 
 dependencyManagement {
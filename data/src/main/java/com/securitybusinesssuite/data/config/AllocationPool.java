@@ -0,0 +1,47 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/config/AllocationPool.java
+package com.securitybusinesssuite.data.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// A few connections of their own for handing out document numbers and NCF leases. Allocation runs
+// in short transactions while the caller's transaction still holds a main pool connection; taking
+// both from the main pool deadlocks once every connection belongs to a caller waiting to allocate.
+// It is deliberately not a DataSource bean, so nothing else is wired to it by type.
+public class AllocationPool implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AllocationPool(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Statements on this pool must run inside execute(); outside it a connection taken while the
+    // caller's transaction is active stays bound to that transaction until it completes
+    public JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    // Runs and commits the work on this pool, suspending the caller's transaction meanwhile
+    public <T> T execute(TransactionCallback<T> action) {
+        return transactionTemplate.execute(action);
+    }
+
+    public void executeWithoutResult(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> action.run());
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -3,12 +3,15 @@ package com.securitybusinesssuite.data.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 @Configuration
 public class DataSourceConfig {
@@ -25,19 +28,74 @@ public class DataSourceConfig {
     @Value("${spring.datasource.hikari.maximum-pool-size:10}")
     private int maxPoolSize;
 
+    @Value("${app.datasource.allocation.pool-size:2}")
+    private int allocationPoolSize;
+
+    @Value("${app.datasource.concurrency-limit.enabled:false}")
+    private boolean concurrencyLimitEnabled;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long connectionTimeoutMs;
+
+    @Value("${app.datasource.concurrency-limit.acquire-timeout:PT20S}")
+    private Duration acquireTimeout;
+
     @Bean
     public DataSource dataSource() {
+        // Waiters queue on the fair semaphore and give up there; Hikari's longer timeout is left for
+        // a caller holding a permit while a connection is being opened or the database is down
+        if (concurrencyLimitEnabled && acquireTimeout.toMillis() >= connectionTimeoutMs) {
+            throw new IllegalStateException("app.datasource.concurrency-limit.acquire-timeout (" + acquireTimeout
+                    + ") must be shorter than spring.datasource.hikari.connection-timeout (" + connectionTimeoutMs + "ms)");
+        }
+
+        HikariConfig config = hikariConfig();
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(2);
+        // The driver sends a batch of INSERTs as multi-row INSERTs of up to 128 rows, which is what
+        // keeps the repositories' saveAll methods at a few statements however many rows they write
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+
+        HikariDataSource hikariDataSource = new HikariDataSource(config);
+        if (!concurrencyLimitEnabled) {
+            return hikariDataSource;
+        }
+        return new ConcurrencyLimitedDataSource(hikariDataSource, maxPoolSize, acquireTimeout);
+    }
+
+    // Not behind the concurrency limit: its callers already hold a permit for their main connection
+    @Bean(destroyMethod = "close")
+    public AllocationPool allocationPool() {
+        HikariConfig config = hikariConfig();
+        config.setPoolName("allocation");
+        config.setMaximumPoolSize(allocationPoolSize);
+        config.setMinimumIdle(1);
+        return new AllocationPool(new HikariDataSource(config));
+    }
+
+    private HikariConfig hikariConfig() {
         HikariConfig config = new HikariConfig();
         config.setJdbcUrl(jdbcUrl);
         config.setUsername(username);
         config.setPassword(password);
-        config.setMaximumPoolSize(maxPoolSize);
-        config.setMinimumIdle(2);
-        config.setConnectionTimeout(30000);
+        config.setConnectionTimeout(connectionTimeoutMs);
         config.setIdleTimeout(600000);
         config.setMaxLifetime(1800000);
+        return config;
+    }
 
-        return new HikariDataSource(config);
+    @Bean
+    public MeterBinder dataSourceConcurrencyLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource limited) {
+                Gauge.builder("db.connection.gate.waiting", limited, ConcurrencyLimitedDataSource::getWaitingCount)
+                        .description("Callers waiting for a database connection permit")
+                        .register(registry);
+                Gauge.builder("db.connection.gate.available", limited, ConcurrencyLimitedDataSource::getAvailablePermits)
+                        .description("Database connection permits not in use")
+                        .register(registry);
+            }
+        };
     }
 
     @Bean
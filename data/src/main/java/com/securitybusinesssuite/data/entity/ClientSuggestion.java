@@ -0,0 +1,23 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/ClientSuggestion.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// The few client columns a type-ahead lookup shows and matches on
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSuggestion {
+    private UUID id;
+    private String clientCode;
+    private String rnc;
+    private String businessName;
+    private Client.ClientType clientType;
+    private Client.ClientStatus status;
+}
@@ -0,0 +1,29 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/ClientSummary.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// The client columns list views show; address, services and contract terms load only with the full client
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSummary {
+    private UUID id;
+    private String clientCode;
+    private String rnc;
+    private Client.ClientType clientType;
+    private String businessName;
+    private String contactPerson;
+    private Client.BusinessSector businessSector;
+    private String phone;
+    private String email;
+    private Client.ClientStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,33 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/DashboardCounter.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardCounter {
+    private String counterKey;
+    private long count;
+    private BigDecimal amount;
+
+    // Keys written by the dashboard counter triggers (V7)
+    public static String clientStatusKey(Client.ClientStatus status) {
+        return "clients:status:" + status.name();
+    }
+
+    public static String invoiceStatusKey(Invoice.InvoiceStatus status) {
+        return "invoices:status:" + status.name();
+    }
+
+    public static String revenueKey(YearMonth month) {
+        return "revenue:" + month;
+    }
+}
@@ -1,19 +1,24 @@
 // path: data/src/main/java/com/securitybusinesssuite/data/entity/Invoice.java
 package com.securitybusinesssuite.data.entity;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Invoice {
@@ -34,10 +39,6 @@ public class Invoice {
     private BigDecimal balanceDue;
     private InvoiceStatus status;
     private String notes;
-    private String dgiiTrackId;
-    private String dgiiStatus;
-    private String ecfPayload; // JSON string
-    private String qrHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private UUID createdBy;
@@ -47,6 +48,23 @@ public class Invoice {
     private Client client;
     private List<InvoiceItem> items;
 
+    // e-CF data lives in invoice_ecf and is read on first access; null when none was issued
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private InvoiceEcf ecf;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Supplier<InvoiceEcf> ecfLoader;
+
+    public InvoiceEcf getEcf() {
+        if (ecf == null && ecfLoader != null) {
+            ecf = ecfLoader.get();
+            ecfLoader = null;
+        }
+        return ecf;
+    }
+
     public enum InvoiceType {
         CREDITO, CONTADO
     }
@@ -0,0 +1,25 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/InvoiceEcf.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An invoice's electronic (e-CF) document and its DGII submission state
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceEcf {
+    private UUID invoiceId;
+    private String dgiiTrackId;
+    private String dgiiStatus;
+    private String ecfPayload; // JSON string
+    private String qrHash;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -17,6 +17,7 @@ import java.util.UUID;
 public class InvoiceItem {
     private UUID id;
     private UUID invoiceId;
+    private Integer lineNo;
     private String serviceCode;
     private String description;
     private Client.SecurityService serviceType;
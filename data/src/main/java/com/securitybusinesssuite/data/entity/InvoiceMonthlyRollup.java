@@ -0,0 +1,25 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/InvoiceMonthlyRollup.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// A row of invoice_monthly_rollup, or a sum of rows where the grouped-away fields are null
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceMonthlyRollup {
+    private LocalDate month;
+    private Invoice.InvoiceStatus status;
+    private UUID clientId;
+    private Client.ClientType clientType;
+    private long invoiceCount;
+    private BigDecimal totalAmount;
+}
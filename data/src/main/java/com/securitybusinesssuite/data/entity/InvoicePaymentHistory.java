@@ -0,0 +1,45 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/InvoicePaymentHistory.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// The receipts applied to one invoice in payment order, with running totals computed in SQL
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicePaymentHistory {
+    private UUID invoiceId;
+    private String invoiceNumber;
+    private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal balanceDue;
+    private Invoice.InvoiceStatus status;
+    private List<Payment> payments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payment {
+        private UUID allocationId;
+        private UUID receiptId;
+        private String receiptNumber;
+        private LocalDate receiptDate;
+        private Client.PaymentMethod paymentMethod;
+        private String referenceNumber;
+        private BigDecimal amount;
+        private LocalDateTime allocatedAt;
+        private BigDecimal paidToDate;
+        private BigDecimal balanceAfter;
+    }
+}
@@ -0,0 +1,37 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/InvoiceSummary.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// The invoice columns list views show; notes and the e-CF payload load only with the full invoice
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSummary {
+    private UUID id;
+    private String invoiceNumber;
+    private String ncf;
+    private Invoice.NCFType ncfType;
+    private UUID clientId;
+    private LocalDate issueDate;
+    private LocalDate dueDate;
+    private Invoice.InvoiceType invoiceType;
+    private BigDecimal subtotal;
+    private BigDecimal itbisAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal totalAmount;
+    private BigDecimal netAmount;
+    private BigDecimal paidAmount;
+    private BigDecimal balanceDue;
+    private Invoice.InvoiceStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/entity/NCFLease.java
+package com.securitybusinesssuite.data.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NCFLease {
+    private UUID id;
+    private Invoice.NCFType ncfType;
+    private String prefix;
+    private Integer year;
+    private Long rangeStart;
+    private Long rangeEnd;
+    private String nodeId;
+    private LeaseStatus status;
+    private LocalDateTime leasedAt;
+    private LocalDateTime heartbeatAt;
+
+    public enum LeaseStatus {
+        ACTIVE, COMPLETED
+    }
+}
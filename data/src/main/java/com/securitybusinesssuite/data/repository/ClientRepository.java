@@ -2,9 +2,18 @@
 package com.securitybusinesssuite.data.repository;
 
 import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.ClientSuggestion;
+import com.securitybusinesssuite.data.entity.ClientSummary;
+import com.securitybusinesssuite.data.repository.search.ClientSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,14 +22,16 @@ public interface ClientRepository {
     Client save(Client client);
     Client update(Client client);
     Optional<Client> findById(UUID id);
+    List<Client> findAllByIds(Collection<UUID> ids);
     Optional<Client> findByClientCode(String clientCode);
     Optional<Client> findByRnc(String rnc);
     List<Client> findByBusinessNameContaining(String businessName);
+    List<ClientSuggestion> findAllSuggestions();
     List<Client> findByStatus(Client.ClientStatus status);
     List<Client> findByClientType(Client.ClientType clientType);
     Page<Client> findAll(Pageable pageable);
-    Page<Client> findByFilters(String businessName, Client.ClientType clientType,
-                               Client.ClientStatus status, Client.BusinessSector sector, Pageable pageable);
+    SearchPage<ClientSummary> findByFilters(ClientSearchFilter filter, Pageable pageable, TotalMode totalMode);
+    Window<ClientSummary> findByFilters(ClientSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit);
     boolean existsByRnc(String rnc);
     boolean existsByClientCode(String clientCode);
     long countByStatus(Client.ClientStatus status);
@@ -0,0 +1,12 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/DashboardCounterRepository.java
+package com.securitybusinesssuite.data.repository;
+
+import com.securitybusinesssuite.data.entity.DashboardCounter;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface DashboardCounterRepository {
+    Map<String, DashboardCounter> findByKeys(Collection<String> counterKeys);
+    int reconcile();
+}
@@ -0,0 +1,17 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/EmailOutboxRepository.java
+package com.securitybusinesssuite.data.repository;
+
+import com.securitybusinesssuite.data.entity.EmailOutboxMessage;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository {
+    UUID enqueue(String recipient, String subject, String body);
+    List<EmailOutboxMessage> claimBatch(int limit, Duration lease);
+    void markSent(Collection<UUID> ids);
+    void markRetry(UUID id, Duration delay, String error);
+    void markFailed(UUID id, String error);
+}
@@ -0,0 +1,13 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/InvoiceEcfRepository.java
+package com.securitybusinesssuite.data.repository;
+
+import com.securitybusinesssuite.data.entity.InvoiceEcf;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface InvoiceEcfRepository {
+    InvoiceEcf save(InvoiceEcf ecf);
+    Optional<InvoiceEcf> findByInvoiceId(UUID invoiceId);
+    void updateDgiiStatus(UUID invoiceId, String dgiiTrackId, String dgiiStatus);
+}
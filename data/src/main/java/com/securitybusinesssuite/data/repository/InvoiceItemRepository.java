@@ -8,6 +8,8 @@ import java.util.UUID;
 
 public interface InvoiceItemRepository {
     InvoiceItem save(InvoiceItem item);
+    List<InvoiceItem> saveAll(List<InvoiceItem> items);
+    List<InvoiceItem> replaceAll(UUID invoiceId, List<InvoiceItem> items);
     InvoiceItem update(InvoiceItem item);
     Optional<InvoiceItem> findById(UUID id);
     List<InvoiceItem> findByInvoiceId(UUID invoiceId);
@@ -0,0 +1,17 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/InvoiceMonthlyRollupRepository.java
+package com.securitybusinesssuite.data.repository;
+
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoiceMonthlyRollup;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface InvoiceMonthlyRollupRepository {
+    List<InvoiceMonthlyRollup> sumByMonth(YearMonth from, YearMonth to, Collection<Invoice.InvoiceStatus> statuses, UUID clientId);
+    List<InvoiceMonthlyRollup> sumByStatus(YearMonth from, YearMonth to, UUID clientId);
+    List<InvoiceMonthlyRollup> sumByClientType(YearMonth from, YearMonth to, Collection<Invoice.InvoiceStatus> statuses);
+    int reconcile();
+}
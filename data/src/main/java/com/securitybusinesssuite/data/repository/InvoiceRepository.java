@@ -2,32 +2,50 @@
 package com.securitybusinesssuite.data.repository;
 
 import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoiceSummary;
+import com.securitybusinesssuite.data.repository.search.InvoiceSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 public interface InvoiceRepository {
     Invoice save(Invoice invoice);
+    List<Invoice> saveAll(List<Invoice> invoices);
     Invoice update(Invoice invoice);
     Optional<Invoice> findById(UUID id);
+    List<Invoice> findAllByIds(Collection<UUID> ids);
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     Optional<Invoice> findByNcf(String ncf);
-    List<Invoice> findByClientId(UUID clientId);
+    List<InvoiceSummary> findSummariesByClientId(UUID clientId);
     List<Invoice> findByStatus(Invoice.InvoiceStatus status);
     List<Invoice> findByStatusAndDueDateBefore(Invoice.InvoiceStatus status, LocalDate date);
-    List<Invoice> findOverdueInvoices();
+    List<InvoiceSummary> findOverdueSummaries();
     Page<Invoice> findAll(Pageable pageable);
-    Page<Invoice> findByFilters(UUID clientId, Invoice.InvoiceStatus status,
-                                LocalDate fromDate, LocalDate toDate,
-                                BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
+    SearchPage<InvoiceSummary> findByFilters(InvoiceSearchFilter filter, Pageable pageable, TotalMode totalMode);
+    Window<InvoiceSummary> findByFilters(InvoiceSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit);
     boolean existsByInvoiceNumber(String invoiceNumber);
     boolean existsByNcf(String ncf);
     BigDecimal getTotalByClientAndStatus(UUID clientId, Invoice.InvoiceStatus status);
     long countByStatus(Invoice.InvoiceStatus status);
+    long countByNcfTypeSince(Invoice.NCFType ncfType, LocalDateTime since);
+    OptionalLong markOverdue(LocalDate today, int chunkSize);
     void deleteById(UUID id);
+
+    // Writes changes held back for the current transaction now, so constraint violations surface
+    // at the caller instead of at commit; a no-op where updates are written immediately
+    default void flush() {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/NCFLeaseRepository.java
+package com.securitybusinesssuite.data.repository;
+
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.NCFLease;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Statements run on the allocation pool; callers wrap them in AllocationPool#execute
+public interface NCFLeaseRepository {
+    // Advances the active ncf_sequences row by up to size numbers and records the range as a lease
+    Optional<NCFLease> createLease(Invoice.NCFType type, int year, int size, String nodeId);
+    // Claims one ACTIVE lease that was released or whose node stopped heartbeating
+    Optional<NCFLease> adoptStaleLease(Invoice.NCFType type, int year, String nodeId, Duration staleAfter);
+    List<Long> findUnusedNumbers(NCFLease lease);
+    // Whether a committed invoice carries the NCF
+    boolean isIssued(String ncf);
+    // Complete, release and heartbeat do nothing to a lease nodeId no longer owns
+    void complete(UUID leaseId, String nodeId);
+    void release(UUID leaseId, String nodeId);
+    // Renews the given leases and returns the ids of those nodeId still owns
+    Set<UUID> heartbeat(String nodeId, Collection<UUID> leaseIds);
+}
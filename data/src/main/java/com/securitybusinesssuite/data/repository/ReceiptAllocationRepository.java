@@ -1,8 +1,10 @@
 // path: data/src/main/java/com/securitybusinesssuite/data/repository/ReceiptAllocationRepository.java
 package com.securitybusinesssuite.data.repository;
 
+import com.securitybusinesssuite.data.entity.InvoicePaymentHistory;
 import com.securitybusinesssuite.data.entity.ReceiptAllocation;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,9 +13,12 @@ public interface ReceiptAllocationRepository {
     ReceiptAllocation save(ReceiptAllocation allocation);
     Optional<ReceiptAllocation> findById(UUID id);
     List<ReceiptAllocation> findByReceiptId(UUID receiptId);
+    List<ReceiptAllocation> findAllByReceiptIds(Collection<UUID> receiptIds);
     List<ReceiptAllocation> findByInvoiceId(UUID invoiceId);
+    Optional<InvoicePaymentHistory> findPaymentHistory(UUID invoiceId);
     BigDecimal getTotalAllocatedByReceiptId(UUID receiptId);
     BigDecimal getTotalAllocatedByInvoiceId(UUID invoiceId);
     void deleteById(UUID id);
     void deleteByReceiptId(UUID receiptId);
+    int reverseByReceiptIds(Collection<UUID> receiptIds, UUID updatedBy);
 }
@@ -2,11 +2,17 @@
 package com.securitybusinesssuite.data.repository;
 
 import com.securitybusinesssuite.data.entity.Receipt;
+import com.securitybusinesssuite.data.repository.search.ReceiptSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,13 +20,14 @@ import java.util.UUID;
 public interface ReceiptRepository {
     Receipt save(Receipt receipt);
     Receipt update(Receipt receipt);
+    List<UUID> voidAll(Collection<UUID> ids, String reason, UUID updatedBy);
     Optional<Receipt> findById(UUID id);
     Optional<Receipt> findByReceiptNumber(String receiptNumber);
     List<Receipt> findByClientId(UUID clientId);
     List<Receipt> findByStatus(Receipt.ReceiptStatus status);
     Page<Receipt> findAll(Pageable pageable);
-    Page<Receipt> findByFilters(UUID clientId, Receipt.ReceiptStatus status,
-                                LocalDate fromDate, LocalDate toDate, Pageable pageable);
+    SearchPage<Receipt> findByFilters(ReceiptSearchFilter filter, Pageable pageable, TotalMode totalMode);
+    Window<Receipt> findByFilters(ReceiptSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit);
     boolean existsByReceiptNumber(String receiptNumber);
     BigDecimal getTotalByClientId(UUID clientId);
     void deleteById(UUID id);
@@ -4,6 +4,8 @@ package com.securitybusinesssuite.data.repository;
 import com.securitybusinesssuite.data.entity.*;
 import java.util.Optional;
 
+// increment* joins the caller's transaction, so a rollback releases the numbers; reserve* commits
+// at once on the allocation pool, so the numbers stay taken whatever the caller does
 public interface SequenceRepository {
     // NCF Sequences
     Optional<NCFSequence> findNCFSequenceByTypeAndYear(Invoice.NCFType type, int year);
@@ -14,14 +16,20 @@ public interface SequenceRepository {
     Optional<ClientSequence> findClientSequenceByYear(int year);
     ClientSequence saveClientSequence(ClientSequence sequence);
     ClientSequence updateClientSequence(ClientSequence sequence);
+    ClientSequence incrementClientSequence(int year, int count);
+    ClientSequence reserveClientSequence(int year, int count);
 
     // Invoice Sequences
     Optional<InvoiceSequence> findInvoiceSequenceByYear(int year);
     InvoiceSequence saveInvoiceSequence(InvoiceSequence sequence);
     InvoiceSequence updateInvoiceSequence(InvoiceSequence sequence);
+    InvoiceSequence incrementInvoiceSequence(int year, int count);
+    InvoiceSequence reserveInvoiceSequence(int year, int count);
 
     // Receipt Sequences
     Optional<ReceiptSequence> findReceiptSequenceByYear(int year);
     ReceiptSequence saveReceiptSequence(ReceiptSequence sequence);
     ReceiptSequence updateReceiptSequence(ReceiptSequence sequence);
+    ReceiptSequence incrementReceiptSequence(int year, int count);
+    ReceiptSequence reserveReceiptSequence(int year, int count);
 }
\ No newline at end of file
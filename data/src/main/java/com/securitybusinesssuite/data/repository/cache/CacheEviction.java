@@ -0,0 +1,79 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/cache/CacheEviction.java
+package com.securitybusinesssuite.data.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final class CacheEviction {
+
+    private CacheEviction() {
+    }
+
+    // Evicts now, and again once the surrounding transaction ends: a reader that loaded the
+    // pre-commit row in the meantime must not keep it, and a rollback must not leave a new value
+    static <K> void evict(Cache<K, ?> cache, K key) {
+        cache.invalidate(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            writtenKeys(cache, true).add(key);
+        }
+    }
+
+    // Keys the current transaction has written through this cache. Loading one of them would put
+    // the uncommitted row in front of every other thread, so callers read those from the database.
+    static <K> Set<K> writtenKeys(Cache<K, ?> cache) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Set.of();
+        }
+        return writtenKeys(cache, false);
+    }
+
+    static <K> boolean isWritten(Cache<K, ?> cache, K key) {
+        return writtenKeys(cache).contains(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> Set<K> writtenKeys(Cache<K, ?> cache, boolean create) {
+        WrittenKeys<K> written = (WrittenKeys<K>) TransactionSynchronizationManager.getResource(cache);
+        if (written == null) {
+            if (!create) {
+                return Set.of();
+            }
+            written = new WrittenKeys<>(cache);
+            TransactionSynchronizationManager.bindResource(cache, written);
+            TransactionSynchronizationManager.registerSynchronization(written);
+        }
+        return written.keys;
+    }
+
+    // Bound to the transaction like a connection holder, so a REQUIRES_NEW transaction keeps its own set
+    private static final class WrittenKeys<K> implements TransactionSynchronization {
+
+        private final Cache<K, ?> cache;
+        private final Set<K> keys = new HashSet<>();
+
+        private WrittenKeys(Cache<K, ?> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(cache);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(cache, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+            cache.invalidateAll(keys);
+        }
+    }
+}
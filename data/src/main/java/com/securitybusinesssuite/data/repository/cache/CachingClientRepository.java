@@ -0,0 +1,173 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/cache/CachingClientRepository.java
+package com.securitybusinesssuite.data.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.ClientSuggestion;
+import com.securitybusinesssuite.data.entity.ClientSummary;
+import com.securitybusinesssuite.data.repository.ClientRepository;
+import com.securitybusinesssuite.data.repository.impl.ClientRepositoryImpl;
+import com.securitybusinesssuite.data.repository.search.ClientSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Caches clients by id in front of ClientRepositoryImpl. Writes through this repository evict the
+// entry, and the writing transaction reads it from the database until it ends; other nodes see
+// changes once their entry expires. Callers get copies, since services mutate the entities they load.
+@Primary
+@Repository
+public class CachingClientRepository implements ClientRepository {
+
+    private final ClientRepositoryImpl delegate;
+    private final Cache<UUID, Client> cache;
+
+    public CachingClientRepository(ClientRepositoryImpl delegate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.cache.clients.maximum-size:10000}") long maximumSize,
+                                   @Value("${app.cache.clients.ttl:PT5M}") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "clients");
+    }
+
+    @Override
+    public Client save(Client client) {
+        Client saved = delegate.save(client);
+        CacheEviction.evict(cache, saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Client update(Client client) {
+        CacheEviction.evict(cache, client.getId());
+        return delegate.update(client);
+    }
+
+    @Override
+    public Optional<Client> findById(UUID id) {
+        if (CacheEviction.isWritten(cache, id)) {
+            return delegate.findById(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> delegate.findById(key).orElse(null)))
+                .map(CachingClientRepository::copy);
+    }
+
+    @Override
+    public List<Client> findAllByIds(Collection<UUID> ids) {
+        Set<UUID> written = CacheEviction.writtenKeys(cache);
+        List<UUID> uncommitted = ids.stream().filter(written::contains).toList();
+        Collection<UUID> cacheable = uncommitted.isEmpty() ? ids : ids.stream().filter(id -> !written.contains(id)).toList();
+
+        Map<UUID, Client> clients = cache.getAll(cacheable, missing -> delegate.findAllByIds(toList(missing)).stream()
+                .collect(Collectors.toMap(Client::getId, Function.identity())));
+        List<Client> result = clients.values().stream().map(CachingClientRepository::copy).collect(Collectors.toList());
+        if (!uncommitted.isEmpty()) {
+            result.addAll(delegate.findAllByIds(uncommitted));
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Client> findByClientCode(String clientCode) {
+        return delegate.findByClientCode(clientCode);
+    }
+
+    @Override
+    public Optional<Client> findByRnc(String rnc) {
+        return delegate.findByRnc(rnc);
+    }
+
+    @Override
+    public List<Client> findByBusinessNameContaining(String businessName) {
+        return delegate.findByBusinessNameContaining(businessName);
+    }
+
+    @Override
+    public List<ClientSuggestion> findAllSuggestions() {
+        return delegate.findAllSuggestions();
+    }
+
+    @Override
+    public List<Client> findByStatus(Client.ClientStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Client> findByClientType(Client.ClientType clientType) {
+        return delegate.findByClientType(clientType);
+    }
+
+    @Override
+    public Page<Client> findAll(Pageable pageable) {
+        return delegate.findAll(pageable);
+    }
+
+    @Override
+    public SearchPage<ClientSummary> findByFilters(ClientSearchFilter filter, Pageable pageable, TotalMode totalMode) {
+        return delegate.findByFilters(filter, pageable, totalMode);
+    }
+
+    @Override
+    public Window<ClientSummary> findByFilters(ClientSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit) {
+        return delegate.findByFilters(filter, sort, position, limit);
+    }
+
+    @Override
+    public boolean existsByRnc(String rnc) {
+        return delegate.existsByRnc(rnc);
+    }
+
+    @Override
+    public boolean existsByClientCode(String clientCode) {
+        return delegate.existsByClientCode(clientCode);
+    }
+
+    @Override
+    public long countByStatus(Client.ClientStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        CacheEviction.evict(cache, id);
+        delegate.deleteById(id);
+    }
+
+    private static Client copy(Client client) {
+        return client.toBuilder()
+                .services(client.getServices() != null ? new ArrayList<>(client.getServices()) : null)
+                .build();
+    }
+
+    private static List<UUID> toList(Iterable<? extends UUID> ids) {
+        List<UUID> list = new ArrayList<>();
+        ids.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,89 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/cache/CachingUserRepository.java
+package com.securitybusinesssuite.data.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.securitybusinesssuite.data.entity.User;
+import com.securitybusinesssuite.data.repository.UserRepository;
+import com.securitybusinesssuite.data.repository.impl.UserRepositoryImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+// Caches users by id for the per-request lookup in the JWT filter. Kept short-lived so changes
+// made on another node are picked up quickly. A transaction that wrote a user reads it from the
+// database until it ends, so its uncommitted row never reaches the cache.
+@Primary
+@Repository
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepositoryImpl delegate;
+    private final Cache<UUID, User> cache;
+
+    public CachingUserRepository(UserRepositoryImpl delegate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.cache.users.maximum-size:10000}") long maximumSize,
+                                 @Value("${app.cache.users.ttl:PT1M}") Duration ttl) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        CacheEviction.evict(cache, saved.getId());
+        return saved;
+    }
+
+    @Override
+    public User update(User user) {
+        CacheEviction.evict(cache, user.getId());
+        return delegate.update(user);
+    }
+
+    @Override
+    public Optional<User> findById(UUID id) {
+        if (CacheEviction.isWritten(cache, id)) {
+            return delegate.findById(id);
+        }
+        return Optional.ofNullable(cache.get(id, key -> delegate.findById(key).orElse(null)))
+                .map(user -> user.toBuilder().build());
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<User> findByEmailVerificationToken(String token) {
+        return delegate.findByEmailVerificationToken(token);
+    }
+
+    @Override
+    public Optional<User> findByProviderAndProviderId(User.AuthProvider provider, String providerId) {
+        return delegate.findByProviderAndProviderId(provider, providerId);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        CacheEviction.evict(cache, id);
+        delegate.deleteById(id);
+    }
+}
@@ -2,11 +2,20 @@
 package com.securitybusinesssuite.data.repository.impl;
 
 import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.ClientSuggestion;
+import com.securitybusinesssuite.data.entity.ClientSummary;
 import com.securitybusinesssuite.data.repository.ClientRepository;
+import com.securitybusinesssuite.data.repository.search.ClientSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.SearchQueryCompiler;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -15,11 +24,12 @@ import java.sql.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -53,28 +63,58 @@ public class ClientRepositoryImpl implements ClientRepository {
         WHERE id = ?
         """;
 
-    private static final String SELECT_BASE = """
-        SELECT id, client_code, rnc, client_type, business_name, contact_person, business_sector,
-               phone, email, street_name, street_number, sector, provincia, services, has_contract,
-               contract_start_date, contract_end_date, auto_renewal, payment_method, hourly_rate,
-               requires_ncf, requires_rnc, applies_itbis, status, notes, created_at, updated_at,
-               created_by, updated_by
-        FROM clients
+    private static final String SELECT_COLUMNS = """
+        id, client_code, rnc, client_type, business_name, contact_person, business_sector,
+        phone, email, street_name, street_number, sector, provincia, services, has_contract,
+        contract_start_date, contract_end_date, auto_renewal, payment_method, hourly_rate,
+        requires_ncf, requires_rnc, applies_itbis, status, notes, created_at, updated_at,
+        created_by, updated_by
         """;
 
+    // List views skip the address, services array, contract terms and notes
+    private static final String SUMMARY_COLUMNS = """
+        id, client_code, rnc, client_type, business_name, contact_person, business_sector,
+        phone, email, status, created_at
+        """;
+
+    private static final String SELECT_BASE = "SELECT " + SELECT_COLUMNS + " FROM clients";
+
     private static final String SELECT_BY_ID = SELECT_BASE + " WHERE id = ?";
+    private static final String SELECT_BY_IDS = SELECT_BASE + " WHERE id = ANY(?::uuid[])";
     private static final String SELECT_BY_CLIENT_CODE = SELECT_BASE + " WHERE client_code = ?";
     private static final String SELECT_BY_RNC = SELECT_BASE + " WHERE rnc = ?";
     private static final String SELECT_BY_STATUS = SELECT_BASE + " WHERE status = ?::client_status_enum";
     private static final String SELECT_BY_TYPE = SELECT_BASE + " WHERE client_type = ?::client_type_enum";
-    private static final String SELECT_BY_BUSINESS_NAME = SELECT_BASE + " WHERE LOWER(business_name) LIKE LOWER(?)";
+
+    // Terms are normalized like business_name_search; both the substring match and the word
+    // similarity match, which tolerates typos and partial words, are served by the trigram index
+    private static final String NAME_MATCH = """
+        (business_name_search LIKE '%' || search_normalize(?) || '%' OR search_normalize(?) <% business_name_search)""";
+    private static final String NAME_RANK = "word_similarity(search_normalize(?), business_name_search)";
+
+    private static final String SELECT_BY_BUSINESS_NAME = SELECT_BASE + " WHERE " + NAME_MATCH
+            + " ORDER BY " + NAME_RANK + " DESC, business_name";
+
+    private static final String SELECT_SUGGESTIONS = "SELECT id, client_code, rnc, business_name, client_type, status FROM clients";
 
     private static final String EXISTS_BY_RNC = "SELECT EXISTS(SELECT 1 FROM clients WHERE rnc = ?)";
     private static final String EXISTS_BY_CLIENT_CODE = "SELECT EXISTS(SELECT 1 FROM clients WHERE client_code = ?)";
     private static final String COUNT_BY_STATUS = "SELECT COUNT(*) FROM clients WHERE status = ?::client_status_enum";
     private static final String DELETE_BY_ID = "DELETE FROM clients WHERE id = ?";
 
+    private static final SearchQueryCompiler SEARCH = new SearchQueryCompiler("clients", SELECT_COLUMNS,
+            new SearchQueryCompiler.Ranking(0, NAME_RANK),
+            NAME_MATCH,
+            "client_type = ?::client_type_enum",
+            "status = ?::client_status_enum",
+            "business_sector = ?::business_sector_enum")
+            .sortableBy(Map.of(
+                    "businessName", "business_name",
+                    "clientCode", "client_code"));
+    private static final SearchQueryCompiler SUMMARY_SEARCH = SEARCH.selecting(SUMMARY_COLUMNS);
+
     private final ClientRowMapper clientRowMapper = new ClientRowMapper();
+    private final ClientSummaryRowMapper clientSummaryRowMapper = new ClientSummaryRowMapper();
 
     @Override
     public Client save(Client client) {
@@ -162,6 +202,15 @@ public class ClientRepositoryImpl implements ClientRepository {
                 .stream().findFirst();
     }
 
+    @Override
+    public List<Client> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_BY_IDS, clientRowMapper,
+                (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
+
     @Override
     public Optional<Client> findByClientCode(String clientCode) {
         return jdbcTemplate.query(SELECT_BY_CLIENT_CODE, clientRowMapper, clientCode)
@@ -176,7 +225,19 @@ public class ClientRepositoryImpl implements ClientRepository {
 
     @Override
     public List<Client> findByBusinessNameContaining(String businessName) {
-        return jdbcTemplate.query(SELECT_BY_BUSINESS_NAME, clientRowMapper, "%" + businessName + "%");
+        return jdbcTemplate.query(SELECT_BY_BUSINESS_NAME, clientRowMapper, businessName, businessName, businessName);
+    }
+
+    @Override
+    public List<ClientSuggestion> findAllSuggestions() {
+        return jdbcTemplate.query(SELECT_SUGGESTIONS, (rs, rowNum) -> ClientSuggestion.builder()
+                .id(UUID.fromString(rs.getString("id")))
+                .clientCode(rs.getString("client_code"))
+                .rnc(rs.getString("rnc"))
+                .businessName(rs.getString("business_name"))
+                .clientType(Client.ClientType.valueOf(rs.getString("client_type")))
+                .status(Client.ClientStatus.valueOf(rs.getString("status")))
+                .build());
     }
 
     @Override
@@ -191,53 +252,30 @@ public class ClientRepositoryImpl implements ClientRepository {
 
     @Override
     public Page<Client> findAll(Pageable pageable) {
-        String sql = SELECT_BASE + " ORDER BY created_at DESC LIMIT ? OFFSET ?";
-        List<Client> clients = jdbcTemplate.query(sql, clientRowMapper,
-                pageable.getPageSize(), pageable.getOffset());
-
-        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clients", Long.class);
-        return new PageImpl<>(clients, pageable, total);
+        SearchPage<Client> page = SEARCH.page(jdbcTemplate, clientRowMapper,
+                filterValues(new ClientSearchFilter()), pageable, TotalMode.EXACT);
+        return new PageImpl<>(page.getContent(), pageable, page.getTotal());
     }
 
     @Override
-    public Page<Client> findByFilters(String businessName, Client.ClientType clientType,
-                                      Client.ClientStatus status, Client.BusinessSector sector,
-                                      Pageable pageable) {
-        StringBuilder sql = new StringBuilder(SELECT_BASE + " WHERE 1=1");
-        List<Object> params = new ArrayList<>();
-
-        if (businessName != null && !businessName.trim().isEmpty()) {
-            sql.append(" AND LOWER(business_name) LIKE LOWER(?)");
-            params.add("%" + businessName.trim() + "%");
-        }
-
-        if (clientType != null) {
-            sql.append(" AND client_type = ?::client_type_enum");
-            params.add(clientType.name());
-        }
-
-        if (status != null) {
-            sql.append(" AND status = ?::client_status_enum");
-            params.add(status.name());
-        }
-
-        if (sector != null) {
-            sql.append(" AND business_sector = ?::business_sector_enum");
-            params.add(sector.name());
-        }
-
-        sql.append(" ORDER BY created_at DESC LIMIT ? OFFSET ?");
-        params.add(pageable.getPageSize());
-        params.add(pageable.getOffset());
-
-        List<Client> clients = jdbcTemplate.query(sql.toString(), clientRowMapper, params.toArray());
+    public SearchPage<ClientSummary> findByFilters(ClientSearchFilter filter, Pageable pageable, TotalMode totalMode) {
+        return SUMMARY_SEARCH.page(jdbcTemplate, clientSummaryRowMapper, filterValues(filter), pageable, totalMode);
+    }
 
-        // Count query for total
-        String countSql = sql.toString().replace(SELECT_BASE, "SELECT COUNT(*)").split(" ORDER BY")[0];
-        long total = jdbcTemplate.queryForObject(countSql, Long.class,
-                params.subList(0, params.size() - 2).toArray());
+    @Override
+    public Window<ClientSummary> findByFilters(ClientSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit) {
+        return SUMMARY_SEARCH.window(jdbcTemplate, clientSummaryRowMapper, filterValues(filter), sort, position, limit);
+    }
 
-        return new PageImpl<>(clients, pageable, total);
+    // Values in the order of the SEARCH predicates; null leaves a predicate out
+    private Object[] filterValues(ClientSearchFilter filter) {
+        String businessName = filter.getBusinessName();
+        return new Object[]{
+                businessName != null && !businessName.trim().isEmpty() ? businessName.trim() : null,
+                filter.getClientType() != null ? filter.getClientType().name() : null,
+                filter.getStatus() != null ? filter.getStatus().name() : null,
+                filter.getBusinessSector() != null ? filter.getBusinessSector().name() : null
+        };
     }
 
     @Override
@@ -319,4 +357,27 @@ public class ClientRepositoryImpl implements ClientRepository {
                     .build();
         }
     }
+
+    private static class ClientSummaryRowMapper implements RowMapper<ClientSummary> {
+        @Override
+        public ClientSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return ClientSummary.builder()
+                    .id(UUID.fromString(rs.getString("id")))
+                    .clientCode(rs.getString("client_code"))
+                    .rnc(rs.getString("rnc"))
+                    .clientType(rs.getString("client_type") != null ?
+                            Client.ClientType.valueOf(rs.getString("client_type")) : null)
+                    .businessName(rs.getString("business_name"))
+                    .contactPerson(rs.getString("contact_person"))
+                    .businessSector(rs.getString("business_sector") != null ?
+                            Client.BusinessSector.valueOf(rs.getString("business_sector")) : null)
+                    .phone(rs.getString("phone"))
+                    .email(rs.getString("email"))
+                    .status(rs.getString("status") != null ?
+                            Client.ClientStatus.valueOf(rs.getString("status")) : null)
+                    .createdAt(rs.getTimestamp("created_at") != null ?
+                            rs.getTimestamp("created_at").toLocalDateTime() : null)
+                    .build();
+        }
+    }
 }
\ No newline at end of file
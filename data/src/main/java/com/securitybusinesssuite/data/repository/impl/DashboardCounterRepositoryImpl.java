@@ -0,0 +1,80 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/DashboardCounterRepositoryImpl.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.entity.DashboardCounter;
+import com.securitybusinesssuite.data.repository.DashboardCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class DashboardCounterRepositoryImpl implements DashboardCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String SELECT_BY_KEYS = """
+        SELECT counter_key, SUM(count) AS count, SUM(amount) AS amount
+        FROM dashboard_counters
+        WHERE counter_key = ANY(?::text[])
+        GROUP BY counter_key
+        """;
+
+    // Only one node reconciles at a time; a second run would apply the same correction twice
+    private static final String TRY_RECONCILE_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('dashboard_counters'))";
+
+    // Base rows and counter deltas are committed together, so one statement snapshot sees both or
+    // neither; the difference is added on top of whatever concurrent writers have applied since
+    private static final String RECONCILE = """
+        WITH actual AS (
+            SELECT 'invoices:status:' || status::text AS counter_key, COUNT(*) AS count, SUM(total_amount) AS amount
+            FROM invoices GROUP BY status
+            UNION ALL
+            SELECT 'revenue:' || to_char(issue_date, 'YYYY-MM'), 0, SUM(total_amount)
+            FROM invoices WHERE status <> 'CANCELLED' GROUP BY to_char(issue_date, 'YYYY-MM')
+            UNION ALL
+            SELECT 'clients:status:' || status::text, COUNT(*), 0
+            FROM clients GROUP BY status
+        ), recorded AS (
+            SELECT counter_key, SUM(count) AS count, SUM(amount) AS amount
+            FROM dashboard_counters GROUP BY counter_key
+        ), drift AS (
+            SELECT COALESCE(a.counter_key, r.counter_key) AS counter_key,
+                   COALESCE(a.count, 0) - COALESCE(r.count, 0) AS count,
+                   COALESCE(a.amount, 0) - COALESCE(r.amount, 0) AS amount
+            FROM actual a FULL JOIN recorded r ON r.counter_key = a.counter_key
+        )
+        INSERT INTO dashboard_counters (counter_key, slot, count, amount)
+        SELECT counter_key, 0, count, amount FROM drift WHERE count <> 0 OR amount <> 0
+        ON CONFLICT (counter_key, slot) DO UPDATE
+            SET count = dashboard_counters.count + EXCLUDED.count,
+                amount = dashboard_counters.amount + EXCLUDED.amount,
+                updated_at = now()
+        """;
+
+    @Override
+    public Map<String, DashboardCounter> findByKeys(Collection<String> counterKeys) {
+        return jdbcTemplate.query(SELECT_BY_KEYS, (rs, rowNum) -> DashboardCounter.builder()
+                        .counterKey(rs.getString("counter_key"))
+                        .count(rs.getLong("count"))
+                        .amount(rs.getBigDecimal("amount"))
+                        .build(),
+                (Object) counterKeys.toArray(String[]::new))
+                .stream()
+                .collect(Collectors.toMap(DashboardCounter::getCounterKey, Function.identity()));
+    }
+
+    @Override
+    public int reconcile() {
+        Boolean locked = jdbcTemplate.queryForObject(TRY_RECONCILE_LOCK, Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0;
+        }
+        return jdbcTemplate.update(RECONCILE);
+    }
+}
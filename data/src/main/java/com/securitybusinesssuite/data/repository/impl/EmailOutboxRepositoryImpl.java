@@ -0,0 +1,102 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/EmailOutboxRepositoryImpl.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.entity.EmailOutboxMessage;
+import com.securitybusinesssuite.data.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class EmailOutboxRepositoryImpl implements EmailOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_MESSAGE = """
+        INSERT INTO email_outbox (recipient, subject, body) VALUES (?, ?, ?) RETURNING id
+        """;
+
+    // Claims due rows other dispatchers have not locked and leases them for the duration of the send
+    private static final String CLAIM_BATCH = """
+        UPDATE email_outbox SET attempts = attempts + 1, next_attempt_at = now() + ? * INTERVAL '1 second'
+        WHERE id IN (
+            SELECT id FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= now()
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id, recipient, subject, body, status, attempts, next_attempt_at, last_error, created_at, sent_at
+        """;
+
+    private static final String MARK_SENT = """
+        UPDATE email_outbox SET status = 'SENT', sent_at = now(), last_error = NULL WHERE id = ANY(?::uuid[])
+        """;
+
+    private static final String MARK_RETRY = """
+        UPDATE email_outbox SET next_attempt_at = now() + ? * INTERVAL '1 second', last_error = ? WHERE id = ?
+        """;
+
+    private static final String MARK_FAILED = """
+        UPDATE email_outbox SET status = 'FAILED', last_error = ? WHERE id = ?
+        """;
+
+    private final EmailOutboxRowMapper rowMapper = new EmailOutboxRowMapper();
+
+    @Override
+    public UUID enqueue(String recipient, String subject, String body) {
+        return jdbcTemplate.queryForObject(INSERT_MESSAGE, UUID.class, recipient, subject, body);
+    }
+
+    @Override
+    public List<EmailOutboxMessage> claimBatch(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_BATCH, rowMapper, lease.toSeconds(), limit);
+    }
+
+    @Override
+    public void markSent(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(MARK_SENT, (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
+
+    @Override
+    public void markRetry(UUID id, Duration delay, String error) {
+        jdbcTemplate.update(MARK_RETRY, delay.toSeconds(), error, id);
+    }
+
+    @Override
+    public void markFailed(UUID id, String error) {
+        jdbcTemplate.update(MARK_FAILED, error, id);
+    }
+
+    private static class EmailOutboxRowMapper implements RowMapper<EmailOutboxMessage> {
+        @Override
+        public EmailOutboxMessage mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Timestamp sentAt = rs.getTimestamp("sent_at");
+            return EmailOutboxMessage.builder()
+                    .id(UUID.fromString(rs.getString("id")))
+                    .recipient(rs.getString("recipient"))
+                    .subject(rs.getString("subject"))
+                    .body(rs.getString("body"))
+                    .status(EmailOutboxMessage.OutboxStatus.valueOf(rs.getString("status")))
+                    .attempts(rs.getInt("attempts"))
+                    .nextAttemptAt(rs.getTimestamp("next_attempt_at").toLocalDateTime())
+                    .lastError(rs.getString("last_error"))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .sentAt(sentAt != null ? sentAt.toLocalDateTime() : null)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/InvoiceEcfRepositoryImpl.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.entity.InvoiceEcf;
+import com.securitybusinesssuite.data.repository.InvoiceEcfRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class InvoiceEcfRepositoryImpl implements InvoiceEcfRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // One row per invoice; saving again replaces the document, e.g. after a rejected submission
+    private static final String UPSERT_ECF = """
+        INSERT INTO invoice_ecf (invoice_id, dgii_track_id, dgii_status, ecf_payload, qr_hash, created_at, updated_at)
+        VALUES (?, ?, ?, ?::jsonb, ?, ?, ?)
+        ON CONFLICT (invoice_id) DO UPDATE
+            SET dgii_track_id = EXCLUDED.dgii_track_id,
+                dgii_status = EXCLUDED.dgii_status,
+                ecf_payload = EXCLUDED.ecf_payload,
+                qr_hash = EXCLUDED.qr_hash,
+                updated_at = EXCLUDED.updated_at
+        """;
+
+    private static final String SELECT_BY_INVOICE_ID = """
+        SELECT invoice_id, dgii_track_id, dgii_status, ecf_payload, qr_hash, created_at, updated_at
+        FROM invoice_ecf WHERE invoice_id = ?
+        """;
+
+    // Status polling touches the small columns only; the payload is left as stored
+    private static final String UPDATE_DGII_STATUS = """
+        UPDATE invoice_ecf SET dgii_track_id = ?, dgii_status = ?, updated_at = ? WHERE invoice_id = ?
+        """;
+
+    private final InvoiceEcfRowMapper rowMapper = new InvoiceEcfRowMapper();
+
+    @Override
+    public InvoiceEcf save(InvoiceEcf ecf) {
+        LocalDateTime now = LocalDateTime.now();
+        if (ecf.getCreatedAt() == null) {
+            ecf.setCreatedAt(now);
+        }
+        ecf.setUpdatedAt(now);
+
+        jdbcTemplate.update(UPSERT_ECF,
+                ecf.getInvoiceId(),
+                ecf.getDgiiTrackId(),
+                ecf.getDgiiStatus(),
+                ecf.getEcfPayload(),
+                ecf.getQrHash(),
+                Timestamp.valueOf(ecf.getCreatedAt()),
+                Timestamp.valueOf(ecf.getUpdatedAt())
+        );
+        return ecf;
+    }
+
+    @Override
+    public Optional<InvoiceEcf> findByInvoiceId(UUID invoiceId) {
+        return jdbcTemplate.query(SELECT_BY_INVOICE_ID, rowMapper, invoiceId).stream().findFirst();
+    }
+
+    @Override
+    public void updateDgiiStatus(UUID invoiceId, String dgiiTrackId, String dgiiStatus) {
+        jdbcTemplate.update(UPDATE_DGII_STATUS, dgiiTrackId, dgiiStatus, Timestamp.valueOf(LocalDateTime.now()), invoiceId);
+    }
+
+    private static class InvoiceEcfRowMapper implements RowMapper<InvoiceEcf> {
+        @Override
+        public InvoiceEcf mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return InvoiceEcf.builder()
+                    .invoiceId(UUID.fromString(rs.getString("invoice_id")))
+                    .dgiiTrackId(rs.getString("dgii_track_id"))
+                    .dgiiStatus(rs.getString("dgii_status"))
+                    .ecfPayload(rs.getString("ecf_payload"))
+                    .qrHash(rs.getString("qr_hash"))
+                    .createdAt(rs.getTimestamp("created_at") != null ?
+                            rs.getTimestamp("created_at").toLocalDateTime() : null)
+                    .updatedAt(rs.getTimestamp("updated_at") != null ?
+                            rs.getTimestamp("updated_at").toLocalDateTime() : null)
+                    .build();
+        }
+    }
+}
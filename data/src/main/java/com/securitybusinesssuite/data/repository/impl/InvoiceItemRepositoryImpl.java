@@ -12,8 +12,12 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,12 +28,19 @@ public class InvoiceItemRepositoryImpl implements InvoiceItemRepository {
     private final JdbcTemplate jdbcTemplate;
 
     private static final String INSERT_ITEM = """
-        INSERT INTO invoice_items (id, invoice_id, service_code, description, service_type,
+        INSERT INTO invoice_items (id, invoice_id, line_no, service_code, description, service_type,
                                   quantity, unit_price, itbis_rate, itbis_amount, discount_percentage,
                                   discount_amount, line_subtotal, line_total, created_at, created_by)
-        VALUES (?, ?, ?, ?, ?::security_service_enum, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        VALUES (?, ?, ?, ?, ?, ?::security_service_enum, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
         """;
 
+    // Explicit types let the batch bind nulls without a parameter metadata round trip
+    private static final int[] INSERT_ITEM_TYPES = {
+            Types.OTHER, Types.OTHER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC,
+            Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.TIMESTAMP, Types.OTHER
+    };
+
     private static final String UPDATE_ITEM = """
         UPDATE invoice_items SET service_code = ?, description = ?, service_type = ?::security_service_enum,
                                 quantity = ?, unit_price = ?, itbis_rate = ?, itbis_amount = ?,
@@ -38,14 +49,16 @@ public class InvoiceItemRepositoryImpl implements InvoiceItemRepository {
         """;
 
     private static final String SELECT_BASE = """
-        SELECT id, invoice_id, service_code, description, service_type, quantity, unit_price,
+        SELECT id, invoice_id, line_no, service_code, description, service_type, quantity, unit_price,
                itbis_rate, itbis_amount, discount_percentage, discount_amount, line_subtotal,
                line_total, created_at, created_by
         FROM invoice_items
         """;
 
     private static final String SELECT_BY_ID = SELECT_BASE + " WHERE id = ?";
-    private static final String SELECT_BY_INVOICE_ID = SELECT_BASE + " WHERE invoice_id = ? ORDER BY created_at";
+    private static final String SELECT_BY_INVOICE_ID = SELECT_BASE + " WHERE invoice_id = ? ORDER BY line_no, id";
+    private static final String SELECT_NEXT_LINE_NO =
+            "SELECT COALESCE(MAX(line_no), 0) + 1 FROM invoice_items WHERE invoice_id = ?";
     private static final String DELETE_BY_ID = "DELETE FROM invoice_items WHERE id = ?";
     private static final String DELETE_BY_INVOICE_ID = "DELETE FROM invoice_items WHERE invoice_id = ?";
 
@@ -55,28 +68,46 @@ public class InvoiceItemRepositoryImpl implements InvoiceItemRepository {
     public InvoiceItem save(InvoiceItem item) {
         item.setId(UUID.randomUUID());
         item.setCreatedAt(LocalDateTime.now());
+        // A line without a position goes after the invoice's existing ones
+        if (item.getLineNo() == null) {
+            item.setLineNo(jdbcTemplate.queryForObject(SELECT_NEXT_LINE_NO, Integer.class, item.getInvoiceId()));
+        }
 
-        jdbcTemplate.update(INSERT_ITEM,
-                item.getId(),
-                item.getInvoiceId(),
-                item.getServiceCode(),
-                item.getDescription(),
-                item.getServiceType() != null ? item.getServiceType().name() : null,
-                item.getQuantity(),
-                item.getUnitPrice(),
-                item.getItbisRate(),
-                item.getItbisAmount(),
-                item.getDiscountPercentage(),
-                item.getDiscountAmount(),
-                item.getLineSubtotal(),
-                item.getLineTotal(),
-                Timestamp.valueOf(item.getCreatedAt()),
-                item.getCreatedBy()
-        );
+        jdbcTemplate.update(INSERT_ITEM, toInsertArgs(item));
 
         return item;
     }
 
+    @Override
+    public List<InvoiceItem> saveAll(List<InvoiceItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        // Lines are numbered in list order within their invoice; a bulk chunk mixes several invoices
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, Integer> lineNumbers = new HashMap<>();
+        List<Object[]> batchArgs = new ArrayList<>(items.size());
+
+        for (InvoiceItem item : items) {
+            item.setId(UUID.randomUUID());
+            item.setLineNo(lineNumbers.merge(item.getInvoiceId(), 1, Integer::sum));
+            item.setCreatedAt(now);
+            batchArgs.add(toInsertArgs(item));
+        }
+
+        // Every line goes in the same batch, rewritten by the driver (see DataSourceConfig)
+        jdbcTemplate.batchUpdate(INSERT_ITEM, batchArgs, INSERT_ITEM_TYPES);
+        return items;
+    }
+
+    @Override
+    public List<InvoiceItem> replaceAll(UUID invoiceId, List<InvoiceItem> items) {
+        jdbcTemplate.update(DELETE_BY_INVOICE_ID, invoiceId);
+        items.forEach(item -> item.setInvoiceId(invoiceId));
+        return saveAll(items);
+    }
+
     @Override
     public InvoiceItem update(InvoiceItem item) {
         jdbcTemplate.update(UPDATE_ITEM,
@@ -117,12 +148,34 @@ public class InvoiceItemRepositoryImpl implements InvoiceItemRepository {
         jdbcTemplate.update(DELETE_BY_INVOICE_ID, invoiceId);
     }
 
+    private Object[] toInsertArgs(InvoiceItem item) {
+        return new Object[]{
+                item.getId(),
+                item.getInvoiceId(),
+                item.getLineNo(),
+                item.getServiceCode(),
+                item.getDescription(),
+                item.getServiceType() != null ? item.getServiceType().name() : null,
+                item.getQuantity(),
+                item.getUnitPrice(),
+                item.getItbisRate(),
+                item.getItbisAmount(),
+                item.getDiscountPercentage(),
+                item.getDiscountAmount(),
+                item.getLineSubtotal(),
+                item.getLineTotal(),
+                Timestamp.valueOf(item.getCreatedAt()),
+                item.getCreatedBy()
+        };
+    }
+
     private static class InvoiceItemRowMapper implements RowMapper<InvoiceItem> {
         @Override
         public InvoiceItem mapRow(ResultSet rs, int rowNum) throws SQLException {
             return InvoiceItem.builder()
                     .id(UUID.fromString(rs.getString("id")))
                     .invoiceId(UUID.fromString(rs.getString("invoice_id")))
+                    .lineNo(rs.getInt("line_no"))
                     .serviceCode(rs.getString("service_code"))
                     .description(rs.getString("description"))
                     .serviceType(rs.getString("service_type") != null ?
@@ -0,0 +1,138 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/InvoiceMonthlyRollupRepositoryImpl.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoiceMonthlyRollup;
+import com.securitybusinesssuite.data.repository.InvoiceMonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class InvoiceMonthlyRollupRepositoryImpl implements InvoiceMonthlyRollupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String SUM_BY_MONTH = """
+        SELECT month, SUM(invoice_count) AS invoice_count, SUM(total_amount) AS total_amount
+        FROM invoice_monthly_rollup
+        WHERE month BETWEEN ? AND ?
+          AND status = ANY(?::invoice_status_enum[])
+          AND (?::uuid IS NULL OR client_id = ?::uuid)
+        GROUP BY month
+        HAVING SUM(invoice_count) > 0
+        ORDER BY month
+        """;
+
+    private static final String SUM_BY_STATUS = """
+        SELECT status, SUM(invoice_count) AS invoice_count, SUM(total_amount) AS total_amount
+        FROM invoice_monthly_rollup
+        WHERE month BETWEEN ? AND ?
+          AND (?::uuid IS NULL OR client_id = ?::uuid)
+        GROUP BY status
+        HAVING SUM(invoice_count) > 0
+        ORDER BY status
+        """;
+
+    private static final String SUM_BY_CLIENT_TYPE = """
+        SELECT client_type, SUM(invoice_count) AS invoice_count, SUM(total_amount) AS total_amount
+        FROM invoice_monthly_rollup
+        WHERE month BETWEEN ? AND ?
+          AND status = ANY(?::invoice_status_enum[])
+        GROUP BY client_type
+        HAVING SUM(invoice_count) > 0
+        ORDER BY client_type
+        """;
+
+    private static final String TRY_RECONCILE_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('invoice_monthly_rollup'))";
+
+    // Same approach as the dashboard counters: one snapshot for base rows and rollup, drift added on top
+    private static final String RECONCILE = """
+        WITH actual AS (
+            SELECT date_trunc('month', i.issue_date)::date AS month, i.status, i.client_id, c.client_type,
+                   COUNT(*) AS invoice_count, SUM(i.total_amount) AS total_amount
+            FROM invoices i
+            JOIN clients c ON c.id = i.client_id
+            GROUP BY date_trunc('month', i.issue_date), i.status, i.client_id, c.client_type
+        ), drift AS (
+            SELECT COALESCE(a.month, r.month) AS month,
+                   COALESCE(a.status, r.status) AS status,
+                   COALESCE(a.client_id, r.client_id) AS client_id,
+                   COALESCE(a.client_type, r.client_type) AS client_type,
+                   COALESCE(a.invoice_count, 0) - COALESCE(r.invoice_count, 0) AS invoice_count,
+                   COALESCE(a.total_amount, 0) - COALESCE(r.total_amount, 0) AS total_amount
+            FROM actual a
+            FULL JOIN invoice_monthly_rollup r
+                ON r.month = a.month AND r.status = a.status AND r.client_id = a.client_id
+        )
+        INSERT INTO invoice_monthly_rollup (month, status, client_id, client_type, invoice_count, total_amount)
+        SELECT month, status, client_id, client_type, invoice_count, total_amount
+        FROM drift WHERE invoice_count <> 0 OR total_amount <> 0
+        ON CONFLICT (month, status, client_id) DO UPDATE
+            SET invoice_count = invoice_monthly_rollup.invoice_count + EXCLUDED.invoice_count,
+                total_amount = invoice_monthly_rollup.total_amount + EXCLUDED.total_amount
+        """;
+
+    private static final String DELETE_EMPTY = """
+        DELETE FROM invoice_monthly_rollup WHERE invoice_count = 0 AND total_amount = 0
+        """;
+
+    @Override
+    public List<InvoiceMonthlyRollup> sumByMonth(YearMonth from, YearMonth to,
+                                                 Collection<Invoice.InvoiceStatus> statuses, UUID clientId) {
+        return jdbcTemplate.query(SUM_BY_MONTH, (rs, rowNum) -> InvoiceMonthlyRollup.builder()
+                        .month(rs.getDate("month").toLocalDate())
+                        .invoiceCount(rs.getLong("invoice_count"))
+                        .totalAmount(rs.getBigDecimal("total_amount"))
+                        .build(),
+                firstDay(from), firstDay(to), statusNames(statuses), clientId, clientId);
+    }
+
+    @Override
+    public List<InvoiceMonthlyRollup> sumByStatus(YearMonth from, YearMonth to, UUID clientId) {
+        return jdbcTemplate.query(SUM_BY_STATUS, (rs, rowNum) -> InvoiceMonthlyRollup.builder()
+                        .status(Invoice.InvoiceStatus.valueOf(rs.getString("status")))
+                        .invoiceCount(rs.getLong("invoice_count"))
+                        .totalAmount(rs.getBigDecimal("total_amount"))
+                        .build(),
+                firstDay(from), firstDay(to), clientId, clientId);
+    }
+
+    @Override
+    public List<InvoiceMonthlyRollup> sumByClientType(YearMonth from, YearMonth to,
+                                                      Collection<Invoice.InvoiceStatus> statuses) {
+        return jdbcTemplate.query(SUM_BY_CLIENT_TYPE, (rs, rowNum) -> InvoiceMonthlyRollup.builder()
+                        .clientType(Client.ClientType.valueOf(rs.getString("client_type")))
+                        .invoiceCount(rs.getLong("invoice_count"))
+                        .totalAmount(rs.getBigDecimal("total_amount"))
+                        .build(),
+                firstDay(from), firstDay(to), statusNames(statuses));
+    }
+
+    @Override
+    public int reconcile() {
+        Boolean locked = jdbcTemplate.queryForObject(TRY_RECONCILE_LOCK, Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0;
+        }
+        int corrected = jdbcTemplate.update(RECONCILE);
+        jdbcTemplate.update(DELETE_EMPTY);
+        return corrected;
+    }
+
+    private static LocalDate firstDay(YearMonth month) {
+        return month.atDay(1);
+    }
+
+    private static String[] statusNames(Collection<Invoice.InvoiceStatus> statuses) {
+        return statuses.stream().map(Enum::name).toArray(String[]::new);
+    }
+}
@@ -2,74 +2,181 @@
 package com.securitybusinesssuite.data.repository.impl;
 
 import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoiceSummary;
+import com.securitybusinesssuite.data.repository.InvoiceEcfRepository;
 import com.securitybusinesssuite.data.repository.InvoiceRepository;
+import com.securitybusinesssuite.data.repository.search.InvoiceSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.SearchQueryCompiler;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Repository
 @RequiredArgsConstructor
 public class InvoiceRepositoryImpl implements InvoiceRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final InvoiceEcfRepository invoiceEcfRepository;
 
     private static final String INSERT_INVOICE = """
         INSERT INTO invoices (id, invoice_number, ncf, ncf_type, client_id, issue_date, due_date,
                              invoice_type, subtotal, itbis_amount, discount_amount, total_amount,
-                             net_amount, paid_amount, balance_due, status, notes, dgii_track_id,
-                             dgii_status, ecf_payload, qr_hash, created_at, updated_at, created_by, updated_by)
+                             net_amount, paid_amount, balance_due, status, notes, created_at, updated_at,
+                             created_by, updated_by)
         VALUES (?, ?, ?, ?::ncf_type_enum, ?, ?, ?, ?::invoice_type_enum, ?, ?, ?, ?, ?, ?, ?, 
-                ?::invoice_status_enum, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ?::invoice_status_enum, ?, ?, ?, ?, ?)
         """;
 
+    // One per INSERT_INVOICE placeholder; the enum columns bind as VARCHAR and are cast in the SQL
+    private static final int[] INSERT_INVOICE_TYPES = {
+            Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.OTHER,
+            Types.DATE, Types.DATE, Types.VARCHAR, Types.NUMERIC, Types.NUMERIC,
+            Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC,
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.OTHER, Types.OTHER
+    };
+
     private static final String UPDATE_INVOICE = """
         UPDATE invoices SET invoice_number = ?, ncf = ?, ncf_type = ?::ncf_type_enum, client_id = ?,
                            issue_date = ?, due_date = ?, invoice_type = ?::invoice_type_enum,
                            subtotal = ?, itbis_amount = ?, discount_amount = ?, total_amount = ?,
                            net_amount = ?, paid_amount = ?, balance_due = ?, status = ?::invoice_status_enum,
-                           notes = ?, dgii_track_id = ?, dgii_status = ?, ecf_payload = ?, qr_hash = ?,
-                           updated_at = ?, updated_by = ?
+                           notes = ?, updated_at = ?, updated_by = ?
         WHERE id = ?
         """;
 
-    private static final String SELECT_BASE = """
-        SELECT id, invoice_number, ncf, ncf_type, client_id, issue_date, due_date, invoice_type,
-               subtotal, itbis_amount, discount_amount, total_amount, net_amount, paid_amount,
-               balance_due, status, notes, dgii_track_id, dgii_status, ecf_payload, qr_hash,
-               created_at, updated_at, created_by, updated_by
-        FROM invoices
+    // The columns UPDATE_INVOICE writes, for updates limited to the fields that changed since a read
+    private record Column(String name, String placeholder, Function<Invoice, Object> value) {
+    }
+
+    private static final List<Column> UPDATE_COLUMNS = List.of(
+            new Column("invoice_number", "?", Invoice::getInvoiceNumber),
+            new Column("ncf", "?", Invoice::getNcf),
+            new Column("ncf_type", "?::ncf_type_enum", invoice -> enumName(invoice.getNcfType())),
+            new Column("client_id", "?", Invoice::getClientId),
+            new Column("issue_date", "?", Invoice::getIssueDate),
+            new Column("due_date", "?", Invoice::getDueDate),
+            new Column("invoice_type", "?::invoice_type_enum", invoice -> enumName(invoice.getInvoiceType())),
+            new Column("subtotal", "?", Invoice::getSubtotal),
+            new Column("itbis_amount", "?", Invoice::getItbisAmount),
+            new Column("discount_amount", "?", Invoice::getDiscountAmount),
+            new Column("total_amount", "?", Invoice::getTotalAmount),
+            new Column("net_amount", "?", Invoice::getNetAmount),
+            new Column("paid_amount", "?", Invoice::getPaidAmount),
+            new Column("balance_due", "?", Invoice::getBalanceDue),
+            new Column("status", "?::invoice_status_enum", invoice -> enumName(invoice.getStatus())),
+            new Column("notes", "?", Invoice::getNotes),
+            new Column("updated_at", "?", invoice -> invoice.getUpdatedAt() != null ?
+                    Timestamp.valueOf(invoice.getUpdatedAt()) : null),
+            new Column("updated_by", "?", Invoice::getUpdatedBy)
+    );
+
+    private static final String SELECT_COLUMNS = """
+        id, invoice_number, ncf, ncf_type, client_id, issue_date, due_date, invoice_type,
+        subtotal, itbis_amount, discount_amount, total_amount, net_amount, paid_amount,
+        balance_due, status, notes, created_at, updated_at, created_by, updated_by
+        """;
+
+    // List views skip notes, the e-CF payload and audit columns
+    private static final String SUMMARY_COLUMNS = """
+        id, invoice_number, ncf, ncf_type, client_id, issue_date, due_date, invoice_type,
+        subtotal, itbis_amount, discount_amount, total_amount, net_amount, paid_amount,
+        balance_due, status, created_at
         """;
 
+    private static final String SELECT_BASE = "SELECT " + SELECT_COLUMNS + " FROM invoices";
+    private static final String SELECT_SUMMARY_BASE = "SELECT " + SUMMARY_COLUMNS + " FROM invoices";
+
     private static final String SELECT_BY_ID = SELECT_BASE + " WHERE id = ?";
+    private static final String SELECT_BY_IDS = SELECT_BASE + " WHERE id = ANY(?::uuid[])";
     private static final String SELECT_BY_INVOICE_NUMBER = SELECT_BASE + " WHERE invoice_number = ?";
     private static final String SELECT_BY_NCF = SELECT_BASE + " WHERE ncf = ?";
-    private static final String SELECT_BY_CLIENT_ID = SELECT_BASE + " WHERE client_id = ?";
+    private static final String SELECT_SUMMARIES_BY_CLIENT_ID = SELECT_SUMMARY_BASE + " WHERE client_id = ?";
     private static final String SELECT_BY_STATUS = SELECT_BASE + " WHERE status = ?::invoice_status_enum";
-    private static final String SELECT_OVERDUE = SELECT_BASE + " WHERE status = 'PENDING' AND due_date < CURRENT_DATE";
+    // Past-due invoices whether or not the sweeper has flagged them yet
+    private static final String SELECT_OVERDUE_SUMMARIES = SELECT_SUMMARY_BASE
+            + " WHERE status = 'OVERDUE' OR (status = 'PENDING' AND due_date < CURRENT_DATE) ORDER BY due_date";
     private static final String SELECT_BY_STATUS_AND_DUE_DATE = SELECT_BASE + " WHERE status = ?::invoice_status_enum AND due_date < ?";
 
     private static final String EXISTS_BY_INVOICE_NUMBER = "SELECT EXISTS(SELECT 1 FROM invoices WHERE invoice_number = ?)";
     private static final String EXISTS_BY_NCF = "SELECT EXISTS(SELECT 1 FROM invoices WHERE ncf = ?)";
     private static final String SUM_BY_CLIENT_AND_STATUS = "SELECT COALESCE(SUM(total_amount), 0) FROM invoices WHERE client_id = ? AND status = ?::invoice_status_enum";
+    // Held on the sweeping connection for the whole run so only one node sweeps at a time
+    private static final String TRY_SWEEP_LOCK = "SELECT pg_try_advisory_lock(hashtext('invoice_overdue_sweep'))";
+    private static final String RELEASE_SWEEP_LOCK = "SELECT pg_advisory_unlock(hashtext('invoice_overdue_sweep'))";
+
+    // One chunk per statement and commit; rows being edited elsewhere are skipped until the next run
+    private static final String MARK_OVERDUE_CHUNK = """
+        WITH due AS (
+            SELECT id FROM invoices
+            WHERE status = 'PENDING' AND due_date < ? AND balance_due > 0
+            ORDER BY due_date
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+        )
+        UPDATE invoices i SET status = 'OVERDUE', updated_at = now()
+        FROM due
+        WHERE i.id = due.id
+        RETURNING i.id
+        """;
+
     private static final String COUNT_BY_STATUS = "SELECT COUNT(*) FROM invoices WHERE status = ?::invoice_status_enum";
+    private static final String COUNT_BY_NCF_TYPE_SINCE = "SELECT COUNT(*) FROM invoices WHERE ncf_type = ?::ncf_type_enum AND ncf IS NOT NULL AND created_at >= ?";
     private static final String DELETE_BY_ID = "DELETE FROM invoices WHERE id = ?";
 
+    // Searches run on the trigger-maintained invoice_search read model; text filters match the
+    // client name anywhere (accent-insensitive) or the client RNC, NCF and invoice number by prefix
+    private static final SearchQueryCompiler SEARCH = SearchQueryCompiler.overView("invoices", "invoice_search_results",
+            SELECT_COLUMNS,
+            "client_id = ?",
+            "status = ?::invoice_status_enum",
+            "issue_date >= ?",
+            "issue_date <= ?",
+            "total_amount >= ?",
+            "total_amount <= ?",
+            "(client_name_search LIKE '%' || search_normalize(?) || '%' OR client_rnc LIKE ? || '%')",
+            "invoice_number LIKE ? || '%'",
+            "ncf LIKE ? || '%'")
+            .sortableBy(Map.of(
+                    "dueDate", "due_date",
+                    "totalAmount", "total_amount",
+                    "balanceDue", "balance_due",
+                    "issueDate", "issue_date",
+                    "invoiceNumber", "invoice_number"))
+            .tieBrokenBy(Map.of("balanceDue", "invoices_id"));
+    private static final SearchQueryCompiler SUMMARY_SEARCH = SEARCH.selecting(SUMMARY_COLUMNS);
+
     private final InvoiceRowMapper invoiceRowMapper = new InvoiceRowMapper();
+    private final InvoiceSummaryRowMapper invoiceSummaryRowMapper = new InvoiceSummaryRowMapper();
 
     @Override
     public Invoice save(Invoice invoice) {
@@ -77,37 +184,31 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
         invoice.setCreatedAt(LocalDateTime.now());
         invoice.setUpdatedAt(LocalDateTime.now());
 
-        jdbcTemplate.update(INSERT_INVOICE,
-                invoice.getId(),
-                invoice.getInvoiceNumber(),
-                invoice.getNcf(),
-                invoice.getNcfType() != null ? invoice.getNcfType().name() : null,
-                invoice.getClientId(),
-                invoice.getIssueDate(),
-                invoice.getDueDate(),
-                invoice.getInvoiceType() != null ? invoice.getInvoiceType().name() : null,
-                invoice.getSubtotal(),
-                invoice.getItbisAmount(),
-                invoice.getDiscountAmount(),
-                invoice.getTotalAmount(),
-                invoice.getNetAmount(),
-                invoice.getPaidAmount(),
-                invoice.getBalanceDue(),
-                invoice.getStatus() != null ? invoice.getStatus().name() : null,
-                invoice.getNotes(),
-                invoice.getDgiiTrackId(),
-                invoice.getDgiiStatus(),
-                invoice.getEcfPayload(),
-                invoice.getQrHash(),
-                Timestamp.valueOf(invoice.getCreatedAt()),
-                Timestamp.valueOf(invoice.getUpdatedAt()),
-                invoice.getCreatedBy(),
-                invoice.getUpdatedBy()
-        );
-
+        jdbcTemplate.update(INSERT_INVOICE, toInsertArgs(invoice));
         return invoice;
     }
 
+    @Override
+    public List<Invoice> saveAll(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return invoices;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batchArgs = new ArrayList<>(invoices.size());
+
+        for (Invoice invoice : invoices) {
+            invoice.setId(UUID.randomUUID());
+            invoice.setCreatedAt(now);
+            invoice.setUpdatedAt(now);
+            batchArgs.add(toInsertArgs(invoice));
+        }
+
+        // A bulk import chunk is written as one batch, typed so null notes bind without a lookup
+        jdbcTemplate.batchUpdate(INSERT_INVOICE, batchArgs, INSERT_INVOICE_TYPES);
+        return invoices;
+    }
+
     @Override
     public Invoice update(Invoice invoice) {
         invoice.setUpdatedAt(LocalDateTime.now());
@@ -129,10 +230,6 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
                 invoice.getBalanceDue(),
                 invoice.getStatus() != null ? invoice.getStatus().name() : null,
                 invoice.getNotes(),
-                invoice.getDgiiTrackId(),
-                invoice.getDgiiStatus(),
-                invoice.getEcfPayload(),
-                invoice.getQrHash(),
                 Timestamp.valueOf(invoice.getUpdatedAt()),
                 invoice.getUpdatedBy(),
                 invoice.getId()
@@ -141,11 +238,52 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
         return invoice;
     }
 
+    // Writes only the columns whose values differ from the invoice as it was read; false when none do
+    public boolean updateChanged(Invoice invoice, Invoice loaded) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (Column column : UPDATE_COLUMNS) {
+            Object value = column.value().apply(invoice);
+            if (!sameValue(value, column.value().apply(loaded))) {
+                assignments.add(column.name() + " = " + column.placeholder());
+                args.add(value);
+            }
+        }
+
+        if (assignments.isEmpty()) {
+            return false;
+        }
+        args.add(invoice.getId());
+        jdbcTemplate.update("UPDATE invoices SET " + String.join(", ", assignments) + " WHERE id = ?", args.toArray());
+        return true;
+    }
+
+    // Amounts compare by value, so 10.0 and 10.00 are not a change
+    private static boolean sameValue(Object value, Object loaded) {
+        if (value instanceof BigDecimal amount && loaded instanceof BigDecimal loadedAmount) {
+            return amount.compareTo(loadedAmount) == 0;
+        }
+        return Objects.equals(value, loaded);
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
     @Override
     public Optional<Invoice> findById(UUID id) {
         return jdbcTemplate.query(SELECT_BY_ID, invoiceRowMapper, id).stream().findFirst();
     }
 
+    @Override
+    public List<Invoice> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_BY_IDS, invoiceRowMapper,
+                (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
+
     @Override
     public Optional<Invoice> findByInvoiceNumber(String invoiceNumber) {
         return jdbcTemplate.query(SELECT_BY_INVOICE_NUMBER, invoiceRowMapper, invoiceNumber).stream().findFirst();
@@ -157,8 +295,8 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     }
 
     @Override
-    public List<Invoice> findByClientId(UUID clientId) {
-        return jdbcTemplate.query(SELECT_BY_CLIENT_ID, invoiceRowMapper, clientId);
+    public List<InvoiceSummary> findSummariesByClientId(UUID clientId) {
+        return jdbcTemplate.query(SELECT_SUMMARIES_BY_CLIENT_ID, invoiceSummaryRowMapper, clientId);
     }
 
     @Override
@@ -172,69 +310,49 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     }
 
     @Override
-    public List<Invoice> findOverdueInvoices() {
-        return jdbcTemplate.query(SELECT_OVERDUE, invoiceRowMapper);
+    public List<InvoiceSummary> findOverdueSummaries() {
+        return jdbcTemplate.query(SELECT_OVERDUE_SUMMARIES, invoiceSummaryRowMapper);
     }
 
     @Override
     public Page<Invoice> findAll(Pageable pageable) {
-        String sql = SELECT_BASE + " ORDER BY created_at DESC LIMIT ? OFFSET ?";
-        List<Invoice> invoices = jdbcTemplate.query(sql, invoiceRowMapper,
-                pageable.getPageSize(), pageable.getOffset());
-
-        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM invoices", Long.class);
-        return new PageImpl<>(invoices, pageable, total);
+        SearchPage<Invoice> page = SEARCH.page(jdbcTemplate, invoiceRowMapper,
+                filterValues(new InvoiceSearchFilter()), pageable, TotalMode.EXACT);
+        return new PageImpl<>(page.getContent(), pageable, page.getTotal());
     }
 
     @Override
-    public Page<Invoice> findByFilters(UUID clientId, Invoice.InvoiceStatus status,
-                                       LocalDate fromDate, LocalDate toDate,
-                                       BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable) {
-        StringBuilder sql = new StringBuilder(SELECT_BASE + " WHERE 1=1");
-        List<Object> params = new ArrayList<>();
-
-        if (clientId != null) {
-            sql.append(" AND client_id = ?");
-            params.add(clientId);
-        }
-
-        if (status != null) {
-            sql.append(" AND status = ?::invoice_status_enum");
-            params.add(status.name());
-        }
-
-        if (fromDate != null) {
-            sql.append(" AND issue_date >= ?");
-            params.add(fromDate);
-        }
+    public SearchPage<InvoiceSummary> findByFilters(InvoiceSearchFilter filter, Pageable pageable, TotalMode totalMode) {
+        return SUMMARY_SEARCH.page(jdbcTemplate, invoiceSummaryRowMapper, filterValues(filter), pageable, totalMode);
+    }
 
-        if (toDate != null) {
-            sql.append(" AND issue_date <= ?");
-            params.add(toDate);
-        }
+    @Override
+    public Window<InvoiceSummary> findByFilters(InvoiceSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit) {
+        return SUMMARY_SEARCH.window(jdbcTemplate, invoiceSummaryRowMapper, filterValues(filter), sort, position, limit);
+    }
 
-        if (minAmount != null) {
-            sql.append(" AND total_amount >= ?");
-            params.add(minAmount);
-        }
+    // Values in the order of the SEARCH predicates; null leaves a predicate out
+    private Object[] filterValues(InvoiceSearchFilter filter) {
+        return new Object[]{
+                filter.getClientId(),
+                filter.getStatus() != null ? filter.getStatus().name() : null,
+                filter.getFromDate(),
+                filter.getToDate(),
+                filter.getMinAmount(),
+                filter.getMaxAmount(),
+                likeTerm(filter.getClientName(), false),
+                likeTerm(filter.getInvoiceNumber(), true),
+                likeTerm(filter.getNcf(), true)
+        };
+    }
 
-        if (maxAmount != null) {
-            sql.append(" AND total_amount <= ?");
-            params.add(maxAmount);
+    // Trimmed with LIKE wildcards escaped; invoice numbers and NCFs are stored in upper case
+    private static String likeTerm(String value, boolean upperCase) {
+        if (value == null || value.isBlank()) {
+            return null;
         }
-
-        sql.append(" ORDER BY created_at DESC LIMIT ? OFFSET ?");
-        params.add(pageable.getPageSize());
-        params.add(pageable.getOffset());
-
-        List<Invoice> invoices = jdbcTemplate.query(sql.toString(), invoiceRowMapper, params.toArray());
-
-        // Count query for total
-        String countSql = sql.toString().replace(SELECT_BASE, "SELECT COUNT(*)").split(" ORDER BY")[0];
-        long total = jdbcTemplate.queryForObject(countSql, Long.class,
-                params.subList(0, params.size() - 2).toArray());
-
-        return new PageImpl<>(invoices, pageable, total);
+        String term = value.strip().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return upperCase ? term.toUpperCase(Locale.ROOT) : term;
     }
 
     @Override
@@ -260,16 +378,85 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
         return count != null ? count : 0;
     }
 
+    @Override
+    public long countByNcfTypeSince(Invoice.NCFType ncfType, LocalDateTime since) {
+        Long count = jdbcTemplate.queryForObject(COUNT_BY_NCF_TYPE_SINCE, Long.class, ncfType.name(), Timestamp.valueOf(since));
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public OptionalLong markOverdue(LocalDate today, int chunkSize) {
+        return jdbcTemplate.execute((ConnectionCallback<OptionalLong>) connection -> {
+            if (!queryBoolean(connection, TRY_SWEEP_LOCK)) {
+                return OptionalLong.empty();
+            }
+
+            try (PreparedStatement chunk = connection.prepareStatement(MARK_OVERDUE_CHUNK)) {
+                long total = 0;
+                int updated;
+                do {
+                    chunk.setObject(1, today);
+                    chunk.setInt(2, chunkSize);
+                    updated = 0;
+                    try (ResultSet rs = chunk.executeQuery()) {
+                        while (rs.next()) {
+                            updated++;
+                        }
+                    }
+                    total += updated;
+                } while (updated == chunkSize);
+                return OptionalLong.of(total);
+            } finally {
+                queryBoolean(connection, RELEASE_SWEEP_LOCK);
+            }
+        });
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
     @Override
     public void deleteById(UUID id) {
         jdbcTemplate.update(DELETE_BY_ID, id);
     }
 
-    private static class InvoiceRowMapper implements RowMapper<Invoice> {
+    private Object[] toInsertArgs(Invoice invoice) {
+        return new Object[]{
+                invoice.getId(),
+                invoice.getInvoiceNumber(),
+                invoice.getNcf(),
+                invoice.getNcfType() != null ? invoice.getNcfType().name() : null,
+                invoice.getClientId(),
+                invoice.getIssueDate(),
+                invoice.getDueDate(),
+                invoice.getInvoiceType() != null ? invoice.getInvoiceType().name() : null,
+                invoice.getSubtotal(),
+                invoice.getItbisAmount(),
+                invoice.getDiscountAmount(),
+                invoice.getTotalAmount(),
+                invoice.getNetAmount(),
+                invoice.getPaidAmount(),
+                invoice.getBalanceDue(),
+                invoice.getStatus() != null ? invoice.getStatus().name() : null,
+                invoice.getNotes(),
+                Timestamp.valueOf(invoice.getCreatedAt()),
+                Timestamp.valueOf(invoice.getUpdatedAt()),
+                invoice.getCreatedBy(),
+                invoice.getUpdatedBy()
+        };
+    }
+
+    // Not static: each invoice gets a loader for its e-CF row
+    private class InvoiceRowMapper implements RowMapper<Invoice> {
         @Override
         public Invoice mapRow(ResultSet rs, int rowNum) throws SQLException {
+            UUID id = UUID.fromString(rs.getString("id"));
             return Invoice.builder()
-                    .id(UUID.fromString(rs.getString("id")))
+                    .id(id)
                     .invoiceNumber(rs.getString("invoice_number"))
                     .ncf(rs.getString("ncf"))
                     .ncfType(rs.getString("ncf_type") != null ?
@@ -291,10 +478,6 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
                     .status(rs.getString("status") != null ?
                             Invoice.InvoiceStatus.valueOf(rs.getString("status")) : null)
                     .notes(rs.getString("notes"))
-                    .dgiiTrackId(rs.getString("dgii_track_id"))
-                    .dgiiStatus(rs.getString("dgii_status"))
-                    .ecfPayload(rs.getString("ecf_payload"))
-                    .qrHash(rs.getString("qr_hash"))
                     .createdAt(rs.getTimestamp("created_at") != null ?
                             rs.getTimestamp("created_at").toLocalDateTime() : null)
                     .updatedAt(rs.getTimestamp("updated_at") != null ?
@@ -303,6 +486,38 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
                             UUID.fromString(rs.getString("created_by")) : null)
                     .updatedBy(rs.getString("updated_by") != null ?
                             UUID.fromString(rs.getString("updated_by")) : null)
+                    .ecfLoader(() -> invoiceEcfRepository.findByInvoiceId(id).orElse(null))
+                    .build();
+        }
+    }
+
+    private static class InvoiceSummaryRowMapper implements RowMapper<InvoiceSummary> {
+        @Override
+        public InvoiceSummary mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return InvoiceSummary.builder()
+                    .id(UUID.fromString(rs.getString("id")))
+                    .invoiceNumber(rs.getString("invoice_number"))
+                    .ncf(rs.getString("ncf"))
+                    .ncfType(rs.getString("ncf_type") != null ?
+                            Invoice.NCFType.valueOf(rs.getString("ncf_type")) : null)
+                    .clientId(UUID.fromString(rs.getString("client_id")))
+                    .issueDate(rs.getDate("issue_date") != null ?
+                            rs.getDate("issue_date").toLocalDate() : null)
+                    .dueDate(rs.getDate("due_date") != null ?
+                            rs.getDate("due_date").toLocalDate() : null)
+                    .invoiceType(rs.getString("invoice_type") != null ?
+                            Invoice.InvoiceType.valueOf(rs.getString("invoice_type")) : null)
+                    .subtotal(rs.getBigDecimal("subtotal"))
+                    .itbisAmount(rs.getBigDecimal("itbis_amount"))
+                    .discountAmount(rs.getBigDecimal("discount_amount"))
+                    .totalAmount(rs.getBigDecimal("total_amount"))
+                    .netAmount(rs.getBigDecimal("net_amount"))
+                    .paidAmount(rs.getBigDecimal("paid_amount"))
+                    .balanceDue(rs.getBigDecimal("balance_due"))
+                    .status(rs.getString("status") != null ?
+                            Invoice.InvoiceStatus.valueOf(rs.getString("status")) : null)
+                    .createdAt(rs.getTimestamp("created_at") != null ?
+                            rs.getTimestamp("created_at").toLocalDateTime() : null)
                     .build();
         }
     }
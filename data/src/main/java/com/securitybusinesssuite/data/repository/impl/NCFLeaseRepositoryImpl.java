@@ -0,0 +1,155 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/NCFLeaseRepositoryImpl.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.config.AllocationPool;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.NCFLease;
+import com.securitybusinesssuite.data.repository.NCFLeaseRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Runs on the allocation pool, never on the caller's invoice connection
+@Repository
+public class NCFLeaseRepositoryImpl implements NCFLeaseRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NCFLeaseRepositoryImpl(AllocationPool allocationPool) {
+        this.jdbcTemplate = allocationPool.getJdbcTemplate();
+    }
+
+    private static final String LEASE_COLUMNS = """
+        id, ncf_type, prefix, year, range_start, range_end, node_id, status, leased_at, heartbeat_at
+        """;
+
+    // Row-locks the sequence only for this statement's transaction, capping the range at max_number
+    private static final String CREATE_LEASE = """
+        WITH previous AS (
+            SELECT id, current_number FROM ncf_sequences
+            WHERE ncf_type = ?::ncf_type_enum AND year = ? AND is_active = true AND current_number < max_number
+            FOR UPDATE
+        ), advanced AS (
+            UPDATE ncf_sequences s SET current_number = LEAST(s.current_number + ?, s.max_number)
+            FROM previous
+            WHERE s.id = previous.id
+            RETURNING s.ncf_type, s.prefix, s.year, previous.current_number + 1 AS range_start,
+                      s.current_number AS range_end
+        )
+        INSERT INTO ncf_leases (ncf_type, prefix, year, range_start, range_end, node_id)
+        SELECT ncf_type, prefix, year, range_start, range_end, ? FROM advanced
+        RETURNING
+        """ + LEASE_COLUMNS;
+
+    // The staleness test is repeated on the row being updated, so a lease its node renewed after the
+    // subquery looked at it is left alone
+    private static final String ADOPT_STALE_LEASE = """
+        UPDATE ncf_leases SET node_id = ?, heartbeat_at = now()
+        WHERE status = 'ACTIVE' AND (node_id IS NULL OR heartbeat_at < now() - ? * INTERVAL '1 second')
+          AND id = (
+            SELECT id FROM ncf_leases
+            WHERE ncf_type = ?::ncf_type_enum AND year = ? AND status = 'ACTIVE'
+              AND (node_id IS NULL OR heartbeat_at < now() - ? * INTERVAL '1 second')
+            ORDER BY range_start
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING
+        """ + LEASE_COLUMNS;
+
+    // Numbers in the range that no committed invoice carries, using the unique index on invoices.ncf
+    private static final String SELECT_UNUSED_NUMBERS = """
+        SELECT n FROM generate_series(?::bigint, ?::bigint) AS n
+        WHERE NOT EXISTS (SELECT 1 FROM invoices WHERE ncf = ? || lpad(n::text, 8, '0'))
+        ORDER BY n
+        """;
+
+    private static final String SELECT_ISSUED = "SELECT EXISTS (SELECT 1 FROM invoices WHERE ncf = ?)";
+
+    // The statements below only touch a lease while the node still owns it; once another node has
+    // adopted it they change nothing
+    private static final String COMPLETE_LEASE = """
+        UPDATE ncf_leases SET status = 'COMPLETED' WHERE id = ? AND node_id = ?
+        """;
+    private static final String RELEASE_LEASE = """
+        UPDATE ncf_leases SET node_id = NULL WHERE id = ? AND node_id = ? AND status = 'ACTIVE'
+        """;
+    private static final String HEARTBEAT = """
+        UPDATE ncf_leases SET heartbeat_at = now()
+        WHERE id = ANY(?::uuid[]) AND node_id = ? AND status = 'ACTIVE'
+        RETURNING id
+        """;
+
+    private final NCFLeaseRowMapper leaseRowMapper = new NCFLeaseRowMapper();
+
+    @Override
+    public Optional<NCFLease> createLease(Invoice.NCFType type, int year, int size, String nodeId) {
+        return jdbcTemplate.query(CREATE_LEASE, leaseRowMapper, type.name(), year, size, nodeId)
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<NCFLease> adoptStaleLease(Invoice.NCFType type, int year, String nodeId, Duration staleAfter) {
+        return jdbcTemplate.query(ADOPT_STALE_LEASE, leaseRowMapper,
+                        nodeId, staleAfter.toSeconds(), type.name(), year, staleAfter.toSeconds())
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<Long> findUnusedNumbers(NCFLease lease) {
+        return jdbcTemplate.queryForList(SELECT_UNUSED_NUMBERS, Long.class,
+                lease.getRangeStart(), lease.getRangeEnd(), lease.getPrefix());
+    }
+
+    @Override
+    public boolean isIssued(String ncf) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SELECT_ISSUED, Boolean.class, ncf));
+    }
+
+    @Override
+    public void complete(UUID leaseId, String nodeId) {
+        jdbcTemplate.update(COMPLETE_LEASE, leaseId, nodeId);
+    }
+
+    @Override
+    public void release(UUID leaseId, String nodeId) {
+        jdbcTemplate.update(RELEASE_LEASE, leaseId, nodeId);
+    }
+
+    @Override
+    public Set<UUID> heartbeat(String nodeId, Collection<UUID> leaseIds) {
+        if (leaseIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(HEARTBEAT, (rs, rowNum) -> UUID.fromString(rs.getString("id")),
+                leaseIds.stream().map(UUID::toString).toArray(String[]::new), nodeId));
+    }
+
+    private static class NCFLeaseRowMapper implements RowMapper<NCFLease> {
+        @Override
+        public NCFLease mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return NCFLease.builder()
+                    .id(UUID.fromString(rs.getString("id")))
+                    .ncfType(Invoice.NCFType.valueOf(rs.getString("ncf_type")))
+                    .prefix(rs.getString("prefix"))
+                    .year(rs.getInt("year"))
+                    .rangeStart(rs.getLong("range_start"))
+                    .rangeEnd(rs.getLong("range_end"))
+                    .nodeId(rs.getString("node_id"))
+                    .status(NCFLease.LeaseStatus.valueOf(rs.getString("status")))
+                    .leasedAt(rs.getTimestamp("leased_at").toLocalDateTime())
+                    .heartbeatAt(rs.getTimestamp("heartbeat_at").toLocalDateTime())
+                    .build();
+        }
+    }
+}
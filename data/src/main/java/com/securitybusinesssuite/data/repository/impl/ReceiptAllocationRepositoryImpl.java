@@ -1,8 +1,12 @@
 // path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/ReceiptAllocationRepositoryImpl.java
 package com.securitybusinesssuite.data.repository.impl;
 
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoicePaymentHistory;
 import com.securitybusinesssuite.data.entity.ReceiptAllocation;
 import com.securitybusinesssuite.data.repository.ReceiptAllocationRepository;
+import com.securitybusinesssuite.data.repository.uow.UnitOfWorkInvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
@@ -13,6 +17,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +28,7 @@ import java.util.UUID;
 public class ReceiptAllocationRepositoryImpl implements ReceiptAllocationRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final UnitOfWorkInvoiceRepository invoiceUnitOfWork;
 
     private static final String INSERT_ALLOCATION = """
         INSERT INTO receipt_allocations (id, receipt_id, invoice_id, allocated_amount, created_at, created_by)
@@ -35,14 +42,59 @@ public class ReceiptAllocationRepositoryImpl implements ReceiptAllocationReposit
 
     private static final String SELECT_BY_ID = SELECT_BASE + " WHERE id = ?";
     private static final String SELECT_BY_RECEIPT_ID = SELECT_BASE + " WHERE receipt_id = ?";
+    private static final String SELECT_BY_RECEIPT_IDS = SELECT_BASE + " WHERE receipt_id = ANY(?::uuid[])";
     private static final String SELECT_BY_INVOICE_ID = SELECT_BASE + " WHERE invoice_id = ?";
 
+    // One round trip: the invoice row, left joined so an unpaid invoice still comes back, with its
+    // allocations and their receipts in payment order and the running totals as window sums
+    private static final String SELECT_PAYMENT_HISTORY = """
+        SELECT i.id AS invoice_id, i.invoice_number, i.total_amount, i.paid_amount, i.balance_due, i.status,
+               ra.id AS allocation_id, ra.allocated_amount, ra.created_at AS allocated_at,
+               r.id AS receipt_id, r.receipt_number, r.issue_date, r.payment_method, r.reference_number,
+               SUM(ra.allocated_amount) OVER payments AS paid_to_date,
+               i.total_amount - SUM(ra.allocated_amount) OVER payments AS balance_after
+        FROM invoices i
+        LEFT JOIN receipt_allocations ra ON ra.invoice_id = i.id
+        LEFT JOIN receipts r ON r.id = ra.receipt_id
+        WHERE i.id = ?
+        WINDOW payments AS (ORDER BY r.issue_date, ra.created_at, ra.id)
+        ORDER BY r.issue_date, ra.created_at, ra.id
+        """;
+
     private static final String SUM_BY_RECEIPT_ID = "SELECT COALESCE(SUM(allocated_amount), 0) FROM receipt_allocations WHERE receipt_id = ?";
     private static final String SUM_BY_INVOICE_ID = "SELECT COALESCE(SUM(allocated_amount), 0) FROM receipt_allocations WHERE invoice_id = ?";
 
     private static final String DELETE_BY_ID = "DELETE FROM receipt_allocations WHERE id = ?";
     private static final String DELETE_BY_RECEIPT_ID = "DELETE FROM receipt_allocations WHERE receipt_id = ?";
 
+    // Deletes the receipts' allocations and takes the summed amounts off each invoice in one
+    // statement. Invoices are locked in id order; status follows the same rules as
+    // InvoiceService.updateInvoicePaymentStatus, except that cancelled invoices stay cancelled.
+    private static final String REVERSE_BY_RECEIPT_IDS = """
+        WITH removed AS (
+            DELETE FROM receipt_allocations WHERE receipt_id = ANY(?::uuid[])
+            RETURNING invoice_id, allocated_amount
+        ), reversed AS (
+            SELECT invoice_id, SUM(allocated_amount) AS amount FROM removed GROUP BY invoice_id
+        ), locked AS (
+            SELECT i.id, r.amount FROM invoices i JOIN reversed r ON r.invoice_id = i.id
+            ORDER BY i.id
+            FOR UPDATE OF i
+        )
+        UPDATE invoices i
+        SET paid_amount = i.paid_amount - l.amount,
+            balance_due = i.total_amount - (i.paid_amount - l.amount),
+            status = CASE
+                WHEN i.status = 'CANCELLED' THEN i.status
+                WHEN i.total_amount - (i.paid_amount - l.amount) <= 0 THEN 'PAID'::invoice_status_enum
+                WHEN i.due_date < CURRENT_DATE THEN 'OVERDUE'::invoice_status_enum
+                ELSE 'PENDING'::invoice_status_enum
+            END,
+            updated_at = now(), updated_by = ?
+        FROM locked l
+        WHERE i.id = l.id
+        """;
+
     private final ReceiptAllocationRowMapper allocationRowMapper = new ReceiptAllocationRowMapper();
 
     @Override
@@ -72,11 +124,56 @@ public class ReceiptAllocationRepositoryImpl implements ReceiptAllocationReposit
         return jdbcTemplate.query(SELECT_BY_RECEIPT_ID, allocationRowMapper, receiptId);
     }
 
+    @Override
+    public List<ReceiptAllocation> findAllByReceiptIds(Collection<UUID> receiptIds) {
+        if (receiptIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_BY_RECEIPT_IDS, allocationRowMapper,
+                (Object) receiptIds.stream().map(UUID::toString).toArray(String[]::new));
+    }
+
     @Override
     public List<ReceiptAllocation> findByInvoiceId(UUID invoiceId) {
         return jdbcTemplate.query(SELECT_BY_INVOICE_ID, allocationRowMapper, invoiceId);
     }
 
+    @Override
+    public Optional<InvoicePaymentHistory> findPaymentHistory(UUID invoiceId) {
+        return Optional.ofNullable(jdbcTemplate.query(SELECT_PAYMENT_HISTORY, rs -> {
+            InvoicePaymentHistory history = null;
+            while (rs.next()) {
+                if (history == null) {
+                    history = InvoicePaymentHistory.builder()
+                            .invoiceId(UUID.fromString(rs.getString("invoice_id")))
+                            .invoiceNumber(rs.getString("invoice_number"))
+                            .totalAmount(rs.getBigDecimal("total_amount"))
+                            .paidAmount(rs.getBigDecimal("paid_amount"))
+                            .balanceDue(rs.getBigDecimal("balance_due"))
+                            .status(Invoice.InvoiceStatus.valueOf(rs.getString("status")))
+                            .payments(new ArrayList<>())
+                            .build();
+                }
+                // An invoice without payments comes back as one row with null allocation columns
+                if (rs.getString("allocation_id") != null) {
+                    history.getPayments().add(InvoicePaymentHistory.Payment.builder()
+                            .allocationId(UUID.fromString(rs.getString("allocation_id")))
+                            .receiptId(UUID.fromString(rs.getString("receipt_id")))
+                            .receiptNumber(rs.getString("receipt_number"))
+                            .receiptDate(rs.getDate("issue_date").toLocalDate())
+                            .paymentMethod(Client.PaymentMethod.valueOf(rs.getString("payment_method")))
+                            .referenceNumber(rs.getString("reference_number"))
+                            .amount(rs.getBigDecimal("allocated_amount"))
+                            .allocatedAt(rs.getTimestamp("allocated_at").toLocalDateTime())
+                            .paidToDate(rs.getBigDecimal("paid_to_date"))
+                            .balanceAfter(rs.getBigDecimal("balance_after"))
+                            .build());
+                }
+            }
+            return history;
+        }, invoiceId));
+    }
+
     @Override
     public BigDecimal getTotalAllocatedByReceiptId(UUID receiptId) {
         return jdbcTemplate.queryForObject(SUM_BY_RECEIPT_ID, BigDecimal.class, receiptId);
@@ -97,6 +194,16 @@ public class ReceiptAllocationRepositoryImpl implements ReceiptAllocationReposit
         jdbcTemplate.update(DELETE_BY_RECEIPT_ID, receiptId);
     }
 
+    @Override
+    public int reverseByReceiptIds(Collection<UUID> receiptIds, UUID updatedBy) {
+        if (receiptIds.isEmpty()) {
+            return 0;
+        }
+        // Rewrites paid amounts, balances and statuses behind the invoice unit of work
+        return invoiceUnitOfWork.writeThrough(() -> jdbcTemplate.update(REVERSE_BY_RECEIPT_IDS,
+                receiptIds.stream().map(UUID::toString).toArray(String[]::new), updatedBy));
+    }
+
     private static class ReceiptAllocationRowMapper implements RowMapper<ReceiptAllocation> {
         @Override
         public ReceiptAllocation mapRow(ResultSet rs, int rowNum) throws SQLException {
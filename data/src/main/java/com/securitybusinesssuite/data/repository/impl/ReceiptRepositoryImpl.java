@@ -4,10 +4,17 @@ package com.securitybusinesssuite.data.repository.impl;
 import com.securitybusinesssuite.data.entity.Client;
 import com.securitybusinesssuite.data.entity.Receipt;
 import com.securitybusinesssuite.data.repository.ReceiptRepository;
+import com.securitybusinesssuite.data.repository.search.ReceiptSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.SearchQueryCompiler;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
@@ -16,10 +23,10 @@ import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -44,13 +51,28 @@ public class ReceiptRepositoryImpl implements ReceiptRepository {
         WHERE id = ?
         """;
 
-    private static final String SELECT_BASE = """
-        SELECT id, receipt_number, client_id, issue_date, total_amount, payment_method, currency,
-               check_number, bank_name, reference_number, status, notes, created_at, updated_at,
-               created_by, updated_by
-        FROM receipts
+    // Locks in id order so concurrent bulk voids cannot deadlock; already voided receipts are skipped
+    private static final String VOID_RECEIPTS = """
+        UPDATE receipts SET status = 'VOIDED',
+                           notes = CASE WHEN notes IS NULL THEN ? ELSE notes || ? END,
+                           updated_at = now(), updated_by = ?
+        WHERE id IN (
+            SELECT id FROM receipts
+            WHERE id = ANY(?::uuid[]) AND status <> 'VOIDED'
+            ORDER BY id
+            FOR UPDATE
+        )
+        RETURNING id
         """;
 
+    private static final String SELECT_COLUMNS = """
+        id, receipt_number, client_id, issue_date, total_amount, payment_method, currency,
+        check_number, bank_name, reference_number, status, notes, created_at, updated_at,
+        created_by, updated_by
+        """;
+
+    private static final String SELECT_BASE = "SELECT " + SELECT_COLUMNS + " FROM receipts";
+
     private static final String SELECT_BY_ID = SELECT_BASE + " WHERE id = ?";
     private static final String SELECT_BY_RECEIPT_NUMBER = SELECT_BASE + " WHERE receipt_number = ?";
     private static final String SELECT_BY_CLIENT_ID = SELECT_BASE + " WHERE client_id = ?";
@@ -60,6 +82,16 @@ public class ReceiptRepositoryImpl implements ReceiptRepository {
     private static final String SUM_BY_CLIENT_ID = "SELECT COALESCE(SUM(total_amount), 0) FROM receipts WHERE client_id = ? AND status = 'ACTIVE'";
     private static final String DELETE_BY_ID = "DELETE FROM receipts WHERE id = ?";
 
+    private static final SearchQueryCompiler SEARCH = new SearchQueryCompiler("receipts", SELECT_COLUMNS,
+            "client_id = ?",
+            "status = ?::receipt_status_enum",
+            "issue_date >= ?",
+            "issue_date <= ?")
+            .sortableBy(Map.of(
+                    "issueDate", "issue_date",
+                    "totalAmount", "total_amount",
+                    "receiptNumber", "receipt_number"));
+
     private final ReceiptRowMapper receiptRowMapper = new ReceiptRowMapper();
 
     @Override
@@ -114,6 +146,16 @@ public class ReceiptRepositoryImpl implements ReceiptRepository {
         return receipt;
     }
 
+    @Override
+    public List<UUID> voidAll(Collection<UUID> ids, String reason, UUID updatedBy) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(VOID_RECEIPTS, (rs, rowNum) -> UUID.fromString(rs.getString("id")),
+                "Voided: " + reason, "\n\nVoided: " + reason, updatedBy,
+                ids.stream().map(UUID::toString).toArray(String[]::new));
+    }
+
     @Override
     public Optional<Receipt> findById(UUID id) {
         return jdbcTemplate.query(SELECT_BY_ID, receiptRowMapper, id).stream().findFirst();
@@ -136,52 +178,29 @@ public class ReceiptRepositoryImpl implements ReceiptRepository {
 
     @Override
     public Page<Receipt> findAll(Pageable pageable) {
-        String sql = SELECT_BASE + " ORDER BY created_at DESC LIMIT ? OFFSET ?";
-        List<Receipt> receipts = jdbcTemplate.query(sql, receiptRowMapper,
-                pageable.getPageSize(), pageable.getOffset());
-
-        long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM receipts", Long.class);
-        return new PageImpl<>(receipts, pageable, total);
+        SearchPage<Receipt> page = SEARCH.page(jdbcTemplate, receiptRowMapper,
+                filterValues(new ReceiptSearchFilter()), pageable, TotalMode.EXACT);
+        return new PageImpl<>(page.getContent(), pageable, page.getTotal());
     }
 
     @Override
-    public Page<Receipt> findByFilters(UUID clientId, Receipt.ReceiptStatus status,
-                                       LocalDate fromDate, LocalDate toDate, Pageable pageable) {
-        StringBuilder sql = new StringBuilder(SELECT_BASE + " WHERE 1=1");
-        List<Object> params = new ArrayList<>();
-
-        if (clientId != null) {
-            sql.append(" AND client_id = ?");
-            params.add(clientId);
-        }
-
-        if (status != null) {
-            sql.append(" AND status = ?::receipt_status_enum");
-            params.add(status.name());
-        }
-
-        if (fromDate != null) {
-            sql.append(" AND issue_date >= ?");
-            params.add(fromDate);
-        }
-
-        if (toDate != null) {
-            sql.append(" AND issue_date <= ?");
-            params.add(toDate);
-        }
-
-        sql.append(" ORDER BY created_at DESC LIMIT ? OFFSET ?");
-        params.add(pageable.getPageSize());
-        params.add(pageable.getOffset());
-
-        List<Receipt> receipts = jdbcTemplate.query(sql.toString(), receiptRowMapper, params.toArray());
+    public SearchPage<Receipt> findByFilters(ReceiptSearchFilter filter, Pageable pageable, TotalMode totalMode) {
+        return SEARCH.page(jdbcTemplate, receiptRowMapper, filterValues(filter), pageable, totalMode);
+    }
 
-        // Count query for total
-        String countSql = sql.toString().replace(SELECT_BASE, "SELECT COUNT(*)").split(" ORDER BY")[0];
-        long total = jdbcTemplate.queryForObject(countSql, Long.class,
-                params.subList(0, params.size() - 2).toArray());
+    @Override
+    public Window<Receipt> findByFilters(ReceiptSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit) {
+        return SEARCH.window(jdbcTemplate, receiptRowMapper, filterValues(filter), sort, position, limit);
+    }
 
-        return new PageImpl<>(receipts, pageable, total);
+    // Values in the order of the SEARCH predicates; null leaves a predicate out
+    private Object[] filterValues(ReceiptSearchFilter filter) {
+        return new Object[]{
+                filter.getClientId(),
+                filter.getStatus() != null ? filter.getStatus().name() : null,
+                filter.getFromDate(),
+                filter.getToDate()
+        };
     }
 
     @Override
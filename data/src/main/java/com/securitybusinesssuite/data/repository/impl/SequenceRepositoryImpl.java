@@ -1,6 +1,7 @@
 // path: data/src/main/java/com/securitybusinesssuite/data/repository/impl/SequenceRepositoryImpl.java
 package com.securitybusinesssuite.data.repository.impl;
 
+import com.securitybusinesssuite.data.config.AllocationPool;
 import com.securitybusinesssuite.data.entity.*;
 import com.securitybusinesssuite.data.repository.SequenceRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class SequenceRepositoryImpl implements SequenceRepository {
 
     private final JdbcTemplate jdbcTemplate;
+    private final AllocationPool allocationPool;
 
     // NCF Sequence queries
     private static final String SELECT_NCF_SEQUENCE = """
@@ -44,6 +46,13 @@ public class SequenceRepositoryImpl implements SequenceRepository {
         UPDATE client_sequences SET current_number = ? WHERE id = ?
         """;
 
+    // Creates the year's row on first use; returns the counter after adding count
+    private static final String INCREMENT_CLIENT_SEQUENCE = """
+        INSERT INTO client_sequences (id, current_number, year) VALUES (gen_random_uuid(), ?, ?)
+        ON CONFLICT (year) DO UPDATE SET current_number = client_sequences.current_number + EXCLUDED.current_number
+        RETURNING id, current_number, prefix, year
+        """;
+
     // Invoice Sequence queries  
     private static final String SELECT_INVOICE_SEQUENCE = """
         SELECT id, current_number, year FROM invoice_sequences WHERE year = ?
@@ -57,6 +66,12 @@ public class SequenceRepositoryImpl implements SequenceRepository {
         UPDATE invoice_sequences SET current_number = ? WHERE id = ?
         """;
 
+    private static final String INCREMENT_INVOICE_SEQUENCE = """
+        INSERT INTO invoice_sequences (id, current_number, year) VALUES (gen_random_uuid(), ?, ?)
+        ON CONFLICT (year) DO UPDATE SET current_number = invoice_sequences.current_number + EXCLUDED.current_number
+        RETURNING id, current_number, year
+        """;
+
     // Receipt Sequence queries
     private static final String SELECT_RECEIPT_SEQUENCE = """
         SELECT id, current_number, prefix, year FROM receipt_sequences WHERE year = ?
@@ -70,6 +85,12 @@ public class SequenceRepositoryImpl implements SequenceRepository {
         UPDATE receipt_sequences SET current_number = ? WHERE id = ?
         """;
 
+    private static final String INCREMENT_RECEIPT_SEQUENCE = """
+        INSERT INTO receipt_sequences (id, current_number, year) VALUES (gen_random_uuid(), ?, ?)
+        ON CONFLICT (year) DO UPDATE SET current_number = receipt_sequences.current_number + EXCLUDED.current_number
+        RETURNING id, current_number, prefix, year
+        """;
+
     @Override
     public Optional<NCFSequence> findNCFSequenceByTypeAndYear(Invoice.NCFType type, int year) {
         return jdbcTemplate.query(SELECT_NCF_SEQUENCE, new NCFSequenceRowMapper(), type.name(), year)
@@ -112,6 +133,17 @@ public class SequenceRepositoryImpl implements SequenceRepository {
         return sequence;
     }
 
+    @Override
+    public ClientSequence incrementClientSequence(int year, int count) {
+        return jdbcTemplate.queryForObject(INCREMENT_CLIENT_SEQUENCE, new ClientSequenceRowMapper(), count, year);
+    }
+
+    @Override
+    public ClientSequence reserveClientSequence(int year, int count) {
+        return allocationPool.execute(status -> allocationPool.getJdbcTemplate()
+                .queryForObject(INCREMENT_CLIENT_SEQUENCE, new ClientSequenceRowMapper(), count, year));
+    }
+
     @Override
     public Optional<InvoiceSequence> findInvoiceSequenceByYear(int year) {
         return jdbcTemplate.query(SELECT_INVOICE_SEQUENCE, new InvoiceSequenceRowMapper(), year)
@@ -135,6 +167,17 @@ public class SequenceRepositoryImpl implements SequenceRepository {
         return sequence;
     }
 
+    @Override
+    public InvoiceSequence incrementInvoiceSequence(int year, int count) {
+        return jdbcTemplate.queryForObject(INCREMENT_INVOICE_SEQUENCE, new InvoiceSequenceRowMapper(), count, year);
+    }
+
+    @Override
+    public InvoiceSequence reserveInvoiceSequence(int year, int count) {
+        return allocationPool.execute(status -> allocationPool.getJdbcTemplate()
+                .queryForObject(INCREMENT_INVOICE_SEQUENCE, new InvoiceSequenceRowMapper(), count, year));
+    }
+
     @Override
     public Optional<ReceiptSequence> findReceiptSequenceByYear(int year) {
         return jdbcTemplate.query(SELECT_RECEIPT_SEQUENCE, new ReceiptSequenceRowMapper(), year)
@@ -159,6 +202,17 @@ public class SequenceRepositoryImpl implements SequenceRepository {
         return sequence;
     }
 
+    @Override
+    public ReceiptSequence incrementReceiptSequence(int year, int count) {
+        return jdbcTemplate.queryForObject(INCREMENT_RECEIPT_SEQUENCE, new ReceiptSequenceRowMapper(), count, year);
+    }
+
+    @Override
+    public ReceiptSequence reserveReceiptSequence(int year, int count) {
+        return allocationPool.execute(status -> allocationPool.getJdbcTemplate()
+                .queryForObject(INCREMENT_RECEIPT_SEQUENCE, new ReceiptSequenceRowMapper(), count, year));
+    }
+
     // Row Mappers
     private static class NCFSequenceRowMapper implements RowMapper<NCFSequence> {
         @Override
@@ -0,0 +1,19 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/ClientSearchFilter.java
+package com.securitybusinesssuite.data.repository.search;
+
+import com.securitybusinesssuite.data.entity.Client;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSearchFilter {
+    private String businessName;
+    private Client.ClientType clientType;
+    private Client.ClientStatus status;
+    private Client.BusinessSector businessSector;
+}
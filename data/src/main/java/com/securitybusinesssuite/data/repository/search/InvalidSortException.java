@@ -0,0 +1,9 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/InvalidSortException.java
+package com.securitybusinesssuite.data.repository.search;
+
+// A sort property outside a search's whitelist, or a cursor issued for another sort order
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
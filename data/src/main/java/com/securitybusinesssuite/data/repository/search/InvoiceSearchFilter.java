@@ -0,0 +1,28 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/InvoiceSearchFilter.java
+package com.securitybusinesssuite.data.repository.search;
+
+import com.securitybusinesssuite.data.entity.Invoice;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSearchFilter {
+    private UUID clientId;
+    private Invoice.InvoiceStatus status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private String clientName;
+    private String invoiceNumber;
+    private String ncf;
+}
@@ -0,0 +1,47 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/KeysetPositions.java
+package com.securitybusinesssuite.data.repository.search;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Keyset positions for listings ordered by (<sort column>, id), created_at unless another sort
+// property is requested. The position names its sort property, so a cursor is only accepted for
+// the order it was issued for.
+public final class KeysetPositions {
+
+    public static final String CREATED_AT = "createdAt";
+    public static final String ID = "id";
+
+    private KeysetPositions() {
+    }
+
+    public static KeysetScrollPosition of(String property, Object value, UUID id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, value);
+        keys.put(ID, id);
+        return ScrollPosition.forward(keys);
+    }
+
+    static Object[] bindValues(KeysetScrollPosition position, String property) {
+        Map<String, Object> keys = position.getKeys();
+        if (keys.size() != 2 || !keys.containsKey(property) || !(keys.get(ID) instanceof UUID)) {
+            throw new InvalidSortException("Cursor does not match the requested sort order");
+        }
+
+        Object value = keys.get(property);
+        if (value instanceof LocalDateTime dateTime) {
+            value = Timestamp.valueOf(dateTime);
+        } else if (value instanceof LocalDate date) {
+            value = Date.valueOf(date);
+        }
+        return new Object[]{value, keys.get(ID)};
+    }
+}
@@ -0,0 +1,22 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/ReceiptSearchFilter.java
+package com.securitybusinesssuite.data.repository.search;
+
+import com.securitybusinesssuite.data.entity.Receipt;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptSearchFilter {
+    private UUID clientId;
+    private Receipt.ReceiptStatus status;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+}
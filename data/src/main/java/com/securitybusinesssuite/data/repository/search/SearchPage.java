@@ -0,0 +1,19 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/SearchPage.java
+package com.securitybusinesssuite.data.repository.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchPage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    // Null when the total was not requested
+    private Long total;
+    private boolean totalEstimated;
+}
@@ -0,0 +1,319 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/SearchQueryCompiler.java
+package com.securitybusinesssuite.data.repository.search;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Builds search SQL from a fixed list of optional predicates and caches one template per
+// combination of present filters, sort order and query shape, so repeated searches never
+// re-assemble SQL. Filter values are passed in predicate order; a null value leaves its predicate
+// out and a present one is bound to every placeholder of its predicate.
+// Rows are ordered by one whitelisted sort column with id as the tie-breaker, created_at DESC by
+// default; every sort column must be NOT NULL and indexed on (column, id), or on (column,
+// tie-breaker) for columns read from a view's other table.
+public final class SearchQueryCompiler {
+
+    private static final String ESTIMATE_ROWS = "SELECT reltuples::bigint FROM pg_class WHERE oid = ?::regclass";
+    private static final SortOrder DEFAULT_ORDER = new SortOrder(KeysetPositions.CREATED_AT, "created_at", "id", true);
+
+    private enum Shape {
+        PAGE_WITH_TOTAL,
+        PAGE,
+        KEYSET_FIRST,
+        KEYSET_NEXT,
+        COUNT
+    }
+
+    private record SortOrder(String property, String column, String idColumn, boolean descending) {
+    }
+
+    private record TemplateKey(int mask, Shape shape, SortOrder order) {
+    }
+
+    private final String table;
+    private final String source;
+    private final String columns;
+    private final String[] predicates;
+    private final int[] placeholders;
+    private final Ranking ranking;
+    private final Map<String, String> sortColumns;
+    private final Map<String, String> tieBreakers;
+    private final Map<TemplateKey, String> templates = new ConcurrentHashMap<>();
+
+    // Offset pages in the default order put the best matches first while the ranked predicate is
+    // present; keyset windows keep the order their positions are built from
+    public record Ranking(int predicate, String expression) {
+    }
+
+    public SearchQueryCompiler(String table, String columns, String... predicates) {
+        this(table, table, columns, null, Map.of(), Map.of(), predicates);
+    }
+
+    public SearchQueryCompiler(String table, String columns, Ranking ranking, String... predicates) {
+        this(table, table, columns, ranking, Map.of(), Map.of(), predicates);
+    }
+
+    private SearchQueryCompiler(String table, String source, String columns, Ranking ranking,
+                                Map<String, String> sortColumns, Map<String, String> tieBreakers,
+                                String... predicates) {
+        if (predicates.length > Integer.SIZE - 4) {
+            throw new IllegalArgumentException("Too many search predicates for " + table);
+        }
+        if (ranking != null && (ranking.predicate() < 0 || ranking.predicate() >= predicates.length)) {
+            throw new IllegalArgumentException("Ranking refers to an unknown predicate of " + table);
+        }
+        this.table = table;
+        this.source = source;
+        this.columns = columns.strip();
+        this.predicates = predicates;
+        this.placeholders = new int[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            placeholders[i] = placeholders(predicates[i]);
+        }
+        this.ranking = ranking;
+        this.sortColumns = new LinkedHashMap<>();
+        this.sortColumns.put(DEFAULT_ORDER.property(), DEFAULT_ORDER.column());
+        this.sortColumns.putAll(sortColumns);
+        this.tieBreakers = Map.copyOf(tieBreakers);
+    }
+
+    // Reads rows from a view over the table, e.g. one joining a search read model; unfiltered row
+    // estimates still come from the table's statistics
+    public static SearchQueryCompiler overView(String table, String view, String columns, String... predicates) {
+        return new SearchQueryCompiler(table, view, columns, null, Map.of(), Map.of(), predicates);
+    }
+
+    // The sort properties accepted besides createdAt, mapped to their columns
+    public SearchQueryCompiler sortableBy(Map<String, String> sortColumns) {
+        return new SearchQueryCompiler(table, source, columns, ranking, sortColumns, tieBreakers, predicates);
+    }
+
+    // Sort properties whose column a view reads from its other table, mapped to that table's copy of
+    // id. The planner only uses that table's (column, id) index for the order and the keyset seek
+    // when both come from the same table.
+    public SearchQueryCompiler tieBrokenBy(Map<String, String> tieBreakers) {
+        return new SearchQueryCompiler(table, source, columns, ranking, sortColumns, tieBreakers, predicates);
+    }
+
+    // The same search returning other columns, e.g. a list projection; it must keep id and the sort columns
+    public SearchQueryCompiler selecting(String columns) {
+        return new SearchQueryCompiler(table, source, columns, ranking, sortColumns, tieBreakers, predicates);
+    }
+
+    public <T> SearchPage<T> page(JdbcTemplate jdbcTemplate, RowMapper<T> rowMapper, Object[] filterValues,
+                                  Pageable pageable, TotalMode totalMode) {
+        int mask = mask(filterValues);
+        SortOrder order = sortOrder(pageable.getSort());
+        int size = pageable.getPageSize();
+        long offset = pageable.getOffset();
+
+        // Planner statistics only describe the whole table, so estimates apply to unfiltered listings
+        Long estimate = null;
+        if (totalMode == TotalMode.ESTIMATED && mask == 0) {
+            estimate = jdbcTemplate.queryForObject(ESTIMATE_ROWS, Long.class, table);
+            if (estimate != null && estimate < 0) {
+                estimate = null; // never analyzed
+            }
+        }
+
+        if (totalMode == TotalMode.NONE || estimate != null) {
+            // Fetch one extra row to learn whether another page exists
+            List<T> rows = jdbcTemplate.query(template(mask, Shape.PAGE, order), rowMapper,
+                    bindPage(filterValues, mask, order, size + 1, offset));
+            boolean hasNext = rows.size() > size;
+            List<T> content = hasNext ? rows.subList(0, size) : rows;
+            Long total = estimate != null ? Math.max(estimate, offset + rows.size()) : null;
+            return new SearchPage<>(content, pageable.getPageNumber(), size, hasNext, total, estimate != null);
+        }
+
+        // Data and total in one round trip; the window count is evaluated before LIMIT
+        long[] total = {0};
+        List<T> content = jdbcTemplate.query(template(mask, Shape.PAGE_WITH_TOTAL, order), (rs, rowNum) -> {
+            if (rowNum == 0) {
+                total[0] = rs.getLong("total_count");
+            }
+            return rowMapper.mapRow(rs, rowNum);
+        }, bindPage(filterValues, mask, order, size, offset));
+
+        // A page past the end carries no rows to read the count from
+        if (content.isEmpty() && offset > 0) {
+            Long count = jdbcTemplate.queryForObject(template(mask, Shape.COUNT, order), Long.class,
+                    bind(filterValues));
+            total[0] = count != null ? count : 0;
+        }
+
+        return new SearchPage<>(content, pageable.getPageNumber(), size,
+                offset + content.size() < total[0], total[0], false);
+    }
+
+    public <T> Window<T> window(JdbcTemplate jdbcTemplate, RowMapper<T> rowMapper, Object[] filterValues,
+                                Sort sort, KeysetScrollPosition position, int limit) {
+        int mask = mask(filterValues);
+        SortOrder order = sortOrder(sort);
+
+        // Each row's position is read from its own sort column and id
+        List<ScrollPosition> positions = new ArrayList<>();
+        RowMapper<T> positionMapper = (rs, rowNum) -> {
+            positions.add(KeysetPositions.of(order.property(), sortValue(rs, order.column()),
+                    UUID.fromString(rs.getString("id"))));
+            return rowMapper.mapRow(rs, rowNum);
+        };
+
+        // Seek past the last row of the previous page instead of skipping rows with OFFSET,
+        // fetching one extra row to learn whether another page exists
+        List<T> rows;
+        if (position.isInitial()) {
+            rows = jdbcTemplate.query(template(mask, Shape.KEYSET_FIRST, order), positionMapper,
+                    bind(filterValues, limit + 1));
+        } else {
+            Object[] keys = KeysetPositions.bindValues(position, order.property());
+            rows = jdbcTemplate.query(template(mask, Shape.KEYSET_NEXT, order), positionMapper,
+                    bind(filterValues, keys[0], keys[1], limit + 1));
+        }
+
+        boolean hasNext = rows.size() > limit;
+        List<T> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, positions::get, hasNext);
+    }
+
+    private int mask(Object[] filterValues) {
+        if (filterValues.length != predicates.length) {
+            throw new IllegalArgumentException("Expected " + predicates.length + " filter values for " + table);
+        }
+
+        int mask = 0;
+        for (int i = 0; i < filterValues.length; i++) {
+            if (filterValues[i] != null) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    // Accepts a whitelisted property or its column name; one sort property at most
+    private SortOrder sortOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return DEFAULT_ORDER;
+        }
+        if (orders.size() > 1) {
+            throw new InvalidSortException("Only one sort property is supported");
+        }
+
+        Sort.Order order = orders.get(0);
+        for (Map.Entry<String, String> sortColumn : sortColumns.entrySet()) {
+            if (sortColumn.getKey().equals(order.getProperty()) || sortColumn.getValue().equals(order.getProperty())) {
+                return new SortOrder(sortColumn.getKey(), sortColumn.getValue(),
+                        tieBreakers.getOrDefault(sortColumn.getKey(), "id"), order.isDescending());
+            }
+        }
+        throw new InvalidSortException("Unsupported sort property: " + order.getProperty()
+                + ". Supported: " + String.join(", ", sortColumns.keySet()));
+    }
+
+    private boolean ranked(int mask, SortOrder order) {
+        return ranking != null && (mask & (1 << ranking.predicate())) != 0 && order.equals(DEFAULT_ORDER);
+    }
+
+    private String template(int mask, Shape shape, SortOrder order) {
+        return templates.computeIfAbsent(new TemplateKey(mask, shape, order), key -> build(mask, shape, order));
+    }
+
+    private String build(int mask, Shape shape, SortOrder order) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(shape == Shape.COUNT ? "COUNT(*)" : columns);
+        if (shape == Shape.PAGE_WITH_TOTAL) {
+            sql.append(", COUNT(*) OVER() AS total_count");
+        }
+        sql.append(" FROM ").append(source);
+
+        String joiner = " WHERE ";
+        for (int i = 0; i < predicates.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                sql.append(joiner).append(predicates[i]);
+                joiner = " AND ";
+            }
+        }
+
+        // Sort column and id run in the same direction, so one (column, id) index serves both ways
+        String direction = order.descending() ? " DESC" : " ASC";
+        String orderBy = " ORDER BY " + order.column() + direction + ", " + order.idColumn() + direction;
+
+        switch (shape) {
+            case PAGE_WITH_TOTAL, PAGE -> {
+                if (ranked(mask, order)) {
+                    sql.append(" ORDER BY ").append(ranking.expression()).append(" DESC, created_at DESC, id DESC");
+                } else {
+                    sql.append(orderBy);
+                }
+                sql.append(" LIMIT ? OFFSET ?");
+            }
+            case KEYSET_FIRST -> sql.append(orderBy).append(" LIMIT ?");
+            case KEYSET_NEXT -> sql.append(joiner).append("(").append(order.column()).append(", ")
+                    .append(order.idColumn()).append(") ")
+                    .append(order.descending() ? "<" : ">").append(" (?, ?)")
+                    .append(orderBy).append(" LIMIT ?");
+            case COUNT -> {
+            }
+        }
+
+        return sql.toString();
+    }
+
+    private Object[] bindPage(Object[] filterValues, int mask, SortOrder order, int limit, long offset) {
+        if (!ranked(mask, order)) {
+            return bind(filterValues, limit, offset);
+        }
+
+        Object term = filterValues[ranking.predicate()];
+        List<Object> trailing = new ArrayList<>();
+        for (int i = placeholders(ranking.expression()); i > 0; i--) {
+            trailing.add(term);
+        }
+        trailing.add(limit);
+        trailing.add(offset);
+        return bind(filterValues, trailing.toArray());
+    }
+
+    private Object[] bind(Object[] filterValues, Object... trailing) {
+        List<Object> params = new ArrayList<>(filterValues.length + trailing.length);
+        for (int i = 0; i < filterValues.length; i++) {
+            if (filterValues[i] != null) {
+                for (int j = 0; j < placeholders[i]; j++) {
+                    params.add(filterValues[i]);
+                }
+            }
+        }
+        params.addAll(List.of(trailing));
+        return params.toArray();
+    }
+
+    private static Object sortValue(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return value;
+    }
+
+    private static int placeholders(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+}
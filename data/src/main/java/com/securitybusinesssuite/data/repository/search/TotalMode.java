@@ -0,0 +1,15 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/search/TotalMode.java
+package com.securitybusinesssuite.data.repository.search;
+
+public enum TotalMode {
+    EXACT,
+    ESTIMATED,
+    NONE;
+
+    public static TotalMode of(boolean includeTotal, boolean estimateTotal) {
+        if (!includeTotal) {
+            return NONE;
+        }
+        return estimateTotal ? ESTIMATED : EXACT;
+    }
+}
@@ -0,0 +1,351 @@
+// path: data/src/main/java/com/securitybusinesssuite/data/repository/uow/UnitOfWorkInvoiceRepository.java
+package com.securitybusinesssuite.data.repository.uow;
+
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.InvoiceSummary;
+import com.securitybusinesssuite.data.repository.InvoiceRepository;
+import com.securitybusinesssuite.data.repository.impl.InvoiceRepositoryImpl;
+import com.securitybusinesssuite.data.repository.search.InvoiceSearchFilter;
+import com.securitybusinesssuite.data.repository.search.SearchPage;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// Unit of work in front of InvoiceRepositoryImpl. Within a transaction each invoice id maps to one
+// instance, so services that load the same invoice share it, and update() only marks it dirty; the
+// changed columns are written in one UPDATE per invoice before commit. Every other query flushes
+// first so it sees those changes. SQL that changes invoice rows without going through this class
+// runs through writeThrough(), which flushes before it and evicts tracked invoices after it.
+// Outside a transaction this passes through.
+@Primary
+@Repository
+@RequiredArgsConstructor
+public class UnitOfWorkInvoiceRepository implements InvoiceRepository {
+
+    private final InvoiceRepositoryImpl delegate;
+
+    @Override
+    public Invoice save(Invoice invoice) {
+        Invoice saved = delegate.save(invoice);
+        Session session = currentSession();
+        if (session != null) {
+            session.track(saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public List<Invoice> saveAll(List<Invoice> invoices) {
+        List<Invoice> saved = delegate.saveAll(invoices);
+        Session session = currentSession();
+        if (session != null) {
+            saved.forEach(session::track);
+        }
+        return saved;
+    }
+
+    @Override
+    public Invoice update(Invoice invoice) {
+        Session session = currentSession();
+        if (session == null) {
+            return delegate.update(invoice);
+        }
+        if (session.evicted.contains(invoice)) {
+            // Writing it would put back the values the set-based statement replaced
+            throw new IllegalStateException("Invoice " + invoice.getId()
+                    + " was changed by a set-based statement after it was read; load it again before updating");
+        }
+
+        invoice.setUpdatedAt(LocalDateTime.now());
+        session.instances.put(invoice.getId(), invoice);
+        session.dirty.add(invoice.getId());
+        return invoice;
+    }
+
+    @Override
+    public Optional<Invoice> findById(UUID id) {
+        Session session = currentSession();
+        if (session == null) {
+            return delegate.findById(id);
+        }
+
+        Invoice tracked = session.instances.get(id);
+        if (tracked != null) {
+            return Optional.of(tracked);
+        }
+        return delegate.findById(id).map(session::track);
+    }
+
+    @Override
+    public List<Invoice> findAllByIds(Collection<UUID> ids) {
+        Session session = currentSession();
+        if (session == null) {
+            return delegate.findAllByIds(ids);
+        }
+
+        List<Invoice> invoices = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Invoice tracked = session.instances.get(id);
+            if (tracked != null) {
+                invoices.add(tracked);
+            } else {
+                missing.add(id);
+            }
+        }
+        delegate.findAllByIds(missing).forEach(invoice -> invoices.add(session.track(invoice)));
+        return invoices;
+    }
+
+    @Override
+    public Optional<Invoice> findByInvoiceNumber(String invoiceNumber) {
+        Session session = flushedSession();
+        Optional<Invoice> invoice = delegate.findByInvoiceNumber(invoiceNumber);
+        return session != null ? invoice.map(session::track) : invoice;
+    }
+
+    @Override
+    public Optional<Invoice> findByNcf(String ncf) {
+        Session session = flushedSession();
+        Optional<Invoice> invoice = delegate.findByNcf(ncf);
+        return session != null ? invoice.map(session::track) : invoice;
+    }
+
+    @Override
+    public List<InvoiceSummary> findSummariesByClientId(UUID clientId) {
+        flush();
+        return delegate.findSummariesByClientId(clientId);
+    }
+
+    @Override
+    public List<Invoice> findByStatus(Invoice.InvoiceStatus status) {
+        Session session = flushedSession();
+        List<Invoice> invoices = delegate.findByStatus(status);
+        return session != null ? session.trackAll(invoices) : invoices;
+    }
+
+    @Override
+    public List<Invoice> findByStatusAndDueDateBefore(Invoice.InvoiceStatus status, LocalDate date) {
+        Session session = flushedSession();
+        List<Invoice> invoices = delegate.findByStatusAndDueDateBefore(status, date);
+        return session != null ? session.trackAll(invoices) : invoices;
+    }
+
+    @Override
+    public List<InvoiceSummary> findOverdueSummaries() {
+        flush();
+        return delegate.findOverdueSummaries();
+    }
+
+    @Override
+    public Page<Invoice> findAll(Pageable pageable) {
+        flush();
+        return delegate.findAll(pageable);
+    }
+
+    @Override
+    public SearchPage<InvoiceSummary> findByFilters(InvoiceSearchFilter filter, Pageable pageable, TotalMode totalMode) {
+        flush();
+        return delegate.findByFilters(filter, pageable, totalMode);
+    }
+
+    @Override
+    public Window<InvoiceSummary> findByFilters(InvoiceSearchFilter filter, Sort sort, KeysetScrollPosition position, int limit) {
+        flush();
+        return delegate.findByFilters(filter, sort, position, limit);
+    }
+
+    @Override
+    public boolean existsByInvoiceNumber(String invoiceNumber) {
+        flush();
+        return delegate.existsByInvoiceNumber(invoiceNumber);
+    }
+
+    @Override
+    public boolean existsByNcf(String ncf) {
+        flush();
+        return delegate.existsByNcf(ncf);
+    }
+
+    @Override
+    public BigDecimal getTotalByClientAndStatus(UUID clientId, Invoice.InvoiceStatus status) {
+        flush();
+        return delegate.getTotalByClientAndStatus(clientId, status);
+    }
+
+    @Override
+    public long countByStatus(Invoice.InvoiceStatus status) {
+        flush();
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public long countByNcfTypeSince(Invoice.NCFType ncfType, LocalDateTime since) {
+        flush();
+        return delegate.countByNcfTypeSince(ncfType, since);
+    }
+
+    @Override
+    public OptionalLong markOverdue(LocalDate today, int chunkSize) {
+        return writeThrough(() -> delegate.markOverdue(today, chunkSize));
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        flush();
+        Session session = currentSession();
+        if (session != null) {
+            session.forget(id);
+        }
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public void flush() {
+        flushedSession();
+    }
+
+    // Runs a statement that changes invoice rows directly, e.g. a set-based payment reversal.
+    // Pending changes are written first so the statement sees them, and every tracked invoice is
+    // evicted afterwards so later reads load the statement's result instead of stale instances
+    public <T> T writeThrough(Supplier<T> statement) {
+        Session session = flushedSession();
+        T result = statement.get();
+        if (session != null) {
+            session.evictAll();
+        }
+        return result;
+    }
+
+    private Session flushedSession() {
+        Session session = currentSession();
+        if (session != null) {
+            session.flush();
+        }
+        return session;
+    }
+
+    // The current transaction's session, opened on first use; null outside a transaction
+    private Session currentSession() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Session session = (Session) TransactionSynchronizationManager.getResource(this);
+        if (session == null) {
+            session = new Session();
+            TransactionSynchronizationManager.bindResource(this, session);
+            TransactionSynchronizationManager.registerSynchronization(new SessionSynchronization(session));
+        }
+        return session;
+    }
+
+    private final class Session {
+        private final Map<UUID, Invoice> instances = new HashMap<>();
+        // Each tracked invoice as last read or written, to diff against on flush
+        private final Map<UUID, Invoice> snapshots = new HashMap<>();
+        private final Set<UUID> dirty = new LinkedHashSet<>();
+        // Instances dropped by evictAll(), by identity; their fields may predate the database row
+        private final Set<Invoice> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // Returns the instance already tracked for the id, so a row read twice stays one object
+        private Invoice track(Invoice invoice) {
+            Invoice tracked = instances.putIfAbsent(invoice.getId(), invoice);
+            if (tracked != null) {
+                return tracked;
+            }
+            snapshots.put(invoice.getId(), snapshot(invoice));
+            return invoice;
+        }
+
+        private List<Invoice> trackAll(List<Invoice> invoices) {
+            return invoices.stream().map(this::track).toList();
+        }
+
+        private void evictAll() {
+            evicted.addAll(instances.values());
+            instances.clear();
+            snapshots.clear();
+        }
+
+        private void forget(UUID id) {
+            instances.remove(id);
+            snapshots.remove(id);
+            dirty.remove(id);
+        }
+
+        private void flush() {
+            for (UUID id : dirty) {
+                Invoice invoice = instances.get(id);
+                Invoice loaded = snapshots.get(id);
+                if (loaded != null) {
+                    delegate.updateChanged(invoice, loaded);
+                } else {
+                    // Updated without being read here, so there is nothing to diff against
+                    delegate.update(invoice);
+                }
+                snapshots.put(id, snapshot(invoice));
+            }
+            dirty.clear();
+        }
+    }
+
+    private static Invoice snapshot(Invoice invoice) {
+        return invoice.toBuilder().build();
+    }
+
+    // Flushes before commit and unbinds the session with its transaction, also across suspension
+    private final class SessionSynchronization implements TransactionSynchronization {
+        private final Session session;
+
+        private SessionSynchronization(Session session) {
+            this.session = session;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(UnitOfWorkInvoiceRepository.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(UnitOfWorkInvoiceRepository.this, session);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            session.flush();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UnitOfWorkInvoiceRepository.this);
+        }
+    }
+}
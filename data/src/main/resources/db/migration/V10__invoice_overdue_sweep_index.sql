@@ -0,0 +1,3 @@
+-- path: data/src/main/resources/db/migration/V10__invoice_overdue_sweep_index.sql
+-- Lets the overdue sweeper find PENDING invoices past due without scanning settled ones
+CREATE INDEX idx_invoices_pending_due_date ON invoices(due_date) WHERE status = 'PENDING';
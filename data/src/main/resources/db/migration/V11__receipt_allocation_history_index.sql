@@ -0,0 +1,7 @@
+-- path: data/src/main/resources/db/migration/V11__receipt_allocation_history_index.sql
+-- Covers the invoice payment history: the allocations of one invoice are read from the index
+-- alone and joined to receipts by primary key. Replaces the plain invoice_id index.
+CREATE INDEX idx_receipt_allocations_invoice_history
+    ON receipt_allocations(invoice_id) INCLUDE (receipt_id, allocated_amount, created_at);
+
+DROP INDEX idx_receipt_allocations_invoice_id;
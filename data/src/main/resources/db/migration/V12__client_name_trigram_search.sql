@@ -0,0 +1,22 @@
+-- path: data/src/main/resources/db/migration/V12__client_name_trigram_search.sql
+-- Accent-insensitive client name search served by a trigram index, so substring matches no
+-- longer scan the whole table.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE because it resolves its dictionary through the search path; naming the
+-- dictionary makes the wrapper safe for generated columns and indexes. Search terms go through the
+-- same function, so "Cooperativa Jose" and "COOPERATIVA  JOSÉ" normalize alike.
+CREATE OR REPLACE FUNCTION search_normalize(value TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$
+    SELECT btrim(regexp_replace(lower(public.unaccent('public.unaccent'::regdictionary, value)), '\s+', ' ', 'g'))
+$$;
+
+ALTER TABLE clients
+    ADD COLUMN business_name_search TEXT GENERATED ALWAYS AS (search_normalize(business_name)) STORED;
+
+CREATE INDEX idx_clients_business_name_trgm ON clients USING gin (business_name_search gin_trgm_ops);
+
+-- Only served LIKE scans without a leading wildcard, which no query issues
+DROP INDEX idx_clients_business_name;
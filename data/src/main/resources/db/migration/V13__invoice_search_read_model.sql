@@ -0,0 +1,96 @@
+-- path: data/src/main/resources/db/migration/V13__invoice_search_read_model.sql
+-- Invoice search read model: the filterable invoice columns plus the client's name and RNC, kept
+-- in step by triggers in the same transaction as the invoice or client change. Searches filter
+-- and order on its indexes and join invoices only by primary key, so a client name filter no
+-- longer joins clients.
+CREATE TABLE invoice_search (
+                                invoice_id UUID PRIMARY KEY REFERENCES invoices(id) ON DELETE CASCADE,
+                                invoice_number TEXT NOT NULL,
+                                ncf TEXT,
+                                client_id UUID NOT NULL,
+                                client_name TEXT NOT NULL,
+                                client_name_search TEXT GENERATED ALWAYS AS (search_normalize(client_name)) STORED,
+                                client_rnc TEXT,
+                                status invoice_status_enum NOT NULL,
+                                issue_date DATE NOT NULL,
+                                total_amount NUMERIC(12,2) NOT NULL,
+                                created_at TIMESTAMPTZ NOT NULL
+);
+
+-- Listing order, alone and under the usual equality filters
+CREATE INDEX idx_invoice_search_created_at ON invoice_search(created_at, invoice_id);
+CREATE INDEX idx_invoice_search_client_created_at ON invoice_search(client_id, created_at, invoice_id);
+CREATE INDEX idx_invoice_search_status_created_at ON invoice_search(status, created_at, invoice_id);
+CREATE INDEX idx_invoice_search_issue_date ON invoice_search(issue_date);
+
+-- Prefix lookups on identifiers and substring lookups on the normalized client name
+CREATE INDEX idx_invoice_search_invoice_number ON invoice_search(invoice_number text_pattern_ops);
+CREATE INDEX idx_invoice_search_ncf ON invoice_search(ncf text_pattern_ops) WHERE ncf IS NOT NULL;
+CREATE INDEX idx_invoice_search_client_rnc ON invoice_search(client_rnc text_pattern_ops) WHERE client_rnc IS NOT NULL;
+CREATE INDEX idx_invoice_search_client_name_trgm ON invoice_search USING gin (client_name_search gin_trgm_ops);
+
+CREATE FUNCTION sync_invoice_search() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO invoice_search (invoice_id, invoice_number, ncf, client_id, client_name, client_rnc,
+                                status, issue_date, total_amount, created_at)
+    SELECT NEW.id, NEW.invoice_number, NEW.ncf, NEW.client_id, c.business_name, c.rnc,
+           NEW.status, NEW.issue_date, NEW.total_amount, NEW.created_at
+    FROM clients c
+    WHERE c.id = NEW.client_id
+    ON CONFLICT (invoice_id) DO UPDATE
+        SET invoice_number = EXCLUDED.invoice_number,
+            ncf = EXCLUDED.ncf,
+            client_id = EXCLUDED.client_id,
+            client_name = EXCLUDED.client_name,
+            client_rnc = EXCLUDED.client_rnc,
+            status = EXCLUDED.status,
+            issue_date = EXCLUDED.issue_date,
+            total_amount = EXCLUDED.total_amount,
+            created_at = EXCLUDED.created_at;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION sync_invoice_search_client() RETURNS trigger AS $$
+BEGIN
+    UPDATE invoice_search
+    SET client_name = NEW.business_name, client_rnc = NEW.rnc
+    WHERE client_id = NEW.id;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Updates that touch none of the copied columns, e.g. payments and e-CF status, skip the trigger
+CREATE TRIGGER trg_invoices_search
+    AFTER INSERT OR UPDATE OF invoice_number, ncf, client_id, status, issue_date, total_amount, created_at
+    ON invoices
+    FOR EACH ROW EXECUTE FUNCTION sync_invoice_search();
+
+CREATE TRIGGER trg_clients_invoice_search
+    AFTER UPDATE OF business_name, rnc ON clients
+    FOR EACH ROW
+    WHEN (OLD.business_name IS DISTINCT FROM NEW.business_name OR OLD.rnc IS DISTINCT FROM NEW.rnc)
+    EXECUTE FUNCTION sync_invoice_search_client();
+
+-- Invoice rows as searched: filter and order columns come from the read model, the rest from
+-- invoices by primary key
+CREATE VIEW invoice_search_results AS
+SELECT s.invoice_id AS id, s.invoice_number, s.ncf, i.ncf_type, s.client_id, s.issue_date, i.due_date,
+       i.invoice_type, i.subtotal, i.itbis_amount, i.discount_amount, s.total_amount, i.net_amount,
+       i.paid_amount, i.balance_due, s.status, i.notes, i.dgii_track_id, i.dgii_status, i.ecf_payload,
+       i.qr_hash, s.created_at, i.updated_at, i.created_by, i.updated_by,
+       s.client_name_search, s.client_rnc
+FROM invoice_search s
+         JOIN invoices i ON i.id = s.invoice_id;
+
+-- Seed from existing rows
+INSERT INTO invoice_search (invoice_id, invoice_number, ncf, client_id, client_name, client_rnc,
+                            status, issue_date, total_amount, created_at)
+SELECT i.id, i.invoice_number, i.ncf, i.client_id, c.business_name, c.rnc,
+       i.status, i.issue_date, i.total_amount, i.created_at
+FROM invoices i
+         JOIN clients c ON c.id = i.client_id;
+
+COMMENT ON TABLE invoice_search IS 'Trigger-maintained invoice search read model with denormalized client name and RNC';
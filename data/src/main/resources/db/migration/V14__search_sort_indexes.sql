@@ -0,0 +1,81 @@
+-- path: data/src/main/resources/db/migration/V14__search_sort_indexes.sql
+-- Indexes behind the whitelisted search sort orders. Each sort runs on (column, id) in one
+-- direction, so an ascending btree serves it both ways and pages are read straight off the index.
+
+-- Invoice searches run on invoice_search, which now also carries due date and balance
+ALTER TABLE invoice_search
+    ADD COLUMN due_date DATE,
+    ADD COLUMN balance_due NUMERIC(12,2);
+
+UPDATE invoice_search s
+SET due_date = i.due_date, balance_due = i.balance_due
+FROM invoices i
+WHERE i.id = s.invoice_id;
+
+ALTER TABLE invoice_search
+    ALTER COLUMN due_date SET NOT NULL,
+    ALTER COLUMN balance_due SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION sync_invoice_search() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO invoice_search (invoice_id, invoice_number, ncf, client_id, client_name, client_rnc,
+                                status, issue_date, due_date, total_amount, balance_due, created_at)
+    SELECT NEW.id, NEW.invoice_number, NEW.ncf, NEW.client_id, c.business_name, c.rnc,
+           NEW.status, NEW.issue_date, NEW.due_date, NEW.total_amount, NEW.balance_due, NEW.created_at
+    FROM clients c
+    WHERE c.id = NEW.client_id
+    ON CONFLICT (invoice_id) DO UPDATE
+        SET invoice_number = EXCLUDED.invoice_number,
+            ncf = EXCLUDED.ncf,
+            client_id = EXCLUDED.client_id,
+            client_name = EXCLUDED.client_name,
+            client_rnc = EXCLUDED.client_rnc,
+            status = EXCLUDED.status,
+            issue_date = EXCLUDED.issue_date,
+            due_date = EXCLUDED.due_date,
+            total_amount = EXCLUDED.total_amount,
+            balance_due = EXCLUDED.balance_due,
+            created_at = EXCLUDED.created_at;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_invoices_search ON invoices;
+
+CREATE TRIGGER trg_invoices_search
+    AFTER INSERT OR UPDATE OF invoice_number, ncf, client_id, status, issue_date, due_date, total_amount,
+        balance_due, created_at
+    ON invoices
+    FOR EACH ROW EXECUTE FUNCTION sync_invoice_search();
+
+CREATE OR REPLACE VIEW invoice_search_results AS
+SELECT s.invoice_id AS id, s.invoice_number, s.ncf, i.ncf_type, s.client_id, s.issue_date, s.due_date,
+       i.invoice_type, i.subtotal, i.itbis_amount, i.discount_amount, s.total_amount, i.net_amount,
+       i.paid_amount, s.balance_due, s.status, i.notes, i.dgii_track_id, i.dgii_status, i.ecf_payload,
+       i.qr_hash, s.created_at, i.updated_at, i.created_by, i.updated_by,
+       s.client_name_search, s.client_rnc
+FROM invoice_search s
+         JOIN invoices i ON i.id = s.invoice_id;
+
+CREATE INDEX idx_invoice_search_due_date_id ON invoice_search(due_date, invoice_id);
+CREATE INDEX idx_invoice_search_total_amount_id ON invoice_search(total_amount, invoice_id);
+CREATE INDEX idx_invoice_search_balance_due_id ON invoice_search(balance_due, invoice_id);
+CREATE INDEX idx_invoice_search_issue_date_id ON invoice_search(issue_date, invoice_id);
+-- text_pattern_ops serves prefix filters but not ORDER BY in the database collation
+CREATE INDEX idx_invoice_search_invoice_number_id ON invoice_search(invoice_number, invoice_id);
+
+-- The leading issue_date makes the single-column index redundant
+DROP INDEX idx_invoice_search_issue_date;
+
+CREATE INDEX idx_clients_business_name_id ON clients(business_name, id);
+CREATE INDEX idx_clients_client_code_id ON clients(client_code, id);
+
+CREATE INDEX idx_receipts_issue_date_id ON receipts(issue_date, id);
+CREATE INDEX idx_receipts_total_amount_id ON receipts(total_amount, id);
+CREATE INDEX idx_receipts_receipt_number_id ON receipts(receipt_number, id);
+
+-- Covered by the composites above, or by the unique constraints for exact lookups
+DROP INDEX idx_clients_client_code;
+DROP INDEX idx_receipts_issue_date;
+DROP INDEX idx_receipts_receipt_number;
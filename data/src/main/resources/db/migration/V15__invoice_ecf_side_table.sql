@@ -0,0 +1,37 @@
+-- path: data/src/main/resources/db/migration/V15__invoice_ecf_side_table.sql
+-- e-CF data moves off invoices into its own row per invoice. The signed payload is large and
+-- written once, while the invoice row is updated on every payment and status change; kept apart,
+-- those updates no longer carry or rewrite the payload's TOAST data, and invoice reads skip it.
+CREATE TABLE invoice_ecf (
+                             invoice_id UUID PRIMARY KEY REFERENCES invoices(id) ON DELETE CASCADE,
+                             dgii_track_id TEXT,
+                             dgii_status TEXT,
+                             ecf_payload JSONB,
+                             qr_hash TEXT,
+                             created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                             updated_at TIMESTAMPTZ
+);
+
+INSERT INTO invoice_ecf (invoice_id, dgii_track_id, dgii_status, ecf_payload, qr_hash, created_at, updated_at)
+SELECT id, dgii_track_id, dgii_status, ecf_payload, qr_hash, created_at, updated_at
+FROM invoices
+WHERE dgii_track_id IS NOT NULL OR dgii_status IS NOT NULL OR ecf_payload IS NOT NULL OR qr_hash IS NOT NULL;
+
+-- The search view selects the moved columns, so it is recreated without them
+DROP VIEW invoice_search_results;
+
+ALTER TABLE invoices
+    DROP COLUMN dgii_track_id,
+    DROP COLUMN dgii_status,
+    DROP COLUMN ecf_payload,
+    DROP COLUMN qr_hash;
+
+CREATE VIEW invoice_search_results AS
+SELECT s.invoice_id AS id, s.invoice_number, s.ncf, i.ncf_type, s.client_id, s.issue_date, s.due_date,
+       i.invoice_type, i.subtotal, i.itbis_amount, i.discount_amount, s.total_amount, i.net_amount,
+       i.paid_amount, s.balance_due, s.status, i.notes, s.created_at, i.updated_at, i.created_by, i.updated_by,
+       s.client_name_search, s.client_rnc
+FROM invoice_search s
+         JOIN invoices i ON i.id = s.invoice_id;
+
+COMMENT ON TABLE invoice_ecf IS 'Electronic invoice (e-CF) payload and DGII submission state, one row per submitted invoice';
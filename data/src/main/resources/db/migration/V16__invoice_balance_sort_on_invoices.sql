@@ -0,0 +1,59 @@
+-- path: data/src/main/resources/db/migration/V16__invoice_balance_sort_on_invoices.sql
+-- Payments rewrite paid_amount and balance_due on every allocation and reversal. With balance_due
+-- copied into invoice_search, each of them also rewrote the read-model row and all of its indexes,
+-- including the trigram GIN. The balance sort moves back to invoices with an index of its own, so
+-- a payment that leaves the status alone no longer fires the search trigger.
+
+DROP VIEW invoice_search_results;
+
+ALTER TABLE invoice_search DROP COLUMN balance_due;
+
+CREATE OR REPLACE FUNCTION sync_invoice_search() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO invoice_search (invoice_id, invoice_number, ncf, client_id, client_name, client_rnc,
+                                status, issue_date, due_date, total_amount, created_at)
+    SELECT NEW.id, NEW.invoice_number, NEW.ncf, NEW.client_id, c.business_name, c.rnc,
+           NEW.status, NEW.issue_date, NEW.due_date, NEW.total_amount, NEW.created_at
+    FROM clients c
+    WHERE c.id = NEW.client_id
+    ON CONFLICT (invoice_id) DO UPDATE
+        SET invoice_number = EXCLUDED.invoice_number,
+            ncf = EXCLUDED.ncf,
+            client_id = EXCLUDED.client_id,
+            client_name = EXCLUDED.client_name,
+            client_rnc = EXCLUDED.client_rnc,
+            status = EXCLUDED.status,
+            issue_date = EXCLUDED.issue_date,
+            due_date = EXCLUDED.due_date,
+            total_amount = EXCLUDED.total_amount,
+            created_at = EXCLUDED.created_at;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_invoices_search ON invoices;
+
+CREATE TRIGGER trg_invoices_search
+    AFTER INSERT OR UPDATE OF invoice_number, ncf, client_id, status, issue_date, due_date, total_amount,
+        created_at
+    ON invoices
+    FOR EACH ROW EXECUTE FUNCTION sync_invoice_search();
+
+COMMENT ON TRIGGER trg_invoices_search ON invoices IS
+    'Copies the searchable columns into invoice_search; payments that leave the status alone skip it';
+
+-- invoices_id is the same value as id, read from invoices: ordering the balance sort on
+-- (balance_due, invoices_id) lets the invoices index serve both the order and the keyset seek
+CREATE VIEW invoice_search_results AS
+SELECT s.invoice_id AS id, s.invoice_number, s.ncf, i.ncf_type, s.client_id, s.issue_date, s.due_date,
+       i.invoice_type, i.subtotal, i.itbis_amount, i.discount_amount, s.total_amount, i.net_amount,
+       i.paid_amount, i.balance_due, s.status, i.notes, s.created_at, i.updated_at, i.created_by, i.updated_by,
+       s.client_name_search, s.client_rnc, i.id AS invoices_id
+FROM invoice_search s
+         JOIN invoices i ON i.id = s.invoice_id;
+
+CREATE INDEX idx_invoices_balance_due_id ON invoices(balance_due, id);
+
+-- Covered by the composite above
+DROP INDEX idx_invoices_balance_due;
@@ -0,0 +1,17 @@
+-- path: data/src/main/resources/db/migration/V17__invoice_item_line_no.sql
+-- Invoice lines were read back in created_at order, which only held because saveAll stamped the
+-- lines one microsecond apart. Each line now records its position on the invoice, and created_at
+-- is the actual insert time again. Existing lines are numbered in the order they were read so far.
+ALTER TABLE invoice_items ADD COLUMN line_no INTEGER;
+
+UPDATE invoice_items i
+SET line_no = numbered.line_no
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY invoice_id ORDER BY created_at, id) AS line_no
+    FROM invoice_items
+) numbered
+WHERE i.id = numbered.id;
+
+ALTER TABLE invoice_items ALTER COLUMN line_no SET NOT NULL;
+
+CREATE INDEX idx_invoice_items_invoice_line ON invoice_items(invoice_id, line_no, id);
@@ -0,0 +1,13 @@
+-- path: data/src/main/resources/db/migration/V4__keyset_pagination_indexes.sql
+-- Composite indexes backing the (created_at, id) keyset used by search listings.
+-- Ascending btrees are scanned backwards for ORDER BY created_at DESC, id DESC.
+CREATE INDEX idx_invoices_created_at_id ON invoices(created_at, id);
+CREATE INDEX idx_clients_created_at_id ON clients(created_at, id);
+CREATE INDEX idx_receipts_created_at_id ON receipts(created_at, id);
+
+-- Per-client listings; the leading client_id makes the single-column indexes redundant
+CREATE INDEX idx_invoices_client_created_at_id ON invoices(client_id, created_at, id);
+CREATE INDEX idx_receipts_client_created_at_id ON receipts(client_id, created_at, id);
+
+DROP INDEX idx_invoices_client_id;
+DROP INDEX idx_receipts_client_id;
@@ -0,0 +1,18 @@
+-- path: data/src/main/resources/db/migration/V5__document_sequence_year_unique.sql
+-- One counter row per year, so numbers can be allocated with a single INSERT ... ON CONFLICT upsert.
+-- Concurrent first-of-year inserts could have created duplicates; keep the highest counter.
+DELETE FROM client_sequences a USING client_sequences b
+WHERE a.year = b.year
+  AND (a.current_number < b.current_number OR (a.current_number = b.current_number AND a.id < b.id));
+
+DELETE FROM invoice_sequences a USING invoice_sequences b
+WHERE a.year = b.year
+  AND (a.current_number < b.current_number OR (a.current_number = b.current_number AND a.id < b.id));
+
+DELETE FROM receipt_sequences a USING receipt_sequences b
+WHERE a.year = b.year
+  AND (a.current_number < b.current_number OR (a.current_number = b.current_number AND a.id < b.id));
+
+ALTER TABLE client_sequences ADD CONSTRAINT unique_client_sequences_year UNIQUE (year);
+ALTER TABLE invoice_sequences ADD CONSTRAINT unique_invoice_sequences_year UNIQUE (year);
+ALTER TABLE receipt_sequences ADD CONSTRAINT unique_receipt_sequences_year UNIQUE (year);
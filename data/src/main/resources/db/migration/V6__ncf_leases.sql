@@ -0,0 +1,25 @@
+-- path: data/src/main/resources/db/migration/V6__ncf_leases.sql
+-- NCF ranges leased to application nodes. A lease stays ACTIVE until every number in it is on a
+-- committed invoice; leases of nodes that stop heartbeating are adopted and their unissued numbers reissued.
+CREATE TYPE ncf_lease_status_enum AS ENUM ('ACTIVE', 'COMPLETED');
+
+CREATE TABLE ncf_leases (
+                            id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                            ncf_type ncf_type_enum NOT NULL,
+                            prefix TEXT NOT NULL,
+                            year INTEGER NOT NULL,
+                            range_start BIGINT NOT NULL,
+                            range_end BIGINT NOT NULL,
+                            node_id TEXT,
+                            status ncf_lease_status_enum NOT NULL DEFAULT 'ACTIVE',
+                            leased_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                            heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+ALTER TABLE ncf_leases ADD CONSTRAINT chk_ncf_lease_range
+    CHECK (range_start > 0 AND range_end >= range_start);
+
+CREATE INDEX idx_ncf_leases_active ON ncf_leases(ncf_type, year, range_start) WHERE status = 'ACTIVE';
+CREATE INDEX idx_ncf_leases_node ON ncf_leases(node_id) WHERE status = 'ACTIVE';
+
+COMMENT ON TABLE ncf_leases IS 'NCF number ranges reserved by application nodes; unissued numbers are recovered from stale leases';
@@ -0,0 +1,93 @@
+-- path: data/src/main/resources/db/migration/V7__dashboard_counters.sql
+-- Dashboard totals maintained by triggers in the same transaction as the row change, so the stats
+-- endpoint reads a handful of primary keys instead of aggregating invoices and clients.
+-- Each counter is spread over 8 slots so concurrent writers rarely wait on the same row;
+-- readers sum the slots of a key.
+CREATE TABLE dashboard_counters (
+                                    counter_key TEXT NOT NULL,
+                                    slot SMALLINT NOT NULL,
+                                    count BIGINT NOT NULL DEFAULT 0,
+                                    amount NUMERIC(15,2) NOT NULL DEFAULT 0,
+                                    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                                    PRIMARY KEY (counter_key, slot)
+);
+
+CREATE FUNCTION bump_dashboard_counter(p_key TEXT, p_count BIGINT, p_amount NUMERIC) RETURNS void AS $$
+BEGIN
+    IF p_count = 0 AND p_amount = 0 THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO dashboard_counters (counter_key, slot, count, amount)
+    VALUES (p_key, floor(random() * 8)::smallint, p_count, p_amount)
+    ON CONFLICT (counter_key, slot) DO UPDATE
+        SET count = dashboard_counters.count + EXCLUDED.count,
+            amount = dashboard_counters.amount + EXCLUDED.amount,
+            updated_at = now();
+END;
+$$ LANGUAGE plpgsql;
+
+-- invoices:status:<STATUS> counts invoices and sums total_amount per status;
+-- revenue:<YYYY-MM> sums total_amount of non-cancelled invoices by issue month
+CREATE FUNCTION track_invoice_dashboard_counters() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.status = NEW.status AND OLD.total_amount = NEW.total_amount
+        AND OLD.issue_date = NEW.issue_date THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM bump_dashboard_counter('invoices:status:' || OLD.status::text, -1, -OLD.total_amount);
+        IF OLD.status <> 'CANCELLED' THEN
+            PERFORM bump_dashboard_counter('revenue:' || to_char(OLD.issue_date, 'YYYY-MM'), 0, -OLD.total_amount);
+        END IF;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM bump_dashboard_counter('invoices:status:' || NEW.status::text, 1, NEW.total_amount);
+        IF NEW.status <> 'CANCELLED' THEN
+            PERFORM bump_dashboard_counter('revenue:' || to_char(NEW.issue_date, 'YYYY-MM'), 0, NEW.total_amount);
+        END IF;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- clients:status:<STATUS> counts clients per status
+CREATE FUNCTION track_client_dashboard_counters() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.status = NEW.status THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM bump_dashboard_counter('clients:status:' || OLD.status::text, -1, 0);
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM bump_dashboard_counter('clients:status:' || NEW.status::text, 1, 0);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_invoices_dashboard_counters
+    AFTER INSERT OR UPDATE OR DELETE ON invoices
+    FOR EACH ROW EXECUTE FUNCTION track_invoice_dashboard_counters();
+
+CREATE TRIGGER trg_clients_dashboard_counters
+    AFTER INSERT OR UPDATE OR DELETE ON clients
+    FOR EACH ROW EXECUTE FUNCTION track_client_dashboard_counters();
+
+-- Seed from existing rows
+INSERT INTO dashboard_counters (counter_key, slot, count, amount)
+SELECT 'invoices:status:' || status::text, 0, COUNT(*), SUM(total_amount) FROM invoices GROUP BY status
+UNION ALL
+SELECT 'revenue:' || to_char(issue_date, 'YYYY-MM'), 0, 0, SUM(total_amount)
+FROM invoices WHERE status <> 'CANCELLED' GROUP BY to_char(issue_date, 'YYYY-MM')
+UNION ALL
+SELECT 'clients:status:' || status::text, 0, COUNT(*), 0 FROM clients GROUP BY status;
+
+COMMENT ON TABLE dashboard_counters IS 'Trigger-maintained dashboard totals, sharded into slots; drift is corrected by a scheduled reconcile';
@@ -0,0 +1,71 @@
+-- path: data/src/main/resources/db/migration/V8__invoice_monthly_rollup.sql
+-- Invoice count and total per issue month, status and client, maintained by triggers so dashboard
+-- charts over any date range read the rollup instead of scanning invoices.
+-- client_type is copied from the client and kept in step when it changes.
+CREATE TABLE invoice_monthly_rollup (
+                                        month DATE NOT NULL,
+                                        status invoice_status_enum NOT NULL,
+                                        client_id UUID NOT NULL,
+                                        client_type client_type_enum NOT NULL,
+                                        invoice_count BIGINT NOT NULL DEFAULT 0,
+                                        total_amount NUMERIC(15,2) NOT NULL DEFAULT 0,
+                                        PRIMARY KEY (month, status, client_id)
+);
+
+CREATE INDEX idx_invoice_monthly_rollup_client ON invoice_monthly_rollup(client_id, month);
+
+CREATE FUNCTION bump_invoice_monthly_rollup(p_issue_date DATE, p_status invoice_status_enum, p_client_id UUID,
+                                            p_count BIGINT, p_amount NUMERIC) RETURNS void AS $$
+BEGIN
+    INSERT INTO invoice_monthly_rollup (month, status, client_id, client_type, invoice_count, total_amount)
+    SELECT date_trunc('month', p_issue_date)::date, p_status, p_client_id, c.client_type, p_count, p_amount
+    FROM clients c WHERE c.id = p_client_id
+    ON CONFLICT (month, status, client_id) DO UPDATE
+        SET invoice_count = invoice_monthly_rollup.invoice_count + EXCLUDED.invoice_count,
+            total_amount = invoice_monthly_rollup.total_amount + EXCLUDED.total_amount;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION track_invoice_monthly_rollup() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.status = NEW.status AND OLD.total_amount = NEW.total_amount
+        AND OLD.issue_date = NEW.issue_date AND OLD.client_id = NEW.client_id THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM bump_invoice_monthly_rollup(OLD.issue_date, OLD.status, OLD.client_id, -1, -OLD.total_amount);
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM bump_invoice_monthly_rollup(NEW.issue_date, NEW.status, NEW.client_id, 1, NEW.total_amount);
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION track_client_type_rollup() RETURNS trigger AS $$
+BEGIN
+    UPDATE invoice_monthly_rollup SET client_type = NEW.client_type WHERE client_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_invoices_monthly_rollup
+    AFTER INSERT OR UPDATE OR DELETE ON invoices
+    FOR EACH ROW EXECUTE FUNCTION track_invoice_monthly_rollup();
+
+CREATE TRIGGER trg_clients_type_rollup
+    AFTER UPDATE OF client_type ON clients
+    FOR EACH ROW WHEN (OLD.client_type IS DISTINCT FROM NEW.client_type)
+    EXECUTE FUNCTION track_client_type_rollup();
+
+-- Seed from existing rows
+INSERT INTO invoice_monthly_rollup (month, status, client_id, client_type, invoice_count, total_amount)
+SELECT date_trunc('month', i.issue_date)::date, i.status, i.client_id, c.client_type, COUNT(*), SUM(i.total_amount)
+FROM invoices i
+JOIN clients c ON c.id = i.client_id
+GROUP BY date_trunc('month', i.issue_date), i.status, i.client_id, c.client_type;
+
+COMMENT ON TABLE invoice_monthly_rollup IS 'Trigger-maintained invoice totals per issue month, status and client; drift is corrected by a scheduled reconcile';
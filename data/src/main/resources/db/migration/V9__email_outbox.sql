@@ -0,0 +1,22 @@
+-- path: data/src/main/resources/db/migration/V9__email_outbox.sql
+-- Outgoing email written in the caller's transaction and delivered by a background dispatcher.
+-- next_attempt_at doubles as the claim lease: a claimed row is pushed into the future while it is
+-- being sent, so a dispatcher that dies mid-batch only delays its rows.
+CREATE TYPE email_outbox_status_enum AS ENUM ('PENDING', 'SENT', 'FAILED');
+
+CREATE TABLE email_outbox (
+                              id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+                              recipient TEXT NOT NULL,
+                              subject TEXT NOT NULL,
+                              body TEXT NOT NULL,
+                              status email_outbox_status_enum NOT NULL DEFAULT 'PENDING',
+                              attempts INTEGER NOT NULL DEFAULT 0,
+                              next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                              last_error TEXT,
+                              created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                              sent_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_email_outbox_pending ON email_outbox(next_attempt_at) WHERE status = 'PENDING';
+
+COMMENT ON TABLE email_outbox IS 'Transactional outbox for outgoing email; rows are claimed with FOR UPDATE SKIP LOCKED';
@@ -0,0 +1,96 @@
+// path: data/src/test/java/com/securitybusinesssuite/data/repository/cache/CachingUserRepositoryTest.java
+package com.securitybusinesssuite.data.repository.cache;
+
+import com.securitybusinesssuite.data.entity.User;
+import com.securitybusinesssuite.data.repository.impl.UserRepositoryImpl;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingUserRepositoryTest {
+
+    private HikariDataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+    private TransactionTemplate transaction;
+    private CachingUserRepository repository;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = TestDatabase.dataSource(3);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        repository = new CachingUserRepository(new UserRepositoryImpl(new JdbcTemplate(dataSource)),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        userId = TestDatabase.insertUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void uncommittedUpdateIsNotServedToOtherThreads() {
+        String committed = repository.findById(userId).orElseThrow().getEmail();
+
+        transaction.executeWithoutResult(status -> {
+            repository.update(withEmail("renamed@test.local"));
+
+            assertThat(repository.findById(userId).orElseThrow().getEmail()).isEqualTo("renamed@test.local");
+            assertThat(emailFromAnotherThread()).isEqualTo(committed);
+            status.setRollbackOnly();
+        });
+
+        assertThat(repository.findById(userId).orElseThrow().getEmail()).isEqualTo(committed);
+    }
+
+    @Test
+    void committedUpdateIsCachedAfterwards() {
+        transaction.executeWithoutResult(status -> {
+            repository.update(withEmail("renamed@test.local"));
+            repository.findById(userId);
+        });
+
+        assertThat(emailFromAnotherThread()).isEqualTo("renamed@test.local");
+        TestDatabase.jdbcTemplate().update("UPDATE users SET email = 'direct@test.local' WHERE id = ?", userId);
+        assertThat(repository.findById(userId).orElseThrow().getEmail()).isEqualTo("renamed@test.local");
+    }
+
+    @Test
+    void innerTransactionKeepsItsOwnWrittenKeys() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transaction.executeWithoutResult(status -> {
+            repository.update(withEmail("outer@test.local"));
+            requiresNew.executeWithoutResult(inner -> {
+                // Only the outer transaction wrote the user, so this one reads the committed row
+                assertThat(repository.findById(userId).orElseThrow().getEmail()).isNotEqualTo("outer@test.local");
+            });
+            assertThat(repository.findById(userId).orElseThrow().getEmail()).isEqualTo("outer@test.local");
+            status.setRollbackOnly();
+        });
+    }
+
+    private User withEmail(String email) {
+        return repository.findById(userId).orElseThrow().toBuilder().email(email).build();
+    }
+
+    private String emailFromAnotherThread() {
+        return CompletableFuture.supplyAsync(() -> repository.findById(userId).orElseThrow().getEmail()).join();
+    }
+}
@@ -0,0 +1,164 @@
+// path: data/src/test/java/com/securitybusinesssuite/data/repository/impl/InvoiceItemRepositoryImplTest.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.entity.Client;
+import com.securitybusinesssuite.data.entity.InvoiceItem;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counts the statements the server runs for saveAll and replaceAll with a statement-level trigger,
+// created and rolled back with each test. The count must not grow with the line count: the batch
+// is rewritten into multi-row INSERTs of up to 128 rows, in power-of-two chunks.
+class InvoiceItemRepositoryImplTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private InvoiceItemRepositoryImpl repository;
+    private UUID userId;
+    private UUID invoiceId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = TestDatabase.dataSource(1);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new InvoiceItemRepositoryImpl(jdbcTemplate);
+        userId = TestDatabase.insertUser();
+        invoiceId = TestDatabase.insertInvoice(TestDatabase.insertClient(userId), userId,
+                new BigDecimal("118.00"), LocalDate.now().plusDays(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50, 200})
+    void saveAllInsertsEveryLineInAHandfulOfStatements(int lines) {
+        List<InvoiceItem> items = items(lines);
+
+        Map<String, Integer> statements = countStatements(() -> {
+            repository.saveAll(items);
+            assertThat(repository.findByInvoiceId(invoiceId))
+                    .extracting(InvoiceItem::getServiceCode)
+                    .containsExactlyElementsOf(items.stream().map(InvoiceItem::getServiceCode).toList());
+        });
+
+        assertThat(statements).containsOnlyKeys("INSERT");
+        assertThat(statements.get("INSERT")).isEqualTo(expectedInserts(lines));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50, 200})
+    void replaceAllIsOneDeleteAndTheBatchedInserts(int lines) {
+        repository.saveAll(items(3));
+        List<InvoiceItem> replacements = items(lines);
+
+        Map<String, Integer> statements = countStatements(() -> {
+            repository.replaceAll(invoiceId, replacements);
+            assertThat(repository.findByInvoiceId(invoiceId)).hasSize(lines);
+        });
+
+        assertThat(statements).containsEntry("DELETE", 1).containsEntry("INSERT", expectedInserts(lines));
+    }
+
+    @Test
+    void linesKeepTheirPositionWithinEachInvoice() {
+        UUID otherInvoiceId = TestDatabase.insertInvoice(TestDatabase.insertClient(userId), userId,
+                new BigDecimal("118.00"), LocalDate.now().plusDays(30));
+        List<InvoiceItem> items = new ArrayList<>(items(3));
+        List<InvoiceItem> otherItems = items(2);
+        otherItems.forEach(item -> item.setInvoiceId(otherInvoiceId));
+        // A bulk import chunk interleaves the lines of several invoices
+        items.add(1, otherItems.get(0));
+        items.add(otherItems.get(1));
+
+        repository.saveAll(items);
+
+        List<InvoiceItem> saved = repository.findByInvoiceId(invoiceId);
+        assertThat(saved).extracting(InvoiceItem::getServiceCode).containsExactly("SRV-000", "SRV-001", "SRV-002");
+        assertThat(saved).extracting(InvoiceItem::getLineNo).containsExactly(1, 2, 3);
+        assertThat(saved).extracting(InvoiceItem::getCreatedAt).containsOnly(saved.get(0).getCreatedAt());
+        assertThat(repository.findByInvoiceId(otherInvoiceId)).extracting(InvoiceItem::getLineNo).containsExactly(1, 2);
+
+        InvoiceItem appended = items(1).get(0);
+        appended.setServiceCode("SRV-EXTRA");
+        repository.save(appended);
+        assertThat(repository.findByInvoiceId(invoiceId)).extracting(InvoiceItem::getServiceCode)
+                .containsExactly("SRV-000", "SRV-001", "SRV-002", "SRV-EXTRA");
+    }
+
+    // Runs the work with a statement-level trigger counting INSERT and DELETE on invoice_items, then
+    // rolls everything back, the trigger included
+    private Map<String, Integer> countStatements(Runnable work) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TEMP TABLE item_statements (op TEXT) ON COMMIT DROP");
+            jdbcTemplate.execute("""
+                    CREATE FUNCTION count_item_statement() RETURNS trigger AS $$
+                    BEGIN
+                        INSERT INTO item_statements VALUES (TG_OP);
+                        RETURN NULL;
+                    END;
+                    $$ LANGUAGE plpgsql
+                    """);
+            jdbcTemplate.execute("""
+                    CREATE TRIGGER count_item_statements AFTER INSERT OR DELETE ON invoice_items
+                        FOR EACH STATEMENT EXECUTE FUNCTION count_item_statement()
+                    """);
+
+            work.run();
+
+            rows.addAll(jdbcTemplate.queryForList("SELECT op, count(*)::int AS statements FROM item_statements GROUP BY op"));
+            status.setRollbackOnly();
+        });
+        return rows.stream().collect(Collectors.toMap(row -> (String) row.get("op"), row -> (Integer) row.get("statements")));
+    }
+
+    private static int expectedInserts(int lines) {
+        return lines / 128 + Integer.bitCount(lines % 128);
+    }
+
+    private List<InvoiceItem> items(int lines) {
+        List<InvoiceItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(InvoiceItem.builder()
+                    .invoiceId(invoiceId)
+                    .serviceCode(String.format("SRV-%03d", i))
+                    .description("Line " + i)
+                    .serviceType(i % 2 == 0 ? Client.SecurityService.PUESTO_FIJO : null)
+                    .quantity(BigDecimal.ONE)
+                    .unitPrice(new BigDecimal("100.00"))
+                    .itbisRate(new BigDecimal("0.18"))
+                    .itbisAmount(new BigDecimal("18.00"))
+                    .discountPercentage(BigDecimal.ZERO)
+                    .discountAmount(BigDecimal.ZERO)
+                    .lineSubtotal(new BigDecimal("100.00"))
+                    .lineTotal(new BigDecimal("118.00"))
+                    .createdBy(userId)
+                    .build());
+        }
+        return items;
+    }
+}
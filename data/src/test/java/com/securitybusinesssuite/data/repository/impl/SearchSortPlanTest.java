@@ -0,0 +1,185 @@
+// path: data/src/test/java/com/securitybusinesssuite/data/repository/impl/SearchSortPlanTest.java
+package com.securitybusinesssuite.data.repository.impl;
+
+import com.securitybusinesssuite.data.repository.search.ClientSearchFilter;
+import com.securitybusinesssuite.data.repository.search.InvoiceSearchFilter;
+import com.securitybusinesssuite.data.repository.search.KeysetPositions;
+import com.securitybusinesssuite.data.repository.search.ReceiptSearchFilter;
+import com.securitybusinesssuite.data.repository.search.TotalMode;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every whitelisted sort must be read in order from a (column, id) index, with the keyset seek as
+// its index condition. Sorting and sequential scans are switched off so the planner only falls back
+// to them when no index can serve the query; an empty test table would otherwise favour them anyway.
+class SearchSortPlanTest {
+
+    private static HikariDataSource dataSource;
+    private static ExplainingJdbcTemplate explain;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = TestDatabase.dataSource(1);
+        explain = new ExplainingJdbcTemplate(new JdbcTemplate(dataSource));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    static Stream<Arguments> invoiceSorts() {
+        return Stream.of(
+                Arguments.of(KeysetPositions.CREATED_AT, LocalDateTime.now()),
+                Arguments.of("dueDate", LocalDate.now()),
+                Arguments.of("totalAmount", new BigDecimal("100.00")),
+                Arguments.of("balanceDue", new BigDecimal("100.00")),
+                Arguments.of("issueDate", LocalDate.now()),
+                Arguments.of("invoiceNumber", "FAC-2026-000100"));
+    }
+
+    static Stream<Arguments> clientSorts() {
+        return Stream.of(
+                Arguments.of(KeysetPositions.CREATED_AT, LocalDateTime.now()),
+                Arguments.of("businessName", "Seguridad Caribe SRL"),
+                Arguments.of("clientCode", "CLI-000100"));
+    }
+
+    static Stream<Arguments> receiptSorts() {
+        return Stream.of(
+                Arguments.of(KeysetPositions.CREATED_AT, LocalDateTime.now()),
+                Arguments.of("issueDate", LocalDate.now()),
+                Arguments.of("totalAmount", new BigDecimal("100.00")),
+                Arguments.of("receiptNumber", "REC-2026-000100"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invoiceSorts")
+    void invoiceSortsReadAnIndexInOrder(String property, Object cursorValue) {
+        InvoiceRepositoryImpl repository = new InvoiceRepositoryImpl(explain, new InvoiceEcfRepositoryImpl(explain));
+        InvoiceSearchFilter filter = new InvoiceSearchFilter();
+        assertServedByIndex(property, cursorValue,
+                (sort, position) -> repository.findByFilters(filter, sort, position, 20),
+                pageable -> repository.findByFilters(filter, pageable, TotalMode.NONE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("clientSorts")
+    void clientSortsReadAnIndexInOrder(String property, Object cursorValue) {
+        ClientRepositoryImpl repository = new ClientRepositoryImpl(explain);
+        ClientSearchFilter filter = new ClientSearchFilter();
+        assertServedByIndex(property, cursorValue,
+                (sort, position) -> repository.findByFilters(filter, sort, position, 20),
+                pageable -> repository.findByFilters(filter, pageable, TotalMode.NONE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("receiptSorts")
+    void receiptSortsReadAnIndexInOrder(String property, Object cursorValue) {
+        ReceiptRepositoryImpl repository = new ReceiptRepositoryImpl(explain);
+        ReceiptSearchFilter filter = new ReceiptSearchFilter();
+        assertServedByIndex(property, cursorValue,
+                (sort, position) -> repository.findByFilters(filter, sort, position, 20),
+                pageable -> repository.findByFilters(filter, pageable, TotalMode.NONE));
+    }
+
+    private interface WindowQuery {
+        void run(Sort sort, KeysetScrollPosition position);
+    }
+
+    private static void assertServedByIndex(String property, Object cursorValue, WindowQuery window,
+                                            Consumer<PageRequest> page) {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            Sort sort = Sort.by(direction, property);
+            KeysetScrollPosition next = KeysetPositions.of(property, cursorValue, UUID.randomUUID());
+
+            List<String> first = explain.plan(() -> window.run(sort, ScrollPosition.keyset()));
+            List<String> seek = explain.plan(() -> window.run(sort, next));
+            List<String> offset = explain.plan(() -> page.accept(PageRequest.of(2, 20, sort)));
+
+            assertNoSort(first, property + " " + direction + " first window");
+            assertNoSort(offset, property + " " + direction + " offset page");
+            assertNoSort(seek, property + " " + direction + " next window");
+            // A row comparison left as a Filter reads every row before the cursor
+            assertThat(seek).as(property + " " + direction + " next window seeks by index:%n%s", String.join("\n", seek))
+                    .noneMatch(line -> line.contains("Filter: (ROW("));
+        }
+    }
+
+    private static void assertNoSort(List<String> plan, String description) {
+        assertThat(plan).as("%s is read in index order:%n%s", description, String.join("\n", plan))
+                .noneMatch(line -> line.contains("Sort"))
+                .anyMatch(line -> line.contains("Index Scan") || line.contains("Index Only Scan"));
+    }
+
+    // Explains each query instead of running it and returns no rows
+    private static final class ExplainingJdbcTemplate extends JdbcTemplate {
+
+        private final JdbcTemplate target;
+        private final List<String> plan = new ArrayList<>();
+
+        ExplainingJdbcTemplate(JdbcTemplate target) {
+            super(target.getDataSource());
+            this.target = target;
+        }
+
+        List<String> plan(Runnable query) {
+            plan.clear();
+            query.run();
+            return List.copyOf(plan);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            plan.addAll(target.execute((ConnectionCallback<List<String>>) connection -> {
+                try (Statement settings = connection.createStatement()) {
+                    settings.execute("SET enable_sort = off");
+                    settings.execute("SET enable_seqscan = off");
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                    new ArgumentPreparedStatementSetter(args).setValues(statement);
+                    List<String> lines = new ArrayList<>();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            lines.add(rs.getString(1));
+                        }
+                    }
+                    return lines;
+                } finally {
+                    try (Statement settings = connection.createStatement()) {
+                        settings.execute("RESET enable_sort");
+                        settings.execute("RESET enable_seqscan");
+                    }
+                }
+            }));
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+// path: data/src/test/java/com/securitybusinesssuite/data/repository/uow/UnitOfWorkInvoiceRepositoryTest.java
+package com.securitybusinesssuite.data.repository.uow;
+
+import com.securitybusinesssuite.data.entity.Invoice;
+import com.securitybusinesssuite.data.entity.ReceiptAllocation;
+import com.securitybusinesssuite.data.repository.impl.InvoiceEcfRepositoryImpl;
+import com.securitybusinesssuite.data.repository.impl.InvoiceRepositoryImpl;
+import com.securitybusinesssuite.data.repository.impl.ReceiptAllocationRepositoryImpl;
+import com.securitybusinesssuite.data.test.TestDatabase;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UnitOfWorkInvoiceRepositoryTest {
+
+    private HikariDataSource dataSource;
+    private TransactionTemplate transaction;
+    private UnitOfWorkInvoiceRepository invoiceRepository;
+    private ReceiptAllocationRepositoryImpl allocationRepository;
+    private UUID userId;
+    private UUID clientId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = TestDatabase.dataSource(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        invoiceRepository = new UnitOfWorkInvoiceRepository(
+                new InvoiceRepositoryImpl(jdbcTemplate, new InvoiceEcfRepositoryImpl(jdbcTemplate)));
+        allocationRepository = new ReceiptAllocationRepositoryImpl(jdbcTemplate, invoiceRepository);
+        userId = TestDatabase.insertUser();
+        clientId = TestDatabase.insertClient(userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void allocateVoidAndRereadInOneTransaction() {
+        UUID invoiceId = TestDatabase.insertInvoice(clientId, userId, new BigDecimal("118.00"), LocalDate.now().plusDays(30));
+        UUID receiptId = TestDatabase.insertReceipt(clientId, userId, new BigDecimal("50.00"));
+
+        Invoice reread = transaction.execute(status -> {
+            allocate(receiptId, invoiceId, new BigDecimal("50.00"));
+
+            // The reversal must see the pending allocation, or it subtracts from a paid amount of 0
+            int reversed = allocationRepository.reverseByReceiptIds(List.of(receiptId), userId);
+            assertThat(reversed).isEqualTo(1);
+
+            return invoiceRepository.findById(invoiceId).orElseThrow();
+        });
+
+        assertThat(reread.getPaidAmount()).isEqualByComparingTo("0.00");
+        assertThat(reread.getBalanceDue()).isEqualByComparingTo("118.00");
+        assertThat(reread.getStatus()).isEqualTo(Invoice.InvoiceStatus.PENDING);
+        assertRow(invoiceId, "0.00", "118.00", "PENDING");
+    }
+
+    @Test
+    void allocationAfterVoidStartsFromTheReversedRow() {
+        UUID invoiceId = TestDatabase.insertInvoice(clientId, userId, new BigDecimal("118.00"), LocalDate.now().plusDays(30));
+        UUID voidedReceiptId = TestDatabase.insertReceipt(clientId, userId, new BigDecimal("118.00"));
+        UUID receiptId = TestDatabase.insertReceipt(clientId, userId, new BigDecimal("18.00"));
+
+        transaction.executeWithoutResult(status -> {
+            allocate(voidedReceiptId, invoiceId, new BigDecimal("118.00"));
+            allocationRepository.reverseByReceiptIds(List.of(voidedReceiptId), userId);
+            allocate(receiptId, invoiceId, new BigDecimal("18.00"));
+        });
+
+        assertRow(invoiceId, "18.00", "100.00", "PENDING");
+    }
+
+    @Test
+    void refusesToUpdateAnInstanceReadBeforeASetBasedWrite() {
+        UUID invoiceId = TestDatabase.insertInvoice(clientId, userId, new BigDecimal("118.00"), LocalDate.now().plusDays(30));
+        UUID receiptId = TestDatabase.insertReceipt(clientId, userId, new BigDecimal("50.00"));
+
+        transaction.executeWithoutResult(status -> {
+            Invoice stale = allocate(receiptId, invoiceId, new BigDecimal("50.00"));
+            allocationRepository.reverseByReceiptIds(List.of(receiptId), userId);
+
+            stale.setNotes("written over the reversal");
+            assertThatThrownBy(() -> invoiceRepository.update(stale)).isInstanceOf(IllegalStateException.class);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void rereadsStatusSetByTheOverdueSweep() {
+        UUID invoiceId = TestDatabase.insertInvoice(clientId, userId, new BigDecimal("118.00"), LocalDate.now().minusDays(1));
+
+        transaction.executeWithoutResult(status -> {
+            Invoice before = invoiceRepository.findById(invoiceId).orElseThrow();
+            assertThat(before.getStatus()).isEqualTo(Invoice.InvoiceStatus.PENDING);
+
+            assertThat(invoiceRepository.markOverdue(LocalDate.now(), 500)).isPresent();
+            assertThat(invoiceRepository.findById(invoiceId).orElseThrow().getStatus())
+                    .isEqualTo(Invoice.InvoiceStatus.OVERDUE);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    void coalescesUpdatesAndSurfacesViolationsAtFlush() {
+        UUID invoiceId = TestDatabase.insertInvoice(clientId, userId, new BigDecimal("118.00"), LocalDate.now().plusDays(30));
+
+        transaction.executeWithoutResult(status -> {
+            Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+            assertThat(invoiceRepository.findById(invoiceId).orElseThrow()).isSameAs(invoice);
+
+            invoice.setTotalAmount(new BigDecimal("-1.00"));
+            invoiceRepository.update(invoice);
+            assertThatThrownBy(invoiceRepository::flush).isInstanceOf(DataIntegrityViolationException.class);
+            status.setRollbackOnly();
+        });
+    }
+
+    // What ReceiptServiceImpl.allocatePayment does for one invoice
+    private Invoice allocate(UUID receiptId, UUID invoiceId, BigDecimal amount) {
+        allocationRepository.save(ReceiptAllocation.builder()
+                .receiptId(receiptId)
+                .invoiceId(invoiceId)
+                .allocatedAmount(amount)
+                .createdBy(userId)
+                .build());
+
+        Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+        invoice.setPaidAmount(invoice.getPaidAmount().add(amount));
+        invoice.setBalanceDue(invoice.getTotalAmount().subtract(invoice.getPaidAmount()));
+        invoice.setStatus(invoice.getBalanceDue().signum() <= 0 ? Invoice.InvoiceStatus.PAID : Invoice.InvoiceStatus.PENDING);
+        return invoiceRepository.update(invoice);
+    }
+
+    private static void assertRow(UUID invoiceId, String paid, String balance, String status) {
+        var row = TestDatabase.jdbcTemplate().queryForMap(
+                "SELECT paid_amount, balance_due, status::text AS status FROM invoices WHERE id = ?", invoiceId);
+        assertThat((BigDecimal) row.get("paid_amount")).isEqualByComparingTo(paid);
+        assertThat((BigDecimal) row.get("balance_due")).isEqualByComparingTo(balance);
+        assertThat(row.get("status")).isEqualTo(status);
+    }
+}
@@ -0,0 +1,93 @@
+// path: data/src/testFixtures/java/com/securitybusinesssuite/data/test/TestDatabase.java
+package com.securitybusinesssuite.data.test;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// One embedded PostgreSQL per test JVM, migrated with the application's Flyway scripts. Tests share
+// it, so each one creates its own users, clients and documents instead of relying on a clean slate.
+public final class TestDatabase {
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized String jdbcUrl() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+            }
+            Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+        }
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    // A pool of its own, sized by the test; the caller closes it
+    public static HikariDataSource dataSource(int poolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl());
+        config.setUsername("postgres");
+        config.setMaximumPoolSize(poolSize);
+        config.setConnectionTimeout(10000);
+        config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        return new HikariDataSource(config);
+    }
+
+    // Shared template for setting up and checking rows
+    public static synchronized JdbcTemplate jdbcTemplate() {
+        if (jdbcTemplate == null) {
+            jdbcTemplate = new JdbcTemplate(dataSource(4));
+        }
+        return jdbcTemplate;
+    }
+
+    public static UUID insertUser() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate().update("INSERT INTO users (id, email, provider_id) VALUES (?, ?, ?)",
+                id, id + "@test.local", id.toString());
+        return id;
+    }
+
+    public static UUID insertClient(UUID createdBy) {
+        return jdbcTemplate().queryForObject("""
+                INSERT INTO clients (client_code, client_type, business_name, created_by)
+                VALUES (?, 'SRL'::client_type_enum, ?, ?)
+                RETURNING id
+                """, UUID.class, "T-" + UUID.randomUUID(), "Test client " + createdBy, createdBy);
+    }
+
+    // A PENDING invoice without items or NCF, owing its whole total
+    public static UUID insertInvoice(UUID clientId, UUID createdBy, BigDecimal total, LocalDate dueDate) {
+        return jdbcTemplate().queryForObject("""
+                INSERT INTO invoices (invoice_number, client_id, issue_date, due_date, subtotal, itbis_amount,
+                                      total_amount, net_amount, balance_due, created_by)
+                VALUES (?, ?, CURRENT_DATE, ?, ?, 0, ?, ?, ?, ?)
+                RETURNING id
+                """, UUID.class, "T-" + UUID.randomUUID(), clientId, dueDate, total, total, total, total, createdBy);
+    }
+
+    public static UUID insertReceipt(UUID clientId, UUID createdBy, BigDecimal total) {
+        return jdbcTemplate().queryForObject("""
+                INSERT INTO receipts (receipt_number, client_id, issue_date, total_amount, payment_method, created_by)
+                VALUES (?, ?, CURRENT_DATE, ?, 'EFECTIVO'::payment_method_enum, ?)
+                RETURNING id
+                """, UUID.class, "T-" + UUID.randomUUID(), clientId, total, createdBy);
+    }
+}
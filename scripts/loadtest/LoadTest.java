@@ -0,0 +1,171 @@
+// path: scripts/loadtest/LoadTest.java
+// Closed-loop HTTP load generator: a fixed number of clients each send the next request as soon as
+// the previous one returns, for a fixed time after a warm-up. Prints throughput and latency
+// percentiles and can append them to a CSV so runs can be compared. Runs as a single source file:
+//
+//   java scripts/loadtest/LoadTest.java --base-url http://localhost:8080 --email user@example.com \
+//       --password secret --concurrency 200 --duration PT60S --warmup PT15S --label virtual-threads
+//
+// Requests cycle through every --path (default: an invoice list, a client list and the dashboard).
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class LoadTest {
+
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/invoices?page=0&size=20",
+            "/api/clients?page=0&size=20",
+            "/api/dashboard/stats");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<String>> options = parse(args);
+        String baseUrl = required(options, "base-url");
+        int concurrency = Integer.parseInt(option(options, "concurrency", "200"));
+        Duration duration = Duration.parse(option(options, "duration", "PT60S"));
+        Duration warmup = Duration.parse(option(options, "warmup", "PT15S"));
+        String label = option(options, "label", "run");
+        List<String> paths = options.getOrDefault("path", DEFAULT_PATHS);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String cookies = login(client, baseUrl, required(options, "email"), required(options, "password"));
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                workers.add(executor.submit(() -> {
+                    // Latencies in microseconds, recorded only after the warm-up
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = offset; ; i++) {
+                        long start = System.nanoTime();
+                        if (start >= end) {
+                            break;
+                        }
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(i % paths.size())))
+                                .timeout(Duration.ofSeconds(60))
+                                .header("Cookie", cookies)
+                                .GET()
+                                .build();
+                        boolean ok;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            ok = status >= 200 && status < 300;
+                        } catch (IOException e) {
+                            ok = false;
+                        }
+                        long finished = System.nanoTime();
+                        if (start < warmupEnd) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = (finished - start) / 1000;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        List<long[]> perWorker = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            perWorker.add(worker.get());
+        }
+        long[] all = perWorker.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = duration.toMillis() / 1000.0;
+
+        String result = String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f",
+                label, concurrency, all.length, errors.get(), all.length / seconds,
+                percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 100));
+        System.out.println("label,concurrency,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms");
+        System.out.println(result);
+
+        String csv = option(options, "csv", null);
+        if (csv != null) {
+            Path file = Path.of(csv);
+            if (!Files.exists(file)) {
+                Files.writeString(file, "label,concurrency,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms\n");
+            }
+            Files.writeString(file, result + "\n", StandardOpenOption.APPEND);
+        }
+    }
+
+    // Logs in once and returns the session cookies to send with every request
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.headers().allValues("Set-Cookie").stream()
+                .map(cookie -> cookie.split(";", 2)[0])
+                .collect(Collectors.joining("; "));
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    private static Map<String, List<String>> parse(String[] args) {
+        Map<String, List<String>> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.computeIfAbsent(args[i].substring(2), key -> new ArrayList<>()).add(args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String option(Map<String, List<String>> options, String name, String fallback) {
+        List<String> values = options.get(name);
+        return values != null ? values.get(0) : fallback;
+    }
+
+    private static String required(Map<String, List<String>> options, String name) {
+        String value = option(options, name, null);
+        if (value == null) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+}
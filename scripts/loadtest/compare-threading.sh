@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# path: scripts/loadtest/compare-threading.sh
+# Runs the same load against the application twice, first on Tomcat's platform thread pool and then
+# with the virtual-threads profile, and prints throughput and p50/p90/p99 latency for both.
+#
+# The application reads its usual environment (DB_URL, DB_USER, DB_PASS, JWT and mail settings).
+# LOADTEST_EMAIL and LOADTEST_PASSWORD must be a verified user of that database. Use a database
+# with realistic data and keep the machine otherwise idle; results land in $OUT_DIR/results.csv.
+#
+#   LOADTEST_EMAIL=user@example.com LOADTEST_PASSWORD=secret scripts/loadtest/compare-threading.sh
+#
+# Optional: BASE_PROFILES (dev), PORT (18080), CONCURRENCY (200), DURATION (PT60S), WARMUP (PT15S),
+# TOMCAT_MAX_THREADS (200), DATABASE_POOL_SIZE (10), JAVA_OPTS (-Xms1g -Xmx1g), OUT_DIR.
+set -euo pipefail
+
+: "${LOADTEST_EMAIL:?LOADTEST_EMAIL is required}"
+: "${LOADTEST_PASSWORD:?LOADTEST_PASSWORD is required}"
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/../.." && pwd)"
+BASE_PROFILES="${BASE_PROFILES:-dev}"
+PORT="${PORT:-18080}"
+CONCURRENCY="${CONCURRENCY:-200}"
+DURATION="${DURATION:-PT60S}"
+WARMUP="${WARMUP:-PT15S}"
+TOMCAT_MAX_THREADS="${TOMCAT_MAX_THREADS:-200}"
+JAVA_OPTS="${JAVA_OPTS:--Xms1g -Xmx1g}"
+OUT_DIR="${OUT_DIR:-$ROOT_DIR/build/loadtest/$(date +%Y%m%d-%H%M%S)}"
+export DATABASE_POOL_SIZE="${DATABASE_POOL_SIZE:-10}"
+
+mkdir -p "$OUT_DIR"
+(cd "$ROOT_DIR" && ./gradlew -q :web:bootJar)
+JAR="$(ls "$ROOT_DIR"/web/build/libs/*.jar | grep -v -- '-plain.jar$' | head -n 1)"
+
+APP_PID=""
+stop_app() {
+    if [[ -n "$APP_PID" ]] && kill -0 "$APP_PID" 2>/dev/null; then
+        kill "$APP_PID"
+        wait "$APP_PID" 2>/dev/null || true
+    fi
+    APP_PID=""
+}
+trap stop_app EXIT
+
+run() {
+    local label="$1" profiles="$2"
+    echo "== $label ($profiles)"
+
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -jar "$JAR" \
+        --spring.profiles.active="$profiles" \
+        --server.port="$PORT" \
+        --server.tomcat.threads.max="$TOMCAT_MAX_THREADS" \
+        > "$OUT_DIR/$label.log" 2>&1 &
+    APP_PID=$!
+
+    for _ in $(seq 1 120); do
+        if curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; then
+            break
+        fi
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "Application exited during startup, see $OUT_DIR/$label.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+
+    java "$ROOT_DIR/scripts/loadtest/LoadTest.java" \
+        --base-url "http://localhost:$PORT" \
+        --email "$LOADTEST_EMAIL" \
+        --password "$LOADTEST_PASSWORD" \
+        --concurrency "$CONCURRENCY" \
+        --duration "$DURATION" \
+        --warmup "$WARMUP" \
+        --label "$label" \
+        --csv "$OUT_DIR/results.csv"
+
+    stop_app
+}
+
+run platform-threads "$BASE_PROFILES"
+run virtual-threads "$BASE_PROFILES,virtual-threads"
+
+echo
+column -t -s, "$OUT_DIR/results.csv"
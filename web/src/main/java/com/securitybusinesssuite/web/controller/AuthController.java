@@ -5,6 +5,7 @@ import com.securitybusinesssuite.business.dto.*;
 import com.securitybusinesssuite.business.service.AuthService;
 import com.securitybusinesssuite.business.service.JwtService;
 import com.securitybusinesssuite.business.service.UserService;
+import com.securitybusinesssuite.business.service.impl.AuthThrottle;
 import com.securitybusinesssuite.business.util.CookieUtil;
 import com.securitybusinesssuite.web.security.UserPrincipal;
 import jakarta.servlet.http.Cookie;
@@ -24,6 +25,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -36,12 +38,16 @@ public class AuthController {
     private final JwtService jwtService;
     private final UserService userService;
     private final CookieUtil cookieUtil;
+    private final AuthThrottle authThrottle;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
 
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest) {
+        authThrottle.checkRegistration(httpRequest.getRemoteAddr());
         AuthResponse response = authService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -49,8 +55,10 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<Map<String, Object>> login(
             @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest,
             HttpServletResponse response) {
 
+        authThrottle.checkLogin(request.getEmail(), httpRequest.getRemoteAddr());
         TokenPair tokens = authService.login(request);
 
         // Set cookies
@@ -90,14 +98,12 @@ public class AuthController {
             }
 
             // Validate token and get user info
-            if (jwtService.validateToken(accessToken)) {
-                String email = jwtService.getEmailFromToken(accessToken);
-                UUID userId = jwtService.getUserIdFromToken(accessToken);
-
+            Optional<JwtClaims> claims = jwtService.parse(accessToken, JwtClaims.ACCESS);
+            if (claims.isPresent()) {
                 return ResponseEntity.ok(Map.of(
                         "valid", true,
-                        "email", email,
-                        "userId", userId.toString()
+                        "email", claims.get().getEmail(),
+                        "userId", claims.get().getUserId().toString()
                 ));
             } else {
                 return ResponseEntity.status(401).body(Map.of(
@@ -4,7 +4,7 @@ package com.securitybusinesssuite.web.controller;
 import com.securitybusinesssuite.business.dto.*;
 import com.securitybusinesssuite.business.dto.clientrequest.CreateClientRequestDTO;
 import com.securitybusinesssuite.business.dto.clientrequest.UpdateClientRequestDTO;
-import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceSummaryDTO;
 import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptResponseDTO;
 import com.securitybusinesssuite.business.dto.search.ClientSearchCriteria;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
@@ -65,7 +65,7 @@ public class ClientController {
     }
 
     @GetMapping
-    public ResponseEntity<PagedResponseDTO<ClientResponseDTO>> searchClients(
+    public ResponseEntity<PagedResponseDTO<ClientSummaryDTO>> searchClients(
             @RequestParam(required = false) String businessName,
             @RequestParam(required = false) String clientType,
             @RequestParam(required = false) String status,
@@ -74,7 +74,10 @@ public class ClientController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
 
         ClientSearchCriteria criteria = new ClientSearchCriteria();
         criteria.setBusinessName(businessName);
@@ -86,20 +89,33 @@ public class ClientController {
         criteria.setSize(size);
         criteria.setSortBy(sortBy);
         criteria.setSortDirection(sortDirection);
+        criteria.setCursor(cursor);
+        criteria.setIncludeTotal(includeTotal);
+        criteria.setEstimateTotal(estimateTotal);
 
-        PagedResponseDTO<ClientResponseDTO> result = clientService.searchClients(criteria);
+        PagedResponseDTO<ClientSummaryDTO> result = clientService.searchClients(criteria);
         return ResponseEntity.ok(result);
     }
 
+    // Type-ahead for client pickers, served from memory
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ClientSuggestionDTO>> suggestClients(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+
+        return ResponseEntity.ok(clientService.suggestClients(query, limit, includeInactive));
+    }
+
     @GetMapping("/{id}/invoices")
-    public ResponseEntity<List<InvoiceResponseDTO>> getClientInvoices(@PathVariable UUID id) {
-        List<InvoiceResponseDTO> invoices = invoiceService.getClientInvoices(id);
+    public ResponseEntity<List<InvoiceSummaryDTO>> getClientInvoices(@PathVariable UUID id) {
+        List<InvoiceSummaryDTO> invoices = invoiceService.getClientInvoices(id);
         return ResponseEntity.ok(invoices);
     }
 
     @GetMapping("/{id}/invoices/unpaid")
-    public ResponseEntity<List<InvoiceResponseDTO>> getClientUnpaidInvoices(@PathVariable UUID id) {
-        List<InvoiceResponseDTO> invoices = invoiceService.getUnpaidInvoices(id);
+    public ResponseEntity<List<InvoiceSummaryDTO>> getClientUnpaidInvoices(@PathVariable UUID id) {
+        List<InvoiceSummaryDTO> invoices = invoiceService.getUnpaidInvoices(id);
         return ResponseEntity.ok(invoices);
     }
 
@@ -1,17 +1,22 @@
 // path: web/src/main/java/com/securitybusinesssuite/web/controller/DashboardController.java
 package com.securitybusinesssuite.web.controller;
 
+import com.securitybusinesssuite.business.dto.dashboard.ChartComparison;
 import com.securitybusinesssuite.business.dto.dashboard.ChartDataDTO;
 import com.securitybusinesssuite.business.dto.dashboard.DashboardStatsDTO;
 import com.securitybusinesssuite.business.dto.dashboard.RecentActivityDTO;
 import com.securitybusinesssuite.business.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -33,14 +38,29 @@ public class DashboardController {
     }
 
     @GetMapping("/charts/invoices-by-status")
-    public ResponseEntity<List<ChartDataDTO>> getInvoicesByStatusChart() {
-        List<ChartDataDTO> chartData = dashboardService.getInvoicesByStatusChart();
+    public ResponseEntity<List<ChartDataDTO>> getInvoicesByStatusChart(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) UUID clientId) {
+        List<ChartDataDTO> chartData = dashboardService.getInvoicesByStatusChart(from, to, clientId);
         return ResponseEntity.ok(chartData);
     }
 
     @GetMapping("/charts/revenue-by-month")
-    public ResponseEntity<List<ChartDataDTO>> getRevenueByMonthChart() {
-        List<ChartDataDTO> chartData = dashboardService.getRevenueByMonthChart();
+    public ResponseEntity<List<ChartDataDTO>> getRevenueByMonthChart(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) UUID clientId,
+            @RequestParam(defaultValue = "NONE") ChartComparison compareTo) {
+        List<ChartDataDTO> chartData = dashboardService.getRevenueByMonthChart(from, to, clientId, compareTo);
+        return ResponseEntity.ok(chartData);
+    }
+
+    @GetMapping("/charts/revenue-by-client-type")
+    public ResponseEntity<List<ChartDataDTO>> getRevenueByClientTypeChart(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        List<ChartDataDTO> chartData = dashboardService.getRevenueByClientTypeChart(from, to);
         return ResponseEntity.ok(chartData);
     }
 
@@ -4,19 +4,28 @@ package com.securitybusinesssuite.web.controller;
 import com.securitybusinesssuite.business.dto.*;
 import com.securitybusinesssuite.business.dto.invoicerequest.CreateInvoiceRequestDTO;
 import com.securitybusinesssuite.business.dto.invoicerequest.UpdateInvoiceRequestDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.BulkInvoiceResultDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoicePaymentHistoryDTO;
 import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceResponseDTO;
+import com.securitybusinesssuite.business.dto.invoiceresponse.InvoiceSummaryDTO;
 import com.securitybusinesssuite.business.dto.search.InvoiceSearchCriteria;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
+import com.securitybusinesssuite.business.pdf.PdfDocument;
 import com.securitybusinesssuite.business.service.InvoiceService;
+import com.securitybusinesssuite.business.service.PdfService;
 import com.securitybusinesssuite.data.entity.Invoice;
 import com.securitybusinesssuite.web.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -30,6 +39,7 @@ import java.util.UUID;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final PdfService pdfService;
 
     @PostMapping
     public ResponseEntity<InvoiceResponseDTO> createInvoice(
@@ -68,7 +78,7 @@ public class InvoiceController {
     }
 
     @GetMapping
-    public ResponseEntity<PagedResponseDTO<InvoiceResponseDTO>> searchInvoices(
+    public ResponseEntity<PagedResponseDTO<InvoiceSummaryDTO>> searchInvoices(
             @RequestParam(required = false) UUID clientId,
             @RequestParam(required = false) String clientName,
             @RequestParam(required = false) String status,
@@ -81,7 +91,10 @@ public class InvoiceController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
 
         InvoiceSearchCriteria criteria = new InvoiceSearchCriteria();
         criteria.setClientId(clientId);
@@ -97,8 +110,11 @@ public class InvoiceController {
         criteria.setSize(size);
         criteria.setSortBy(sortBy);
         criteria.setSortDirection(sortDirection);
+        criteria.setCursor(cursor);
+        criteria.setIncludeTotal(includeTotal);
+        criteria.setEstimateTotal(estimateTotal);
 
-        PagedResponseDTO<InvoiceResponseDTO> result = invoiceService.searchInvoices(criteria);
+        PagedResponseDTO<InvoiceSummaryDTO> result = invoiceService.searchInvoices(criteria);
         return ResponseEntity.ok(result);
     }
 
@@ -109,39 +125,36 @@ public class InvoiceController {
     }
 
     @GetMapping("/overdue")
-    public ResponseEntity<List<InvoiceResponseDTO>> getOverdueInvoices() {
-        List<InvoiceResponseDTO> invoices = invoiceService.getOverdueInvoices();
+    public ResponseEntity<List<InvoiceSummaryDTO>> getOverdueInvoices() {
+        List<InvoiceSummaryDTO> invoices = invoiceService.getOverdueInvoices();
         return ResponseEntity.ok(invoices);
     }
 
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<Map<String, String>> generateInvoicePDF(@PathVariable UUID id) {
-        // TODO: Implement PDF generation
-        return ResponseEntity.ok(Map.of(
-                "message", "PDF generation not implemented yet",
-                "invoiceId", id.toString()
-        ));
+    public ResponseEntity<StreamingResponseBody> generateInvoicePDF(@PathVariable UUID id) {
+        // Loaded and checked here; the body is rendered straight into the response
+        PdfDocument pdf = pdfService.invoicePdf(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename(pdf.fileName()).build().toString())
+                .body(pdf.content()::writeTo);
     }
 
     @PostMapping("/bulk-create")
-    public ResponseEntity<Map<String, Object>> bulkCreateInvoices(
-            @Valid @RequestBody List<CreateInvoiceRequestDTO> requests,
+    public ResponseEntity<BulkInvoiceResultDTO> bulkCreateInvoices(
+            @RequestBody List<CreateInvoiceRequestDTO> requests,
             @AuthenticationPrincipal UserPrincipal principal) {
 
-        // TODO: Implement bulk invoice creation
-        return ResponseEntity.ok(Map.of(
-                "message", "Bulk creation not implemented yet",
-                "count", requests.size()
-        ));
+        // Rows are validated one by one so a bad row is reported instead of rejecting the batch
+        BulkInvoiceResultDTO result = invoiceService.bulkCreateInvoices(requests, UUID.fromString(principal.getUserId()));
+        return ResponseEntity.status(result.getCreated() > 0 ? HttpStatus.CREATED : HttpStatus.OK).body(result);
     }
 
     @GetMapping("/{id}/payment-history")
-    public ResponseEntity<Map<String, Object>> getInvoicePaymentHistory(@PathVariable UUID id) {
-        // TODO: Implement payment history retrieval
-        return ResponseEntity.ok(Map.of(
-                "message", "Payment history not implemented yet",
-                "invoiceId", id.toString()
-        ));
+    public ResponseEntity<InvoicePaymentHistoryDTO> getInvoicePaymentHistory(@PathVariable UUID id) {
+        InvoicePaymentHistoryDTO history = invoiceService.getPaymentHistory(id);
+        return ResponseEntity.ok(history);
     }
 
     @PostMapping("/{id}/duplicate")
@@ -2,24 +2,32 @@
 package com.securitybusinesssuite.web.controller;
 
 import com.securitybusinesssuite.business.dto.*;
+import com.securitybusinesssuite.business.dto.receiptrequest.BulkVoidReceiptsRequestDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.CreateReceiptRequestDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.PaymentAllocationDTO;
 import com.securitybusinesssuite.business.dto.receiptrequest.UpdateReceiptRequestDTO;
+import com.securitybusinesssuite.business.dto.receiptresponse.BulkVoidResultDTO;
 import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptAllocationResponseDTO;
 import com.securitybusinesssuite.business.dto.receiptresponse.ReceiptResponseDTO;
 import com.securitybusinesssuite.business.dto.search.PagedResponseDTO;
 import com.securitybusinesssuite.business.dto.search.ReceiptSearchCriteria;
+import com.securitybusinesssuite.business.pdf.PdfDocument;
 import com.securitybusinesssuite.business.service.ReceiptService;
+import com.securitybusinesssuite.business.service.PdfService;
 import com.securitybusinesssuite.data.entity.Client;
 import com.securitybusinesssuite.data.entity.Receipt;
 import com.securitybusinesssuite.web.security.UserPrincipal;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -33,6 +41,7 @@ import java.util.UUID;
 public class ReceiptController {
 
     private final ReceiptService receiptService;
+    private final PdfService pdfService;
 
     @PostMapping
     public ResponseEntity<ReceiptResponseDTO> createReceipt(
@@ -82,7 +91,10 @@ public class ReceiptController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
 
         ReceiptSearchCriteria criteria = new ReceiptSearchCriteria();
         criteria.setClientId(clientId);
@@ -96,6 +108,9 @@ public class ReceiptController {
         criteria.setSize(size);
         criteria.setSortBy(sortBy);
         criteria.setSortDirection(sortDirection);
+        criteria.setCursor(cursor);
+        criteria.setIncludeTotal(includeTotal);
+        criteria.setEstimateTotal(estimateTotal);
 
         PagedResponseDTO<ReceiptResponseDTO> result = receiptService.searchReceipts(criteria);
         return ResponseEntity.ok(result);
@@ -118,12 +133,14 @@ public class ReceiptController {
     }
 
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<Map<String, String>> generateReceiptPDF(@PathVariable UUID id) {
-        // TODO: Implement PDF generation
-        return ResponseEntity.ok(Map.of(
-                "message", "PDF generation not implemented yet",
-                "receiptId", id.toString()
-        ));
+    public ResponseEntity<StreamingResponseBody> generateReceiptPDF(@PathVariable UUID id) {
+        // Loaded and checked here; the body is rendered straight into the response
+        PdfDocument pdf = pdfService.receiptPdf(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename(pdf.fileName()).build().toString())
+                .body(pdf.content()::writeTo);
     }
 
     @PostMapping("/{id}/duplicate")
@@ -142,13 +159,13 @@ public class ReceiptController {
     }
 
     @PostMapping("/bulk-void")
-    public ResponseEntity<Map<String, Object>> bulkVoidReceipts(
-            @RequestBody Map<String, Object> request,
+    public ResponseEntity<BulkVoidResultDTO> bulkVoidReceipts(
+            @Valid @RequestBody BulkVoidReceiptsRequestDTO request,
             @AuthenticationPrincipal UserPrincipal principal) {
 
-        // TODO: Implement bulk void functionality
-        return ResponseEntity.ok(Map.of(
-                "message", "Bulk void not implemented yet"
-        ));
+        String reason = request.getReason() != null ? request.getReason() : "Voided by user";
+        BulkVoidResultDTO result = receiptService.bulkVoidReceipts(request.getReceiptIds(), reason,
+                UUID.fromString(principal.getUserId()));
+        return ResponseEntity.ok(result);
     }
 }
\ No newline at end of file
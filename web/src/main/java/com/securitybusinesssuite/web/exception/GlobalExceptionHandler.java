@@ -3,8 +3,11 @@ package com.securitybusinesssuite.web.exception;
 
 import com.securitybusinesssuite.business.exception.AuthenticationException;
 import com.securitybusinesssuite.business.exception.BusinessException;
+import com.securitybusinesssuite.business.exception.TooManyRequestsException;
 import com.securitybusinesssuite.business.exception.UserAlreadyExistsException;
+import com.securitybusinesssuite.data.repository.search.InvalidSortException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -52,6 +55,17 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyRequestsException(
+            TooManyRequestsException ex) {
+        log.warn("Request rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of(
+                        "error", ex.getMessage()
+                ));
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<Map<String, String>> handleBusinessException(
             BusinessException ex) {
@@ -61,6 +75,15 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidSortException(
+            InvalidSortException ex) {
+        log.warn("Invalid sort: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Map.of(
+                "error", ex.getMessage()
+        ));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(
             Exception ex) {
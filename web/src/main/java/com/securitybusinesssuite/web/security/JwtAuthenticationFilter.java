@@ -1,6 +1,7 @@
 // path: web/src/main/java/com/securitybusinesssuite/web/security/JwtAuthenticationFilter.java
 package com.securitybusinesssuite.web.security;
 
+import com.securitybusinesssuite.business.dto.JwtClaims;
 import com.securitybusinesssuite.business.service.JwtService;
 import com.securitybusinesssuite.business.service.UserService;
 import com.securitybusinesssuite.data.entity.User;
@@ -19,7 +20,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.UUID;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -37,20 +38,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractTokenFromCookie(request);
 
-        if (token != null && jwtService.validateToken(token)) {
+        Optional<JwtClaims> claims = token != null ? jwtService.parse(token, JwtClaims.ACCESS) : Optional.empty();
+
+        if (claims.isPresent()) {
             try {
-                String tokenType = jwtService.getTokenType(token);
-                if ("access".equals(tokenType)) {
-                    UUID userId = jwtService.getUserIdFromToken(token);
-                    User user = userService.findById(userId);
+                User user = userService.findById(claims.get().getUserId());
 
-                    UserPrincipal userPrincipal = UserPrincipal.create(user);
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserPrincipal userPrincipal = UserPrincipal.create(user);
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } catch (Exception e) {
                 log.error("Cannot set user authentication", e);
             }